@@ -0,0 +1,99 @@
+#!/usr/bin/env bash
+# Compares insert throughput into the flat deals table (001/003) and the monthly partitioned layout with the
+# deal_ids registry trigger (004/005) once both hold ROWS deals. Runs against a scratch database, deals_bench.
+#
+#   scripts/partition-insert-bench.sh [rows] [insert_rows]
+#   MYSQL="mysql -h 127.0.0.1 -P 3307 -u root" scripts/partition-insert-bench.sh 100000000
+#
+# Loading 100M rows per table takes hours and roughly 40 GB of disk; pass a smaller row count for a quick run.
+set -euo pipefail
+
+rows=${1:-100000000}
+insert_rows=${2:-100000}
+mysql=${MYSQL:-mysql -h 127.0.0.1 -P 3307 -u root}
+chunk=1000000
+
+sql() {
+    $mysql --batch --skip-column-names deals_bench -e "SET SESSION cte_max_recursion_depth = $chunk; $1"
+}
+
+$mysql -e "DROP DATABASE IF EXISTS deals_bench; CREATE DATABASE deals_bench"
+
+partitions=""
+for i in $(seq 24 -1 1); do
+    month=$(date -u -d "$(date -u +%Y-%m-01) -$i month" +%Y-%m-01)
+    next=$(date -u -d "$month +1 month" +%Y-%m-01)
+    partitions+="PARTITION p$(date -u -d "$month" +%Y%m) VALUES LESS THAN ('$next'), "
+done
+
+sql "
+CREATE TABLE deals_flat (
+    deal_unique_id VARCHAR(255) PRIMARY KEY,
+    from_currency_iso_code VARCHAR(3) NOT NULL,
+    to_currency_iso_code VARCHAR(3) NOT NULL,
+    deal_timestamp DATETIME NOT NULL,
+    deal_amount DECIMAL(17,2) NOT NULL,
+    created_at DATETIME NOT NULL,
+    INDEX idx_deals_timestamp (deal_timestamp, deal_unique_id),
+    INDEX idx_deals_pair_timestamp (from_currency_iso_code, to_currency_iso_code, deal_timestamp, deal_unique_id)
+);
+CREATE TABLE deals_part (
+    deal_unique_id VARCHAR(255) NOT NULL,
+    from_currency_iso_code VARCHAR(3) NOT NULL,
+    to_currency_iso_code VARCHAR(3) NOT NULL,
+    deal_timestamp DATETIME NOT NULL,
+    deal_amount DECIMAL(17,2) NOT NULL,
+    created_at DATETIME NOT NULL,
+    PRIMARY KEY (deal_unique_id, deal_timestamp),
+    INDEX idx_deals_timestamp (deal_timestamp, deal_unique_id),
+    INDEX idx_deals_pair_timestamp (from_currency_iso_code, to_currency_iso_code, deal_timestamp, deal_unique_id)
+) PARTITION BY RANGE COLUMNS (deal_timestamp) (
+    PARTITION p_history VALUES LESS THAN ('$(date -u -d "$(date -u +%Y-%m-01) -24 month" +%Y-%m-01)'),
+    ${partitions}PARTITION p_future VALUES LESS THAN (MAXVALUE)
+);
+CREATE TABLE deal_ids (
+    deal_unique_id VARCHAR(255) PRIMARY KEY,
+    deal_timestamp DATETIME NOT NULL
+);
+CREATE TRIGGER deals_register_id BEFORE INSERT ON deals_part
+FOR EACH ROW
+    INSERT INTO deal_ids (deal_unique_id, deal_timestamp) VALUES (NEW.deal_unique_id, NEW.deal_timestamp);
+"
+
+# Rows with hashed (random-order) IDs spread over the last two years, or over the current month for the
+# measured inserts.
+generate() {
+    local prefix=$1 count=$2 spread_hours=$3 offset_hours=$4
+    echo "WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < $count)
+        SELECT MD5(CONCAT('$prefix', n)), 'USD', 'EUR',
+               TIMESTAMP(DATE_FORMAT(NOW(), '%Y-%m-01')) + INTERVAL (n % $spread_hours) HOUR
+                   - INTERVAL $offset_hours HOUR,
+               n % 100000 + 0.25, NOW()
+        FROM seq"
+}
+
+load() {
+    local table=$1 loaded=0
+    while [ "$loaded" -lt "$rows" ]; do
+        local count=$(( rows - loaded < chunk ? rows - loaded : chunk ))
+        sql "INSERT INTO $table $(generate "load-$loaded-" "$count" 17520 17520)"
+        loaded=$(( loaded + count ))
+        echo "$table: $loaded rows" >&2
+    done
+}
+
+measure() {
+    local table=$1 run
+    for run in 1 2 3; do
+        local started ended
+        started=$(date +%s%N)
+        sql "INSERT INTO $table $(generate "run-$run-" "$insert_rows" 672 0)"
+        ended=$(date +%s%N)
+        echo "$table run=$run inserted=$insert_rows rows_per_s=$(( insert_rows * 1000000000 / (ended - started) ))"
+    done
+}
+
+load deals_flat
+load deals_part
+measure deals_flat
+measure deals_part
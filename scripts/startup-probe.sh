@@ -0,0 +1,26 @@
+#!/usr/bin/env bash
+# Starts the given command, waits for the first successful response from URL and prints
+# time-to-first-request and the process RSS at that point.
+#
+#   scripts/startup-probe.sh http://localhost:8080/actuator/health java -jar app.jar
+set -euo pipefail
+
+url=$1
+shift
+
+started=$(date +%s%N)
+"$@" > /dev/null 2>&1 &
+pid=$!
+trap 'kill "$pid" 2> /dev/null || true; wait "$pid" 2> /dev/null || true' EXIT
+
+until curl -sf -o /dev/null "$url"; do
+    if ! kill -0 "$pid" 2> /dev/null; then
+        echo "process exited before $url responded" >&2
+        exit 1
+    fi
+    sleep 0.02
+done
+
+elapsed_ms=$(( ($(date +%s%N) - started) / 1000000 ))
+rss_kb=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")
+echo "time_to_first_request_ms=$elapsed_ms rss_mb=$(( rss_kb / 1024 ))"
@@ -0,0 +1,37 @@
+package org.example.fxdealsimporter.benchmark;
+
+import org.example.fxdealsimporter.dto.DealRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkDeals {
+
+    private static final String[] CURRENCIES = {"USD", "EUR", "GBP", "JPY", "CHF", "CAD", "AUD", "NZD"};
+    private static final LocalDateTime BASE_TIMESTAMP = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    private BenchmarkDeals() {
+    }
+
+    static DealRequest deal(String dealUniqueId, int seed) {
+        int from = seed % CURRENCIES.length;
+        int to = (from + 1 + seed % (CURRENCIES.length - 1)) % CURRENCIES.length;
+        return DealRequest.builder()
+            .dealUniqueId(dealUniqueId)
+            .fromCurrencyIsoCode(CURRENCIES[from])
+            .toCurrencyIsoCode(CURRENCIES[to])
+            .dealTimestamp(BASE_TIMESTAMP.plusSeconds(seed))
+            .dealAmount(BigDecimal.valueOf(100_000L + seed, 2))
+            .build();
+    }
+
+    static List<DealRequest> deals(String prefix, int count) {
+        List<DealRequest> deals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            deals.add(deal(prefix + i, i));
+        }
+        return deals;
+    }
+}
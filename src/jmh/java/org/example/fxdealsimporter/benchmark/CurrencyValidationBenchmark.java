@@ -0,0 +1,35 @@
+package org.example.fxdealsimporter.benchmark;
+
+import org.example.fxdealsimporter.dto.DealRequest;
+import org.example.fxdealsimporter.service.Impl.CurrencyValidationService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CurrencyValidationBenchmark {
+
+    private CurrencyValidationService currencyValidationService;
+    private DealRequest dealRequest;
+
+    @Setup
+    public void setUp() {
+        currencyValidationService = new CurrencyValidationService();
+        dealRequest = BenchmarkDeals.deal("BENCH-1", 7);
+    }
+
+    @Benchmark
+    public void validateDealRequest() {
+        currencyValidationService.validateDealRequest(dealRequest);
+    }
+
+    @Benchmark
+    public void validateCurrencies() {
+        currencyValidationService.validateCurrencies(dealRequest.getFromCurrencyIsoCode(), dealRequest.getToCurrencyIsoCode());
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.fxdealsimporter.benchmark;
+
+import org.example.fxdealsimporter.config.DealPartitionProperties;
+import org.example.fxdealsimporter.dto.DealRequest;
+import org.example.fxdealsimporter.entity.Deal;
+import org.example.fxdealsimporter.mapper.DealMapper;
+import org.example.fxdealsimporter.mapper.DealMapperImpl;
+import org.example.fxdealsimporter.repository.DealBatch;
+import org.example.fxdealsimporter.repository.DealBatchRepository;
+import org.example.fxdealsimporter.sharding.DealShards;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the two persist-side representations of a bulk chunk: one {@link Deal} entity per row versus a
+ * columnar {@link DealBatch}. {@code build*} measures the mapping step alone, {@code insert*} adds the JDBC batch
+ * insert against in-memory H2. Run with {@code -prof gc} and divide {@code gc.alloc.rate.norm} by
+ * {@code batchSize} for bytes allocated per deal.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DealBatchBenchmark {
+
+    @Param({"1000", "10000"})
+    public int batchSize;
+
+    private DealMapper dealMapper;
+    private JdbcTemplate jdbcTemplate;
+    private DealBatchRepository dealBatchRepository;
+    private List<DealRequest> deals;
+    private long invocation;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:deal-batch;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS deals (deal_unique_id VARCHAR(255) PRIMARY KEY, "
+            + "from_currency_iso_code VARCHAR(3) NOT NULL, to_currency_iso_code VARCHAR(3) NOT NULL, "
+            + "deal_timestamp DATETIME NOT NULL, deal_amount DECIMAL(17,2) NOT NULL, created_at DATETIME NOT NULL)");
+        dealBatchRepository = new DealBatchRepository(
+            new DealShards(dataSource, new DataSourceTransactionManager(dataSource)), new DealPartitionProperties());
+        dealMapper = new DealMapperImpl();
+    }
+
+    @Setup(Level.Iteration)
+    public void clearDeals() {
+        jdbcTemplate.execute("TRUNCATE TABLE deals");
+    }
+
+    // Fresh IDs per invocation so the insert benchmarks never hit the primary key.
+    @Setup(Level.Invocation)
+    public void generateDeals() {
+        deals = BenchmarkDeals.deals("BENCH-" + (invocation++) + "-", batchSize);
+    }
+
+    @Benchmark
+    public List<Deal> buildEntities() {
+        LocalDateTime createdAt = LocalDateTime.now();
+        List<Deal> entities = new ArrayList<>(deals.size());
+        for (DealRequest dealRequest : deals) {
+            Deal deal = dealMapper.toEntity(dealRequest);
+            deal.setCreatedAt(createdAt);
+            entities.add(deal);
+        }
+        return entities;
+    }
+
+    @Benchmark
+    public DealBatch buildColumnar() {
+        DealBatch batch = new DealBatch(deals.size(), LocalDateTime.now());
+        for (DealRequest dealRequest : deals) {
+            batch.add(dealRequest);
+        }
+        return batch;
+    }
+
+    @Benchmark
+    public void insertEntities() {
+        dealBatchRepository.insertAll(buildEntities());
+    }
+
+    @Benchmark
+    public void insertColumnar() {
+        dealBatchRepository.insertAll(buildColumnar());
+    }
+}
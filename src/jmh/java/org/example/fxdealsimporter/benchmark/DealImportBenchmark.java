@@ -0,0 +1,82 @@
+package org.example.fxdealsimporter.benchmark;
+
+import org.example.fxdealsimporter.FxDealsImporterApplication;
+import org.example.fxdealsimporter.dto.BatchImportResponse;
+import org.example.fxdealsimporter.dto.DealRequest;
+import org.example.fxdealsimporter.service.IDealService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DealImportBenchmark {
+
+    @Param({"1", "100", "10000", "100000"})
+    public int batchSize;
+
+    @Param({"1"})
+    public int parallelism;
+
+    private ConfigurableApplicationContext context;
+    private IDealService dealService;
+    private JdbcTemplate jdbcTemplate;
+    private List<DealRequest> deals;
+    private long invocation;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class ImportedDeals {
+        public long deals;
+    }
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = new SpringApplicationBuilder(FxDealsImporterApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "spring.jpa.show-sql=false",
+                "logging.level.org.example.fxdealsimporter=WARN",
+                "deals.import.parallelism=" + parallelism)
+            .run();
+        dealService = context.getBean(IDealService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void clearDeals() {
+        jdbcTemplate.execute("TRUNCATE TABLE deals");
+    }
+
+    // Each invocation needs fresh IDs so every deal takes the insert path, not the duplicate path.
+    @Setup(Level.Invocation)
+    public void generateDeals() {
+        deals = BenchmarkDeals.deals("BENCH-" + (invocation++) + "-", batchSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public BatchImportResponse importDeals(ImportedDeals importedDeals) {
+        BatchImportResponse response = dealService.importDeals(deals);
+        importedDeals.deals += response.getSuccessfulDeals();
+        return response;
+    }
+}
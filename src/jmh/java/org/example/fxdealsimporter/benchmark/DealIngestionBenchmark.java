@@ -0,0 +1,137 @@
+package org.example.fxdealsimporter.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.example.fxdealsimporter.FxDealsImporterApplication;
+import org.example.fxdealsimporter.dto.DealRequest;
+import org.example.fxdealsimporter.ingestion.KafkaDealIngestionSource;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end ingestion throughput into embedded H2: one compact HTTP batch request versus producing the same deals
+ * to an embedded Kafka broker and waiting until the consumer has imported them. The {@code deals} counter gives
+ * deals per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DealIngestionBenchmark {
+
+    private static final String TOPIC = "deals";
+
+    @Param({"1000", "10000"})
+    public int batchSize;
+
+    private EmbeddedKafkaKraftBroker broker;
+    private ServletWebServerApplicationContext context;
+    private KafkaDealIngestionSource kafkaSource;
+    private KafkaProducer<String, String> producer;
+    private HttpClient httpClient;
+    private URI batchUri;
+    private ObjectMapper objectMapper;
+
+    private byte[] batchBody;
+    private List<ProducerRecord<String, String>> records;
+    private long invocation;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class IngestedDeals {
+        public long deals;
+    }
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        broker = new EmbeddedKafkaKraftBroker(1, 1, TOPIC);
+        broker.afterPropertiesSet();
+        context = (ServletWebServerApplicationContext) new SpringApplicationBuilder(FxDealsImporterApplication.class)
+            // Command-line arguments so these win over the application.properties on the benchmark classpath.
+            .run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:ingestion;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                "--logging.level.org.example.fxdealsimporter=WARN",
+                "--logging.level.org.springframework.web=WARN",
+                "--logging.level.org.apache.kafka=WARN",
+                "--spring.kafka.bootstrap-servers=" + broker.getBrokersAsString(),
+                "--deals.import.kafka.enabled=true",
+                "--deals.import.kafka.topic=" + TOPIC,
+                "--deals.import.kafka.max-poll-records=" + batchSize,
+                "--deals.import.batch-size=" + batchSize);
+        kafkaSource = context.getBean(KafkaDealIngestionSource.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        producer = new KafkaProducer<>(Map.of(
+            ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+            ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+            ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+            ProducerConfig.LINGER_MS_CONFIG, 5));
+        httpClient = HttpClient.newHttpClient();
+        batchUri = URI.create("http://localhost:" + context.getWebServer().getPort() + "/api/deals/batch?response=compact");
+    }
+
+    // Fresh IDs per invocation so every deal takes the insert path; payloads are serialised outside the measurement.
+    @Setup(Level.Invocation)
+    public void generateDeals() throws Exception {
+        List<DealRequest> deals = BenchmarkDeals.deals("INGEST-" + (invocation++) + "-", batchSize);
+        batchBody = objectMapper.writeValueAsBytes(deals);
+        records = new ArrayList<>(deals.size());
+        for (DealRequest deal : deals) {
+            records.add(new ProducerRecord<>(TOPIC, deal.getDealUniqueId(), objectMapper.writeValueAsString(deal)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        producer.close();
+        context.close();
+        broker.destroy();
+    }
+
+    @Benchmark
+    public int httpBatch(IngestedDeals ingestedDeals) throws Exception {
+        HttpResponse<Void> response = httpClient.send(HttpRequest.newBuilder(batchUri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(batchBody))
+                .build(),
+            HttpResponse.BodyHandlers.discarding());
+        ingestedDeals.deals += batchSize;
+        return response.statusCode();
+    }
+
+    @Benchmark
+    public long kafka(IngestedDeals ingestedDeals) throws InterruptedException {
+        long target = kafkaSource.getImportedDeals() + batchSize;
+        for (ProducerRecord<String, String> record : records) {
+            producer.send(record);
+        }
+        producer.flush();
+        while (kafkaSource.getImportedDeals() < target) {
+            Thread.sleep(1);
+        }
+        ingestedDeals.deals += batchSize;
+        return target;
+    }
+}
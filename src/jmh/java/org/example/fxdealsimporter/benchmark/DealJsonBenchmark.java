@@ -0,0 +1,49 @@
+package org.example.fxdealsimporter.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.example.fxdealsimporter.dto.DealRequest;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DealJsonBenchmark {
+
+    @Param({"1", "100", "10000"})
+    public int batchSize;
+
+    private ObjectReader reader;
+    private ObjectWriter writer;
+    private List<DealRequest> deals;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        reader = objectMapper.readerFor(new TypeReference<List<DealRequest>>() {});
+        writer = objectMapper.writerFor(new TypeReference<List<DealRequest>>() {});
+        deals = BenchmarkDeals.deals("BENCH-", batchSize);
+        json = writer.writeValueAsBytes(deals);
+    }
+
+    @Benchmark
+    public List<DealRequest> deserialize() throws IOException {
+        return reader.readValue(json);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(deals);
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.fxdealsimporter.benchmark;
+
+import org.example.fxdealsimporter.FxDealsImporterApplication;
+import org.example.fxdealsimporter.dto.BatchImportResponse;
+import org.example.fxdealsimporter.dto.DealRequest;
+import org.example.fxdealsimporter.dto.DealResponse;
+import org.example.fxdealsimporter.service.IDealService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the development logging setup ("default": DEBUG, synchronous console and file appenders)
+ * with the "prod" profile (INFO, async appenders, capped failure warnings).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DealLoggingBenchmark {
+
+    private static final int DUPLICATE_BATCH_SIZE = 1000;
+
+    @Param({"default", "prod"})
+    public String profile;
+
+    private ConfigurableApplicationContext context;
+    private IDealService dealService;
+    private JdbcTemplate jdbcTemplate;
+    private List<DealRequest> duplicates;
+    private long invocation;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = new SpringApplicationBuilder(FxDealsImporterApplication.class)
+            .web(WebApplicationType.NONE)
+            .profiles(profile)
+            .properties(
+                "spring.datasource.url=jdbc:h2:mem:logging-benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "logging.file.name=target/benchmark/fx-deals.log")
+            .run();
+        dealService = context.getBean(IDealService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        duplicates = BenchmarkDeals.deals("DUPLICATE-", DUPLICATE_BATCH_SIZE);
+        dealService.importDeals(duplicates);
+    }
+
+    @Setup(Level.Iteration)
+    public void clearSingleDeals() {
+        jdbcTemplate.update("DELETE FROM deals WHERE deal_unique_id LIKE 'SINGLE-%'");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public DealResponse importDeal() {
+        return dealService.importDeal(BenchmarkDeals.deal("SINGLE-" + (invocation++), (int) invocation));
+    }
+
+    // Every deal is rejected as a duplicate, so the batch is dominated by per-failure work.
+    @Benchmark
+    public BatchImportResponse importDuplicates() {
+        return dealService.importDeals(duplicates, false);
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.fxdealsimporter.benchmark;
+
+import org.example.fxdealsimporter.dto.DealRequest;
+import org.example.fxdealsimporter.dto.DealResponse;
+import org.example.fxdealsimporter.entity.Deal;
+import org.example.fxdealsimporter.mapper.DealMapper;
+import org.example.fxdealsimporter.mapper.DealMapperImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DealMapperBenchmark {
+
+    private DealMapper dealMapper;
+    private DealRequest dealRequest;
+    private Deal deal;
+
+    @Setup
+    public void setUp() {
+        dealMapper = new DealMapperImpl();
+        dealRequest = BenchmarkDeals.deal("BENCH-1", 7);
+        deal = dealMapper.toEntity(dealRequest);
+        deal.setCreatedAt(LocalDateTime.now());
+    }
+
+    @Benchmark
+    public Deal toEntity() {
+        return dealMapper.toEntity(dealRequest);
+    }
+
+    @Benchmark
+    public DealResponse toResponse() {
+        return dealMapper.toResponse(deal);
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.fxdealsimporter.benchmark;
+
+import org.example.fxdealsimporter.FxDealsImporterApplication;
+import org.example.fxdealsimporter.dto.BatchImportResponse;
+import org.example.fxdealsimporter.dto.DealRequest;
+import org.example.fxdealsimporter.service.IDealService;
+import org.example.fxdealsimporter.sharding.DealShards;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batch import throughput over 1, 2 and 4 shards, each its own in-memory H2 database with one import thread. The
+ * shards share this JVM's cores, so scaling tracks the cores available rather than separate database hosts.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DealShardingBenchmark {
+
+    private static final String H2_OPTIONS = ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Param({"1", "2", "4"})
+    public int shards;
+
+    @Param({"10000"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private IDealService dealService;
+    private DealShards dealShards;
+    private List<DealRequest> deals;
+    private long invocation;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class ImportedDeals {
+        public long deals;
+    }
+
+    // Run arguments rather than builder properties, which the test application.properties would override.
+    @Setup(Level.Trial)
+    public void startContext() {
+        List<String> args = new ArrayList<>(List.of(
+            "--spring.datasource.url=jdbc:h2:mem:sharding-bench-0" + H2_OPTIONS,
+            "--spring.jpa.show-sql=false",
+            "--spring.jpa.properties.hibernate.generate_statistics=false",
+            "--logging.level.org.example.fxdealsimporter=WARN",
+            "--deals.import.parallelism=1",
+            "--deals.aggregation.enabled=false",
+            "--deals.sharding.enabled=true"));
+        for (int shard = 1; shard < shards; shard++) {
+            args.add("--deals.sharding.shards[" + (shard - 1) + "].url=jdbc:h2:mem:sharding-bench-" + shard + H2_OPTIONS);
+            args.add("--deals.sharding.shards[" + (shard - 1) + "].username=sa");
+        }
+        context = new SpringApplicationBuilder(FxDealsImporterApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(args.toArray(String[]::new));
+        dealService = context.getBean(IDealService.class);
+        dealShards = context.getBean(DealShards.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void clearDeals() {
+        dealShards.all().forEach(shard -> shard.getJdbcTemplate().execute("TRUNCATE TABLE deals"));
+    }
+
+    // Fresh IDs per invocation so every deal takes the insert path.
+    @Setup(Level.Invocation)
+    public void generateDeals() {
+        deals = BenchmarkDeals.deals("SHARD-" + (invocation++) + "-", batchSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public BatchImportResponse importDeals(ImportedDeals importedDeals) {
+        BatchImportResponse response = dealService.importDeals(deals);
+        importedDeals.deals += response.getSuccessfulDeals();
+        return response;
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.fxdealsimporter.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.example.fxdealsimporter.dto.BatchImportResponse;
+import org.example.fxdealsimporter.dto.DealRequest;
+import org.example.fxdealsimporter.dto.DealResponse;
+import org.example.fxdealsimporter.wire.DealWireFormats;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parse time of a deal batch and encode time of its full {@link BatchImportResponse} in JSON, CBOR and Smile.
+ * Payload sizes are printed once per trial.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DealWireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"100", "10000"})
+    public int batchSize;
+
+    private ObjectReader requestReader;
+    private ObjectWriter responseWriter;
+    private byte[] request;
+    private BatchImportResponse response;
+
+    @Setup
+    public void setUp() throws IOException {
+        DealWireFormats wireFormats = new DealWireFormats();
+        ObjectMapper mapper = switch (format) {
+            case "cbor" -> wireFormats.getCborMapper();
+            case "smile" -> wireFormats.getSmileMapper();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        requestReader = mapper.readerFor(new TypeReference<List<DealRequest>>() {});
+        responseWriter = mapper.writerFor(BatchImportResponse.class);
+
+        List<DealRequest> deals = BenchmarkDeals.deals("BENCH-", batchSize);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 15, 12, 0);
+        response = BatchImportResponse.builder()
+            .totalDeals(batchSize)
+            .successfulDeals(batchSize)
+            .failedDeals(0)
+            .successfulImports(deals.stream()
+                .map(deal -> DealResponse.builder()
+                    .dealUniqueId(deal.getDealUniqueId())
+                    .fromCurrencyIsoCode(deal.getFromCurrencyIsoCode())
+                    .toCurrencyIsoCode(deal.getToCurrencyIsoCode())
+                    .dealTimestamp(deal.getDealTimestamp())
+                    .dealAmount(deal.getDealAmount())
+                    .createdAt(createdAt)
+                    .build())
+                .toList())
+            .errors(List.of())
+            .build();
+        request = mapper.writerFor(new TypeReference<List<DealRequest>>() {}).writeValueAsBytes(deals);
+        int responseSize = responseWriter.writeValueAsBytes(response).length;
+        System.out.printf("%n%s, %d deals: request %d bytes (%.1f per deal), response %d bytes (%.1f per deal)%n",
+            format, batchSize, request.length, (double) request.length / batchSize,
+            responseSize, (double) responseSize / batchSize);
+    }
+
+    @Benchmark
+    public List<DealRequest> parseRequest() throws IOException {
+        return requestReader.readValue(request);
+    }
+
+    @Benchmark
+    public byte[] encodeResponse() throws IOException {
+        return responseWriter.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.fxdealsimporter.loadtest;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples the database connections the embedded application holds, from the JDBC pool gauges of Hikari and the
+ * R2DBC pool gauges, so both stacks can be compared on throughput per connection. Peak JVM threads are reported
+ * alongside; they include the load generator's own threads.
+ */
+final class ConnectionSampler implements AutoCloseable {
+
+    private static final String[] IN_USE_GAUGES = {"hikaricp.connections.active", "r2dbc.pool.acquired"};
+
+    private final MeterRegistry meterRegistry;
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "connection-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean measuring;
+    private long samples;
+    private double totalInUse;
+    private double peakInUse;
+
+    ConnectionSampler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        scheduler.scheduleAtFixedRate(this::sample, 10, 10, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Starts counting; samples taken during warmup are dropped.
+     */
+    void startMeasuring() {
+        synchronized (this) {
+            samples = 0;
+            totalInUse = 0;
+            peakInUse = 0;
+        }
+        threads.resetPeakThreadCount();
+        measuring = true;
+    }
+
+    synchronized double meanInUse() {
+        return samples == 0 ? 0 : totalInUse / samples;
+    }
+
+    synchronized double peakInUse() {
+        return peakInUse;
+    }
+
+    int peakThreads() {
+        return threads.getPeakThreadCount();
+    }
+
+    private void sample() {
+        if (!measuring) {
+            return;
+        }
+        double inUse = 0;
+        for (String name : IN_USE_GAUGES) {
+            for (Gauge gauge : meterRegistry.find(name).gauges()) {
+                inUse += gauge.value();
+            }
+        }
+        synchronized (this) {
+            samples++;
+            totalInUse += inUse;
+            peakInUse = Math.max(peakInUse, inUse);
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
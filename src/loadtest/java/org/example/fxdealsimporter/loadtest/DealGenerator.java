@@ -0,0 +1,108 @@
+package org.example.fxdealsimporter.loadtest;
+
+import org.example.fxdealsimporter.dto.DealRequest;
+import org.example.fxdealsimporter.service.Impl.CurrencyValidationService;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic deal stream. Currency pairs follow a Zipf distribution over every ordered pair of supported currencies;
+ * a share of deals reuse a recently issued ID (duplicates) or break one validation rule (invalid). IDs carry a
+ * per-run prefix so repeated runs against the same database start with no accidental duplicates. Not thread-safe.
+ */
+final class DealGenerator {
+
+    private static final int RECENT_IDS = 10_000;
+    private static final LocalDateTime BASE_TIMESTAMP = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    private final SplittableRandom random;
+    private final String idPrefix;
+    private final double duplicateRatio;
+    private final double invalidRatio;
+    private final String[] fromCurrencies;
+    private final String[] toCurrencies;
+    private final double[] cumulativeWeights;
+    private final String[] recentIds = new String[RECENT_IDS];
+
+    private long sequence;
+    private long freshIds;
+    private int invalidKind;
+
+    DealGenerator(LoadTestOptions options) {
+        this.random = new SplittableRandom(options.getSeed());
+        this.idPrefix = "LT-" + Long.toString(System.currentTimeMillis(), 36) + "-";
+        this.duplicateRatio = options.getDuplicateRatio();
+        this.invalidRatio = options.getInvalidRatio();
+
+        List<String> currencies = new CurrencyValidationService().getSupportedCurrencies();
+        List<String[]> pairs = new ArrayList<>();
+        for (String from : currencies) {
+            for (String to : currencies) {
+                if (!from.equals(to)) {
+                    pairs.add(new String[]{from, to});
+                }
+            }
+        }
+        fromCurrencies = new String[pairs.size()];
+        toCurrencies = new String[pairs.size()];
+        cumulativeWeights = new double[pairs.size()];
+        double total = 0;
+        for (int rank = 0; rank < pairs.size(); rank++) {
+            fromCurrencies[rank] = pairs.get(rank)[0];
+            toCurrencies[rank] = pairs.get(rank)[1];
+            total += 1 / Math.pow(rank + 1, options.getPairSkew());
+            cumulativeWeights[rank] = total;
+        }
+        for (int rank = 0; rank < cumulativeWeights.length; rank++) {
+            cumulativeWeights[rank] /= total;
+        }
+    }
+
+    List<DealRequest> next(int count) {
+        List<DealRequest> deals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            deals.add(next());
+        }
+        return deals;
+    }
+
+    DealRequest next() {
+        long seq = sequence++;
+        int pair = Arrays.binarySearch(cumulativeWeights, random.nextDouble());
+        pair = pair >= 0 ? pair : Math.min(-pair - 1, cumulativeWeights.length - 1);
+
+        String dealUniqueId;
+        if (freshIds > 0 && random.nextDouble() < duplicateRatio) {
+            dealUniqueId = recentIds[(int) random.nextLong(Math.min(freshIds, RECENT_IDS))];
+        } else {
+            dealUniqueId = idPrefix + seq;
+            recentIds[(int) (freshIds++ % RECENT_IDS)] = dealUniqueId;
+        }
+
+        DealRequest deal = DealRequest.builder()
+            .dealUniqueId(dealUniqueId)
+            .fromCurrencyIsoCode(fromCurrencies[pair])
+            .toCurrencyIsoCode(toCurrencies[pair])
+            .dealTimestamp(BASE_TIMESTAMP.plusSeconds(seq))
+            .dealAmount(BigDecimal.valueOf(100 + random.nextLong(10_000_000), 2))
+            .build();
+        if (random.nextDouble() < invalidRatio) {
+            breakRule(deal);
+        }
+        return deal;
+    }
+
+    private void breakRule(DealRequest deal) {
+        switch (invalidKind++ % 4) {
+            case 0 -> deal.setToCurrencyIsoCode(deal.getFromCurrencyIsoCode());
+            case 1 -> deal.setFromCurrencyIsoCode("XXX");
+            case 2 -> deal.setDealAmount(deal.getDealAmount().negate());
+            default -> deal.setDealTimestamp(null);
+        }
+    }
+}
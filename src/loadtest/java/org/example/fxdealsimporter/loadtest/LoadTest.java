@@ -0,0 +1,276 @@
+package org.example.fxdealsimporter.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.example.fxdealsimporter.FxDealsImporterApplication;
+import org.example.fxdealsimporter.dto.BatchImportResponse;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load test for {@code POST /api/deals} and {@code POST /api/deals/batch}. Requests are sent on a fixed
+ * schedule at {@code --rate} per second whatever the response times are, and latency is measured from each
+ * request's scheduled send time, so a stalled server shows up as latency instead of as a lower request rate
+ * (no coordinated omission). When {@code --max-in-flight} requests are outstanding the sender waits, and that wait
+ * also counts towards latency.
+ * <p>
+ * Run with {@code mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--rate=200 --duration=60s"}. With
+ * {@code -Ploadtest,reactive} and {@code --stack=reactive} the embedded application is the WebFlux + R2DBC one.
+ */
+public final class LoadTest {
+
+    private static final long HIGHEST_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(10);
+    private static final String REACTIVE_APPLICATION =
+        "org.example.fxdealsimporter.reactive.ReactiveDealsImporterApplication";
+
+    private final LoadTestOptions options;
+    private final URI uri;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final DealGenerator generator;
+    private final ConnectionSampler connectionSampler;
+
+    private LoadTest(LoadTestOptions options, String baseUrl, ConnectionSampler connectionSampler) {
+        this.options = options;
+        this.connectionSampler = connectionSampler;
+        this.uri = URI.create(baseUrl + (options.getEndpoint() == LoadTestOptions.Endpoint.BATCH
+            ? "/api/deals/batch?response=compact" : "/api/deals"));
+        this.client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        this.generator = new DealGenerator(options);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ConfigurableApplicationContext application = null;
+        ConnectionSampler connectionSampler = null;
+        String baseUrl = options.getTarget();
+        if (options.isEmbedded()) {
+            application = startEmbedded(options);
+            baseUrl = "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+            connectionSampler = new ConnectionSampler(application.getBean(MeterRegistry.class));
+        }
+        try {
+            new LoadTest(options, baseUrl, connectionSampler).run().report(System.out);
+        } finally {
+            if (connectionSampler != null) {
+                connectionSampler.close();
+            }
+            if (application != null) {
+                application.close();
+            }
+        }
+    }
+
+    // The test classpath defaults to H2 in MySQL mode; pass --spring.datasource.* to run against MySQL instead.
+    private static ConfigurableApplicationContext startEmbedded(LoadTestOptions options) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.jpa.properties.hibernate.generate_statistics", "false");
+        properties.put("logging.level.org.example.fxdealsimporter", "WARN");
+        properties.put("logging.level.org.springframework.web", "WARN");
+        properties.put("logging.file.name", "target/loadtest-app.log");
+        SpringApplicationBuilder application = new SpringApplicationBuilder(FxDealsImporterApplication.class);
+        if (options.getStack() == LoadTestOptions.Stack.REACTIVE) {
+            application = new SpringApplicationBuilder(reactiveApplication())
+                .web(WebApplicationType.REACTIVE)
+                .profiles("reactive");
+            // R2DBC opens the same in-memory database that Liquibase migrated over JDBC.
+            properties.put("spring.r2dbc.url",
+                "r2dbc:h2:mem:///deals?options=MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+            properties.put("spring.r2dbc.username", "sa");
+            properties.put("spring.r2dbc.password", "");
+        }
+        properties.putAll(options.getApplicationArgs());
+        return application
+            .run(properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new));
+    }
+
+    private static Class<?> reactiveApplication() {
+        try {
+            return Class.forName(REACTIVE_APPLICATION);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("--stack=reactive needs the reactive profile: mvn -Ploadtest,reactive ...", e);
+        }
+    }
+
+    private Results run() throws Exception {
+        Results warmup = new Results();
+        Results measured = new Results();
+        Semaphore inFlight = new Semaphore(options.getMaxInFlight());
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.getRate();
+        long start = System.nanoTime();
+        long measureFrom = start + options.getWarmup().toNanos();
+        long end = measureFrom + options.getDuration().toNanos();
+
+        System.out.printf("Sending %.1f req/s (%d deals each) to %s for %s after %s warmup%n",
+            options.getRate(), options.dealsPerRequest(), uri, options.getDuration(), options.getWarmup());
+        boolean measuring = false;
+        for (long i = 0; ; i++) {
+            long scheduled = start + (long) (i * intervalNanos);
+            if (scheduled >= end) {
+                break;
+            }
+            if (!measuring && scheduled >= measureFrom && connectionSampler != null) {
+                connectionSampler.startMeasuring();
+                measuring = true;
+            }
+            Results results = scheduled < measureFrom ? warmup : measured;
+            byte[] body = options.getEndpoint() == LoadTestOptions.Endpoint.BATCH
+                ? objectMapper.writeValueAsBytes(generator.next(options.getBatchSize()))
+                : objectMapper.writeValueAsBytes(generator.next());
+            for (long now = System.nanoTime(); now < scheduled; now = System.nanoTime()) {
+                LockSupport.parkNanos(scheduled - now);
+            }
+            inFlight.acquire();
+            results.sent.increment();
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(options.getTimeout())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+            client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, error) -> {
+                    results.record(System.nanoTime() - scheduled, response, error);
+                    inFlight.release();
+                });
+        }
+        if (!inFlight.tryAcquire(options.getMaxInFlight(), options.getTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+            System.out.println("Some requests were still in flight when the run ended");
+        }
+        measured.elapsedNanos = System.nanoTime() - measureFrom;
+        return measured;
+    }
+
+    private final class Results {
+        private final Recorder latency = new Recorder(HIGHEST_LATENCY_NANOS, 3);
+        private final LongAdder sent = new LongAdder();
+        private final LongAdder completed = new LongAdder();
+        private final Map<String, LongAdder> responses = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> deals = new ConcurrentHashMap<>();
+        private long elapsedNanos;
+
+        void record(long latencyNanos, HttpResponse<byte[]> response, Throwable error) {
+            latency.recordValue(Math.min(latencyNanos, HIGHEST_LATENCY_NANOS));
+            if (error != null) {
+                count(responses, describe(error));
+                return;
+            }
+            completed.increment();
+            count(responses, "HTTP " + response.statusCode());
+            if (options.getEndpoint() == LoadTestOptions.Endpoint.SINGLE) {
+                int status = response.statusCode();
+                count(deals, status == 201 || status == 202 ? "imported"
+                    : status == 409 ? "duplicate" : status == 400 ? "invalid" : "failed");
+                return;
+            }
+            if (response.statusCode() != 200) {
+                add(deals, "failed", options.getBatchSize());
+                return;
+            }
+            try {
+                BatchImportResponse batch = objectMapper.readValue(response.body(), BatchImportResponse.class);
+                add(deals, "imported", batch.getSuccessfulDeals());
+                int duplicates = 0;
+                if (batch.getErrors() != null) {
+                    for (BatchImportResponse.DealError dealError : batch.getErrors()) {
+                        String message = dealError.getErrorMessage();
+                        duplicates += message != null && message.contains("already exists") ? 1 : 0;
+                    }
+                }
+                add(deals, "duplicate", duplicates);
+                add(deals, "invalid", batch.getFailedDeals() - duplicates);
+            } catch (IOException e) {
+                count(responses, "unreadable batch response");
+            }
+        }
+
+        void report(PrintStream out) throws IOException {
+            Histogram histogram = latency.getIntervalHistogram();
+            double seconds = elapsedNanos / 1e9;
+            long dealsCompleted = deals.values().stream().mapToLong(LongAdder::sum).sum();
+            out.println();
+            out.printf("Requests:   %d sent, %d completed, %.1f req/s, %.1f deals/s%n",
+                sent.sum(), completed.sum(), completed.sum() / seconds, dealsCompleted / seconds);
+            out.printf("Latency:    p50=%.2f ms  p90=%.2f ms  p99=%.2f ms  p99.9=%.2f ms  max=%.2f ms%n",
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+            out.println("Responses:  " + summary(responses));
+            out.println("Deals:      " + summary(deals));
+            if (connectionSampler != null) {
+                double meanInUse = connectionSampler.meanInUse();
+                out.printf("DB pool:    mean %.1f / peak %.0f connections in use, %.1f deals/s per connection in use%n",
+                    meanInUse, connectionSampler.peakInUse(), meanInUse > 0 ? dealsCompleted / seconds / meanInUse : 0);
+                out.printf("Threads:    peak %d live in the JVM (load generator included)%n",
+                    connectionSampler.peakThreads());
+            }
+            if (options.getHistogram() != null) {
+                try (PrintStream file = new PrintStream(Files.newOutputStream(Path.of(options.getHistogram())))) {
+                    histogram.outputPercentileDistribution(file, 1e6);
+                }
+                out.println("Percentile distribution (ms) written to " + options.getHistogram());
+            }
+        }
+
+        private String describe(Throwable error) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof HttpTimeoutException) {
+                return "timeout";
+            }
+            if (cause instanceof ConnectException) {
+                return "connection refused";
+            }
+            return cause.getClass().getSimpleName();
+        }
+
+        private void count(Map<String, LongAdder> counters, String key) {
+            add(counters, key, 1);
+        }
+
+        private void add(Map<String, LongAdder> counters, String key, long amount) {
+            if (amount > 0) {
+                counters.computeIfAbsent(key, k -> new LongAdder()).add(amount);
+            }
+        }
+
+        private String summary(Map<String, LongAdder> counters) {
+            StringBuilder summary = new StringBuilder();
+            new TreeMap<>(counters).forEach((key, count) -> summary.append(key).append('=').append(count.sum()).append("  "));
+            return summary.length() == 0 ? "none" : summary.toString().trim();
+        }
+
+        private double millis(long nanos) {
+            return nanos / 1e6;
+        }
+    }
+}
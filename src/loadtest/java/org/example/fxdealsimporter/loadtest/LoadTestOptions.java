@@ -0,0 +1,91 @@
+package org.example.fxdealsimporter.loadtest;
+
+import lombok.Getter;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command-line options, all given as {@code --name=value}. Options the load test does not know (for example
+ * {@code --spring.datasource.url=...}) are passed to the embedded application.
+ */
+@Getter
+final class LoadTestOptions {
+
+    enum Endpoint {
+        SINGLE,
+        BATCH
+    }
+
+    enum Stack {
+        SERVLET,
+        REACTIVE
+    }
+
+    // "embedded" starts the application in-process on a random port, anything else is the base URL of a running app.
+    private String target = "embedded";
+    // Embedded application: Spring MVC + JDBC, or WebFlux + R2DBC (needs the reactive profile on the classpath).
+    private Stack stack = Stack.SERVLET;
+    private Endpoint endpoint = Endpoint.BATCH;
+    // Requests per second, independent of how fast responses come back.
+    private double rate = 50;
+    private Duration duration = Duration.ofSeconds(30);
+    private Duration warmup = Duration.ofSeconds(5);
+    private int batchSize = 100;
+    // Zipf exponent over currency pairs; 0 is uniform, 1 sends about 15% of deals to the top pair.
+    private double pairSkew = 1.0;
+    private double duplicateRatio = 0.05;
+    private double invalidRatio = 0.01;
+    private int maxInFlight = 256;
+    private Duration timeout = Duration.ofSeconds(30);
+    private long seed = 42;
+    // Optional file for the full percentile distribution (.hgrm), e.g. for plotting.
+    private String histogram;
+
+    private final Map<String, String> applicationArgs = new LinkedHashMap<>();
+
+    private LoadTestOptions() {
+    }
+
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "target" -> options.target = value;
+                case "stack" -> options.stack = Stack.valueOf(value.toUpperCase());
+                case "endpoint" -> options.endpoint = Endpoint.valueOf(value.toUpperCase());
+                case "rate" -> options.rate = Double.parseDouble(value);
+                case "duration" -> options.duration = DurationStyle.detectAndParse(value);
+                case "warmup" -> options.warmup = DurationStyle.detectAndParse(value);
+                case "batch-size" -> options.batchSize = Integer.parseInt(value);
+                case "pair-skew" -> options.pairSkew = Double.parseDouble(value);
+                case "duplicate-ratio" -> options.duplicateRatio = Double.parseDouble(value);
+                case "invalid-ratio" -> options.invalidRatio = Double.parseDouble(value);
+                case "max-in-flight" -> options.maxInFlight = Integer.parseInt(value);
+                case "timeout" -> options.timeout = DurationStyle.detectAndParse(value);
+                case "seed" -> options.seed = Long.parseLong(value);
+                case "histogram" -> options.histogram = value;
+                default -> options.applicationArgs.put(name, value);
+            }
+        }
+        if (options.rate <= 0 || options.batchSize <= 0 || options.maxInFlight <= 0) {
+            throw new IllegalArgumentException("rate, batch-size and max-in-flight must be positive");
+        }
+        return options;
+    }
+
+    boolean isEmbedded() {
+        return "embedded".equals(target);
+    }
+
+    int dealsPerRequest() {
+        return endpoint == Endpoint.BATCH ? batchSize : 1;
+    }
+}
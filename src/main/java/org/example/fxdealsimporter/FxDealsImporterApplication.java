@@ -2,8 +2,12 @@ package org.example.fxdealsimporter;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
-@SpringBootApplication
+// R2DBC is only on the classpath with -Preactive, for ReactiveDealsImporterApplication; this application stays on JDBC.
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
+@ConfigurationPropertiesScan
 public class FxDealsImporterApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,262 @@
+package org.example.fxdealsimporter.aggregation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.fxdealsimporter.config.DealAggregationProperties;
+import org.example.fxdealsimporter.currency.CurrencyCodes;
+import org.example.fxdealsimporter.dto.DealRequest;
+import org.example.fxdealsimporter.dto.PairAggregate;
+import org.example.fxdealsimporter.entity.Deal;
+import org.example.fxdealsimporter.repository.DealQueryRepository;
+import org.example.fxdealsimporter.service.ICurrencyValidationService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running deal count and notional per currency pair, in total and per time bucket of deal timestamp. Pairs are
+ * slots in fixed arrays indexed by {@code from * currencies + to}; notionals are summed in cents on
+ * {@link LongAdder}s so concurrent imports don't contend. Buckets form a ring of {@code bucketCount} slots per pair
+ * covering the window that ends at the current bucket.
+ * <p>
+ * The state is rebuilt from the {@code deals} table on startup. The rebuild counts deals created before its start
+ * and live updates count deals created after, so a deal still in flight when the rebuild starts may be missed.
+ */
+@Component
+@Slf4j
+public class DealAggregates {
+
+    private static final int AMOUNT_SCALE = 2;
+
+    private final DealQueryRepository dealQueryRepository;
+    private final DealAggregationProperties aggregationProperties;
+    private final List<String> currencies;
+    private final short[] currencyOrdinals = new short[CurrencyCodes.CODE_SPACE];
+    private final long bucketSeconds;
+    private final int bucketCount;
+
+    private volatile Table table;
+    private volatile boolean ready;
+
+    public DealAggregates(DealQueryRepository dealQueryRepository, DealAggregationProperties aggregationProperties,
+                          ICurrencyValidationService currencyValidationService) {
+        this.dealQueryRepository = dealQueryRepository;
+        this.aggregationProperties = aggregationProperties;
+        this.currencies = List.copyOf(currencyValidationService.getSupportedCurrencies());
+        this.bucketSeconds = Math.max(1, aggregationProperties.getBucketSize().toSeconds());
+        this.bucketCount = Math.max(1, aggregationProperties.getBucketCount());
+        Arrays.fill(currencyOrdinals, (short) -1);
+        for (int i = 0; i < currencies.size(); i++) {
+            currencyOrdinals[CurrencyCodes.code(currencies.get(i))] = (short) i;
+        }
+        this.table = new Table(currencies.size() * currencies.size(), bucketCount, LocalDateTime.MIN);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!aggregationProperties.isEnabled()) {
+            log.info("Deal aggregation is disabled");
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        ready = false;
+        LocalDateTime cutoff = LocalDateTime.now();
+        Table rebuilt = new Table(currencies.size() * currencies.size(), bucketCount, cutoff);
+        // Install first so deals committed during the rebuild land in the new table.
+        table = rebuilt;
+
+        for (PairAggregate pair : dealQueryRepository.aggregateByPair(cutoff)) {
+            int pairCode = pairCode(pair.getFromCurrencyIsoCode(), pair.getToCurrencyIsoCode());
+            if (pairCode >= 0) {
+                rebuilt.counts[pairCode].add(pair.getDealCount());
+                rebuilt.notionals[pairCode].add(cents(pair.getNotional()));
+            }
+        }
+        long currentBucket = currentBucket();
+        LocalDateTime windowStart = bucketStart(currentBucket - bucketCount + 1);
+        dealQueryRepository.forEachDealSince(windowStart, cutoff, deal -> {
+            int pairCode = pairCode(deal.getFromCurrencyIsoCode(), deal.getToCurrencyIsoCode());
+            if (pairCode >= 0) {
+                addToBucket(rebuilt, pairCode, bucketOf(deal.getDealTimestamp()), currentBucket,
+                    cents(deal.getDealAmount()));
+            }
+        });
+
+        ready = true;
+        log.info("Deal aggregates rebuilt in {} ms", System.currentTimeMillis() - started);
+    }
+
+    public void record(Deal deal) {
+        record(deal.getFromCurrencyIsoCode(), deal.getToCurrencyIsoCode(), deal.getDealTimestamp(),
+            deal.getDealAmount(), deal.getCreatedAt());
+    }
+
+    public void record(DealRequest dealRequest, LocalDateTime createdAt) {
+        record(dealRequest.getFromCurrencyIsoCode(), dealRequest.getToCurrencyIsoCode(),
+            dealRequest.getDealTimestamp(), dealRequest.getDealAmount(), createdAt);
+    }
+
+    private void record(String fromCurrency, String toCurrency, LocalDateTime dealTimestamp, BigDecimal amount,
+                        LocalDateTime createdAt) {
+        if (!aggregationProperties.isEnabled()) {
+            return;
+        }
+        Table current = table;
+        if (createdAt != null && createdAt.isBefore(current.cutoff)) {
+            // Counted by the rebuild if it was committed before the rebuild read the table.
+            return;
+        }
+        int pairCode = pairCode(fromCurrency, toCurrency);
+        if (pairCode < 0) {
+            return;
+        }
+        long cents = cents(amount);
+        current.counts[pairCode].increment();
+        current.notionals[pairCode].add(cents);
+        addToBucket(current, pairCode, bucketOf(dealTimestamp), currentBucket(), cents);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Totals for every pair with at least one deal.
+     */
+    public List<PairAggregate> pairs() {
+        Table current = table;
+        List<PairAggregate> pairs = new ArrayList<>();
+        for (int pairCode = 0; pairCode < current.counts.length; pairCode++) {
+            long dealCount = current.counts[pairCode].sum();
+            if (dealCount > 0) {
+                pairs.add(totals(current, pairCode, dealCount).build());
+            }
+        }
+        return pairs;
+    }
+
+    /**
+     * Totals and non-empty buckets for one pair, or {@code null} if either currency is unsupported.
+     */
+    public PairAggregate pair(String fromCurrency, String toCurrency) {
+        int pairCode = pairCode(fromCurrency, toCurrency);
+        if (pairCode < 0) {
+            return null;
+        }
+        Table current = table;
+        long currentBucket = currentBucket();
+        List<PairAggregate.Bucket> buckets = new ArrayList<>();
+        for (long epoch = currentBucket - bucketCount + 1; epoch <= currentBucket; epoch++) {
+            Bucket bucket = current.buckets.get(slot(pairCode, epoch));
+            if (bucket != null && bucket.epoch == epoch) {
+                long dealCount = bucket.count.sum();
+                if (dealCount > 0) {
+                    buckets.add(PairAggregate.Bucket.builder()
+                        .start(bucketStart(epoch))
+                        .dealCount(dealCount)
+                        .notional(BigDecimal.valueOf(bucket.notional.sum(), AMOUNT_SCALE))
+                        .build());
+                }
+            }
+        }
+        return totals(current, pairCode, current.counts[pairCode].sum())
+            .buckets(buckets)
+            .build();
+    }
+
+    private PairAggregate.PairAggregateBuilder totals(Table current, int pairCode, long dealCount) {
+        return PairAggregate.builder()
+            .fromCurrencyIsoCode(currencies.get(pairCode / currencies.size()))
+            .toCurrencyIsoCode(currencies.get(pairCode % currencies.size()))
+            .dealCount(dealCount)
+            .notional(BigDecimal.valueOf(current.notionals[pairCode].sum(), AMOUNT_SCALE));
+    }
+
+    private void addToBucket(Table current, int pairCode, long epoch, long currentBucket, long cents) {
+        if (epoch > currentBucket || epoch <= currentBucket - bucketCount) {
+            return;
+        }
+        int slot = slot(pairCode, epoch);
+        Bucket bucket = current.buckets.get(slot);
+        while (bucket == null || bucket.epoch < epoch) {
+            Bucket fresh = new Bucket(epoch);
+            if (current.buckets.compareAndSet(slot, bucket, fresh)) {
+                bucket = fresh;
+                break;
+            }
+            bucket = current.buckets.get(slot);
+        }
+        if (bucket.epoch == epoch) {
+            bucket.count.increment();
+            bucket.notional.add(cents);
+        }
+    }
+
+    private int slot(int pairCode, long epoch) {
+        return pairCode * bucketCount + (int) Math.floorMod(epoch, bucketCount);
+    }
+
+    private long bucketOf(LocalDateTime timestamp) {
+        return Math.floorDiv(timestamp.toEpochSecond(ZoneOffset.UTC), bucketSeconds);
+    }
+
+    private long currentBucket() {
+        return bucketOf(LocalDateTime.now());
+    }
+
+    private LocalDateTime bucketStart(long epoch) {
+        return LocalDateTime.ofEpochSecond(epoch * bucketSeconds, 0, ZoneOffset.UTC);
+    }
+
+    private int pairCode(String fromCurrency, String toCurrency) {
+        int from = currencyOrdinal(fromCurrency);
+        int to = currencyOrdinal(toCurrency);
+        return from < 0 || to < 0 ? -1 : from * currencies.size() + to;
+    }
+
+    private int currencyOrdinal(String currency) {
+        int code = CurrencyCodes.code(currency);
+        return code < 0 ? -1 : currencyOrdinals[code];
+    }
+
+    private static long cents(BigDecimal amount) {
+        return amount.movePointRight(AMOUNT_SCALE).longValueExact();
+    }
+
+    private static final class Table {
+        private final LongAdder[] counts;
+        private final LongAdder[] notionals;
+        private final AtomicReferenceArray<Bucket> buckets;
+        private final LocalDateTime cutoff;
+
+        private Table(int pairs, int bucketCount, LocalDateTime cutoff) {
+            counts = new LongAdder[pairs];
+            notionals = new LongAdder[pairs];
+            for (int i = 0; i < pairs; i++) {
+                counts[i] = new LongAdder();
+                notionals[i] = new LongAdder();
+            }
+            buckets = new AtomicReferenceArray<>(pairs * bucketCount);
+            this.cutoff = cutoff;
+        }
+    }
+
+    private static final class Bucket {
+        private final long epoch;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder notional = new LongAdder();
+
+        private Bucket(long epoch) {
+            this.epoch = epoch;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.fxdealsimporter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "deals.aggregation")
+public class DealAggregationProperties {
+
+    private boolean enabled = true;
+
+    private Duration bucketSize = Duration.ofHours(1);
+
+    // Number of buckets kept per currency pair; older deals only count towards the pair totals.
+    private int bucketCount = 168;
+}
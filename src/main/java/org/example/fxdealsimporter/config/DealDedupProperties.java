@@ -0,0 +1,17 @@
+package org.example.fxdealsimporter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "deals.dedup")
+public class DealDedupProperties {
+
+    private boolean enabled = true;
+
+    private long expectedInsertions = 1_000_000;
+
+    private double falsePositiveRate = 0.01;
+
+    private int loadPageSize = 10_000;
+}
@@ -0,0 +1,85 @@
+package org.example.fxdealsimporter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "deals.import")
+public class DealImportProperties {
+
+    private int batchSize = 1000;
+
+    private int parallelism = 1;
+
+    private DuplicateStrategy duplicateStrategy = DuplicateStrategy.CHECK_FIRST;
+
+    private DataSize maxDecompressedRequestSize = DataSize.ofMegabytes(512);
+
+    private int maxLoggedFailures = 10;
+
+    private IngestionMode ingestionMode = IngestionMode.DIRECT;
+
+    private WriteBehind writeBehind = new WriteBehind();
+
+    private Journal journal = new Journal();
+
+    private Idempotency idempotency = new Idempotency();
+
+    private Jobs jobs = new Jobs();
+
+    private Kafka kafka = new Kafka();
+
+    public enum DuplicateStrategy {
+        CHECK_FIRST,
+        INSERT_FIRST
+    }
+
+    public enum IngestionMode {
+        DIRECT,
+        WRITE_BEHIND,
+        JOURNAL
+    }
+
+    @Data
+    public static class WriteBehind {
+        private int queueCapacity = 10_000;
+        private int maxGroupSize = 500;
+        private Duration maxGroupDelay = Duration.ofMillis(5);
+        private Duration awaitTimeout = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Journal {
+        private String directory = "data/journal";
+        private int replayBatchSize = 1000;
+        private Duration replayInterval = Duration.ofMillis(200);
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+    }
+
+    @Data
+    public static class Idempotency {
+        private boolean enabled = true;
+        private int maxEntries = 1000;
+        private int maxDeals = 100_000;
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+
+    @Data
+    public static class Jobs {
+        private int workerThreads = 2;
+        private int queueCapacity = 16;
+    }
+
+    @Data
+    public static class Kafka {
+        private boolean enabled = false;
+        private String topic = "deals";
+        private String groupId = "fx-deals-importer";
+        private int maxPollRecords = 5000;
+        private Duration pollTimeout = Duration.ofMillis(500);
+        private Duration retryBackoff = Duration.ofSeconds(1);
+    }
+}
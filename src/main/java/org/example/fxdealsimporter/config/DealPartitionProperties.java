@@ -0,0 +1,26 @@
+package org.example.fxdealsimporter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "deals.partitioning")
+public class DealPartitionProperties {
+
+    // MySQL only. Also gates changesets 004 and 005, which create the deal_ids registry and partition the deals table.
+    // Duplicate checks then read deal_ids, which keeps IDs of retired partitions.
+    private boolean enabled = false;
+
+    // Monthly partitions created ahead of the current month.
+    private int premakeMonths = 3;
+
+    // Months of deals kept in the deals table; older partitions are retired. 0 keeps everything.
+    private int retentionMonths = 24;
+
+    // Move retired partitions into deals_archive_<partition> tables instead of dropping them.
+    private boolean archive = true;
+
+    private Duration maintenanceInterval = Duration.ofHours(6);
+}
@@ -0,0 +1,15 @@
+package org.example.fxdealsimporter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "deals.query")
+public class DealQueryProperties {
+
+    private int defaultPageSize = 100;
+
+    private int maxPageSize = 1000;
+
+    private int fetchSize = 500;
+}
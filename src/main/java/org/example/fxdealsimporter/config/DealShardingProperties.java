@@ -0,0 +1,35 @@
+package org.example.fxdealsimporter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "deals.sharding")
+public class DealShardingProperties {
+
+    // Spreads deals over the primary datasource (shard 0) and the shards below by a jump consistent hash of
+    // deal_unique_id. Import jobs and other tables stay on the primary datasource.
+    private boolean enabled = false;
+
+    // Shards 1..n in list order. Only append: removing or reordering shards moves deals without a rebalance.
+    private List<Shard> shards = new ArrayList<>();
+
+    // Shard count before the last shards were added. Until the rebalance has finished, duplicate checks also look
+    // at the shard each deal lived on under that count. 0 when no rebalance is pending.
+    private int previousShardCount = 0;
+
+    // Deals copied per statement when rebalancing.
+    private int rebalanceBatchSize = 1000;
+
+    @Data
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+        private int maximumPoolSize = 10;
+    }
+}
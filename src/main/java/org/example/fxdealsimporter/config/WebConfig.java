@@ -0,0 +1,34 @@
+package org.example.fxdealsimporter.config;
+
+import lombok.RequiredArgsConstructor;
+import org.example.fxdealsimporter.wire.DealWireFormats;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final DealWireFormats dealWireFormats;
+
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        // Case-insensitive enum request parameters, e.g. ?response=compact
+        ApplicationConversionService.addApplicationConverters(registry);
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Spring adds its own CBOR and Smile converters when the libraries are present; use the deal wire schema.
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+            || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.addAll(dealWireFormats.messageConverters());
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.fxdealsimporter.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.fxdealsimporter.aggregation.DealAggregates;
+import org.example.fxdealsimporter.dto.PairAggregate;
+import org.example.fxdealsimporter.exception.InvalidCurrencyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Serves running per-pair aggregates from memory; these endpoints never query the database.
+ */
+@RestController
+@RequestMapping("/api/deals/aggregates")
+@RequiredArgsConstructor
+public class DealAggregateController {
+
+    private final DealAggregates dealAggregates;
+
+    @GetMapping
+    public ResponseEntity<List<PairAggregate>> getPairs() {
+        if (!dealAggregates.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(dealAggregates.pairs());
+    }
+
+    @GetMapping("/{fromCurrency}/{toCurrency}")
+    public ResponseEntity<PairAggregate> getPair(@PathVariable String fromCurrency, @PathVariable String toCurrency) {
+        if (!dealAggregates.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        PairAggregate pair = dealAggregates.pair(fromCurrency, toCurrency);
+        if (pair == null) {
+            throw new InvalidCurrencyException("Unsupported currency pair: " + fromCurrency + "/" + toCurrency);
+        }
+        return ResponseEntity.ok(pair);
+    }
+}
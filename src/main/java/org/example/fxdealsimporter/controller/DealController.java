@@ -1,17 +1,29 @@
 package org.example.fxdealsimporter.controller;
 
-import jakarta.validation.Valid;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.fxdealsimporter.dto.BatchImportResponse;
+import org.example.fxdealsimporter.dto.BatchResponseMode;
 import org.example.fxdealsimporter.dto.DealRequest;
 import org.example.fxdealsimporter.dto.DealResponse;
+import org.example.fxdealsimporter.dto.ImportSummary;
+import org.example.fxdealsimporter.idempotency.BatchFingerprint;
+import org.example.fxdealsimporter.idempotency.BatchResultCache;
+import org.example.fxdealsimporter.service.IDealIngestionService;
 import org.example.fxdealsimporter.service.IDealService;
-import org.example.fxdealsimporter.service.Impl.DealService;
+import org.example.fxdealsimporter.wire.DealWireFormats;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
 
 @RestController
@@ -20,21 +32,85 @@ import java.util.List;
 @Slf4j
 public class DealController {
     
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    
     private final IDealService dealService;
+    private final IDealIngestionService dealIngestionService;
+    private final BatchResultCache batchResultCache;
+    private final ObjectMapper objectMapper;
+    private final DealWireFormats dealWireFormats;
     
     @PostMapping
-    public ResponseEntity<DealResponse> importDeal(@Valid @RequestBody DealRequest dealRequest) {
-        log.info("Received deal import request");
-        DealResponse response = dealService.importDeal(dealRequest);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    public ResponseEntity<DealResponse> importDeal(@RequestBody DealRequest dealRequest) {
+        log.debug("Received deal import request");
+        DealResponse response = dealIngestionService.ingest(dealRequest);
+        HttpStatus status = dealIngestionService.isDeferred() ? HttpStatus.ACCEPTED : HttpStatus.CREATED;
+        return ResponseEntity.status(status).body(response);
     }
     
     @PostMapping("/batch")
-    public ResponseEntity<BatchImportResponse> importDeals(@RequestBody List<DealRequest> dealRequests) {
+    public void importDeals(@RequestBody List<DealRequest> dealRequests,
+                            @RequestParam(name = "response", required = false) BatchResponseMode responseMode,
+                            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                            HttpServletResponse response) throws IOException {
         log.info("Received batch deal import request for {} deals", dealRequests.size());
-        BatchImportResponse response = dealService.importDeals(dealRequests);
-        return ResponseEntity.ok(response);
+        BatchResponseMode mode = responseMode != null ? responseMode
+            : accept != null && accept.contains(NDJSON) ? BatchResponseMode.NDJSON
+            : BatchResponseMode.FULL;
+        boolean includeSuccessfulImports = mode == BatchResponseMode.FULL;
+        String fingerprint = BatchFingerprint.of(dealRequests);
+        String key = (idempotencyKey != null ? "key:" + idempotencyKey : "sha256:" + fingerprint)
+            + (includeSuccessfulImports ? ":full" : ":compact");
+        if (mode == BatchResponseMode.NDJSON) {
+            streamNdjson(key, fingerprint, dealRequests, response);
+            return;
+        }
+        BatchImportResponse result = batchResultCache.getOrImport(key, fingerprint,
+            () -> dealService.importDeals(dealRequests, includeSuccessfulImports));
+        
+        MediaType binaryFormat = dealWireFormats.negotiate(accept);
+        if (binaryFormat != null) {
+            response.setContentType(binaryFormat.toString());
+            dealWireFormats.mapperFor(binaryFormat).writeValue(response.getOutputStream(), result);
+            return;
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), result);
+    }
+    
+    // Failed deals are written as their chunks finish. They are also kept for the idempotency cache, which
+    // replays them in one go for a resubmitted or concurrently running identical batch.
+    private void streamNdjson(String key, String fingerprint, List<DealRequest> dealRequests,
+                              HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        try (SequenceWriter writer = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .writeValues(response.getOutputStream())) {
+            List<BatchImportResponse.DealError> streamed = new ArrayList<>();
+            BatchImportResponse result = batchResultCache.getOrImport(key, fingerprint, () -> {
+                ImportSummary summary = dealService.importDeals(dealRequests, error -> {
+                    streamed.add(error);
+                    try {
+                        writer.write(error);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                return BatchImportResponse.builder()
+                    .totalDeals((int) summary.getTotalDeals())
+                    .successfulDeals((int) summary.getSuccessfulDeals())
+                    .failedDeals((int) summary.getFailedDeals())
+                    .errors(streamed)
+                    .build();
+            });
+            // A cached or concurrently imported result has not been written yet.
+            if (result.getErrors() != streamed) {
+                writer.writeAll(result.getErrors());
+            }
+            writer.write(new ImportSummary(result.getTotalDeals(), result.getSuccessfulDeals(), result.getFailedDeals()));
+        }
     }
     
-
 }
\ No newline at end of file
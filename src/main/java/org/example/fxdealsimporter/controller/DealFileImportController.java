@@ -0,0 +1,53 @@
+package org.example.fxdealsimporter.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.fxdealsimporter.dto.ImportSummary;
+import org.example.fxdealsimporter.parser.DealFileFormat;
+import org.example.fxdealsimporter.service.IDealFileImportService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+@RestController
+@RequestMapping("/api/deals")
+@RequiredArgsConstructor
+@Slf4j
+public class DealFileImportController {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final IDealFileImportService dealFileImportService;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping(value = "/import", consumes = {"text/csv", NDJSON}, produces = NDJSON)
+    public void importDealFile(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                               HttpServletRequest request, HttpServletResponse response) throws IOException {
+        DealFileFormat format = DealFileFormat.fromMediaType(contentType);
+        log.info("Received {} deal file import request", format);
+
+        response.setContentType(NDJSON);
+        try (SequenceWriter writer = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .writeValues(response.getOutputStream())) {
+            ImportSummary summary = dealFileImportService.importFile(request.getInputStream(), format, error -> {
+                try {
+                    writer.write(error);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.write(summary);
+        }
+    }
+}
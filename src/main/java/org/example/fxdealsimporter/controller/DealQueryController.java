@@ -0,0 +1,82 @@
+package org.example.fxdealsimporter.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.fxdealsimporter.dto.DealSearchCriteria;
+import org.example.fxdealsimporter.service.IDealQueryService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/deals")
+@RequiredArgsConstructor
+@Slf4j
+public class DealQueryController {
+
+    private final IDealQueryService dealQueryService;
+    private final ObjectMapper objectMapper;
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public void searchDeals(@RequestParam(required = false) String fromCurrency,
+                            @RequestParam(required = false) String toCurrency,
+                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                            @RequestParam(required = false) BigDecimal minAmount,
+                            @RequestParam(required = false) BigDecimal maxAmount,
+                            @RequestParam(required = false) String cursor,
+                            @RequestParam(required = false) Integer limit,
+                            HttpServletResponse response) throws IOException {
+        DealSearchCriteria criteria = DealSearchCriteria.builder()
+            .fromCurrencyIsoCode(fromCurrency)
+            .toCurrencyIsoCode(toCurrency)
+            .fromTimestamp(from)
+            .toTimestamp(to)
+            .minAmount(minAmount)
+            .maxAmount(maxAmount)
+            .cursor(cursor)
+            .limit(limit)
+            .build();
+        log.info("Received deal search request: {}", criteria);
+
+        // The body is opened on the first row so that invalid criteria still reach the exception handler.
+        JsonGenerator[] generator = new JsonGenerator[1];
+        String nextCursor = dealQueryService.searchDeals(criteria, deal -> {
+            try {
+                if (generator[0] == null) {
+                    generator[0] = startBody(response);
+                }
+                objectMapper.writeValue(generator[0], deal);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        if (generator[0] == null) {
+            generator[0] = startBody(response);
+        }
+        try (JsonGenerator body = generator[0]) {
+            body.writeEndArray();
+            body.writeStringField("nextCursor", nextCursor);
+            body.writeEndObject();
+        }
+    }
+
+    private JsonGenerator startBody(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream());
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("deals");
+        return generator;
+    }
+}
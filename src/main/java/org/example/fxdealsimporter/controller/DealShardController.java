@@ -0,0 +1,25 @@
+package org.example.fxdealsimporter.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.fxdealsimporter.dto.ShardRebalanceReport;
+import org.example.fxdealsimporter.sharding.DealShardRebalancer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/deals/shards")
+@RequiredArgsConstructor
+@Slf4j
+public class DealShardController {
+
+    private final DealShardRebalancer dealShardRebalancer;
+
+    @PostMapping("/rebalance")
+    public ResponseEntity<ShardRebalanceReport> rebalance() {
+        log.info("Received shard rebalance request");
+        return ResponseEntity.ok(dealShardRebalancer.rebalance());
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.fxdealsimporter.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.fxdealsimporter.dedup.DealIdIndex;
+import org.example.fxdealsimporter.dto.DedupIndexStats;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/deals/dedup-index")
+@RequiredArgsConstructor
+public class DedupIndexController {
+
+    private final DealIdIndex dealIdIndex;
+
+    @GetMapping
+    public ResponseEntity<DedupIndexStats> getStats() {
+        return ResponseEntity.ok(dealIdIndex.stats());
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.fxdealsimporter.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.fxdealsimporter.dto.DealRequest;
+import org.example.fxdealsimporter.dto.ImportJobResponse;
+import org.example.fxdealsimporter.service.IImportJobService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/deals/jobs")
+@RequiredArgsConstructor
+@Slf4j
+public class ImportJobController {
+
+    private final IImportJobService importJobService;
+
+    @PostMapping
+    public ResponseEntity<ImportJobResponse> submitJob(@RequestBody List<DealRequest> dealRequests) {
+        log.info("Received async batch import request for {} deals", dealRequests.size());
+        ImportJobResponse response = importJobService.submit(dealRequests);
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/deals/jobs/" + response.getJobId()))
+            .body(response);
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ImportJobResponse> getJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(importJobService.getJob(jobId));
+    }
+}
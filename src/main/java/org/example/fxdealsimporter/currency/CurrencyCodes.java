@@ -0,0 +1,46 @@
+package org.example.fxdealsimporter.currency;
+
+/**
+ * Packs three-letter upper-case currency codes into {@code 0..26^3-1}, so currencies can index arrays and be
+ * stored as a {@code short}.
+ */
+public final class CurrencyCodes {
+
+    public static final int CODE_SPACE = 26 * 26 * 26;
+
+    // Decoded codes, filled on first use, so decoding the same code again does not allocate.
+    private static final String[] DECODED = new String[CODE_SPACE];
+
+    private CurrencyCodes() {
+    }
+
+    /**
+     * The packed code of a three-letter upper-case currency, or -1 for anything else.
+     */
+    public static int code(String currency) {
+        if (currency == null || currency.length() != 3) {
+            return -1;
+        }
+        int code = 0;
+        for (int i = 0; i < 3; i++) {
+            int letter = currency.charAt(i) - 'A';
+            if (letter < 0 || letter >= 26) {
+                return -1;
+            }
+            code = code * 26 + letter;
+        }
+        return code;
+    }
+
+    /**
+     * The currency {@link #code(String)} packed.
+     */
+    public static String currency(int code) {
+        String currency = DECODED[code];
+        if (currency == null) {
+            currency = new String(new char[]{(char) ('A' + code / 676), (char) ('A' + code / 26 % 26), (char) ('A' + code % 26)});
+            DECODED[code] = currency;
+        }
+        return currency;
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.fxdealsimporter.dedup;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.fxdealsimporter.config.DealDedupProperties;
+import org.example.fxdealsimporter.dto.DedupIndexStats;
+import org.example.fxdealsimporter.repository.DealBatchRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DealIdIndex {
+
+    private final DealBatchRepository dealBatchRepository;
+    private final DealDedupProperties dedupProperties;
+
+    private final LongAdder possibleHits = new LongAdder();
+    private final LongAdder definiteMisses = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    private volatile BloomFilter filter;
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!dedupProperties.isEnabled()) {
+            log.info("Deal ID dedup index is disabled");
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        ready = false;
+        long existing = dealBatchRepository.count();
+        BloomFilter bloomFilter = new BloomFilter(
+            Math.max(dedupProperties.getExpectedInsertions(), existing * 2),
+            dedupProperties.getFalsePositiveRate());
+        filter = bloomFilter;
+
+        int pageSize = Math.max(1, dedupProperties.getLoadPageSize());
+        for (int shard = 0; shard < dealBatchRepository.shardCount(); shard++) {
+            String lastId = null;
+            List<String> page;
+            do {
+                page = dealBatchRepository.findIdsAfter(shard, lastId, pageSize);
+                page.forEach(bloomFilter::add);
+                if (!page.isEmpty()) {
+                    lastId = page.get(page.size() - 1);
+                }
+            } while (page.size() == pageSize);
+        }
+
+        ready = true;
+        log.info("Deal ID dedup index built with {} IDs in {} ms ({} bits, {} hash functions)",
+            bloomFilter.getInsertions(), System.currentTimeMillis() - started,
+            bloomFilter.getBitSize(), bloomFilter.getHashFunctions());
+    }
+
+    public boolean mightContain(String dealUniqueId) {
+        if (!ready) {
+            return true;
+        }
+        if (filter.mightContain(dealUniqueId)) {
+            possibleHits.increment();
+            return true;
+        }
+        definiteMisses.increment();
+        return false;
+    }
+
+    public void add(String dealUniqueId) {
+        BloomFilter current = filter;
+        if (current != null) {
+            current.add(dealUniqueId);
+        }
+    }
+
+    public void recordFalsePositives(int count) {
+        if (ready && count > 0) {
+            falsePositives.add(count);
+        }
+    }
+
+    public DedupIndexStats stats() {
+        BloomFilter current = filter;
+        return DedupIndexStats.builder()
+            .enabled(dedupProperties.isEnabled())
+            .ready(ready)
+            .bitSize(current != null ? current.getBitSize() : 0)
+            .hashFunctions(current != null ? current.getHashFunctions() : 0)
+            .insertions(current != null ? current.getInsertions() : 0)
+            .expectedFalsePositiveRate(current != null ? current.expectedFalsePositiveRate() : 0)
+            .possibleHits(possibleHits.sum())
+            .definiteMisses(definiteMisses.sum())
+            .falsePositives(falsePositives.sum())
+            .build();
+    }
+}
@@ -1,5 +1,7 @@
 package org.example.fxdealsimporter.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,6 +17,7 @@ public class BatchImportResponse {
     private int totalDeals;
     private int successfulDeals;
     private int failedDeals;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<DealResponse> successfulImports;
     private List<DealError> errors;
     
@@ -25,5 +28,9 @@ public class BatchImportResponse {
     public static class DealError {
         private String dealUniqueId;
         private String errorMessage;
+        // The deal failed for a reason other than being invalid or a duplicate, e.g. the database was unavailable,
+        // so resubmitting it may succeed.
+        @JsonIgnore
+        private boolean retriable;
     }
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package org.example.fxdealsimporter.dto;
+
+public enum BatchResponseMode {
+    FULL,
+    COMPACT,
+    NDJSON
+}
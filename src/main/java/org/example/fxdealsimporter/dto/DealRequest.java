@@ -1,6 +1,5 @@
 package org.example.fxdealsimporter.dto;
 
-import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,24 +14,13 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class DealRequest {
     
-    @NotBlank(message = "Deal unique ID is required")
     private String dealUniqueId;
     
-    @NotBlank(message = "From currency ISO code is required")
-    @Size(min = 3, max = 3, message = "From currency must be 3 characters")
-    @Pattern(regexp = "^[A-Z]{3}$", message = "From currency must be 3 uppercase letters")
     private String fromCurrencyIsoCode;
     
-    @NotBlank(message = "To currency ISO code is required")
-    @Size(min = 3, max = 3, message = "To currency must be 3 characters")
-    @Pattern(regexp = "^[A-Z]{3}$", message = "To currency must be 3 uppercase letters")
     private String toCurrencyIsoCode;
     
-    @NotNull(message = "Deal timestamp is required")
     private LocalDateTime dealTimestamp;
     
-    @NotNull(message = "Deal amount is required")
-    @DecimalMin(value = "0.0", inclusive = false, message = "Deal amount must be positive")
-    @Digits(integer = 15, fraction = 2, message = "Deal amount format is invalid")
     private BigDecimal dealAmount;
-}
\ No newline at end of file
+}
@@ -0,0 +1,24 @@
+package org.example.fxdealsimporter.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DealSearchCriteria {
+    private String fromCurrencyIsoCode;
+    private String toCurrencyIsoCode;
+    private LocalDateTime fromTimestamp;
+    private LocalDateTime toTimestamp;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+    private String cursor;
+    private Integer limit;
+}
@@ -0,0 +1,38 @@
+package org.example.fxdealsimporter.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.fxdealsimporter.exception.InvalidSearchException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DealSearchCursor {
+
+    private LocalDateTime dealTimestamp;
+    private String dealUniqueId;
+
+    public String encode() {
+        String key = dealTimestamp + "|" + dealUniqueId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static DealSearchCursor decode(String cursor) {
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = key.indexOf('|');
+            if (separator < 0) {
+                throw new InvalidSearchException("Invalid cursor: " + cursor);
+            }
+            return new DealSearchCursor(LocalDateTime.parse(key.substring(0, separator)), key.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidSearchException("Invalid cursor: " + cursor);
+        }
+    }
+}
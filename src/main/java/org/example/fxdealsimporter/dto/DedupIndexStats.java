@@ -0,0 +1,22 @@
+package org.example.fxdealsimporter.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DedupIndexStats {
+    private boolean enabled;
+    private boolean ready;
+    private long bitSize;
+    private int hashFunctions;
+    private long insertions;
+    private double expectedFalsePositiveRate;
+    private long possibleHits;
+    private long definiteMisses;
+    private long falsePositives;
+}
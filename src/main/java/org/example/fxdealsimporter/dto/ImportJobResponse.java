@@ -0,0 +1,26 @@
+package org.example.fxdealsimporter.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.fxdealsimporter.entity.ImportJobStatus;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobResponse {
+    private String jobId;
+    private ImportJobStatus status;
+    private int totalDeals;
+    private int processedDeals;
+    private int successfulDeals;
+    private int failedDeals;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private BatchImportResponse result;
+}
@@ -0,0 +1,16 @@
+package org.example.fxdealsimporter.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportSummary {
+    private long totalDeals;
+    private long successfulDeals;
+    private long failedDeals;
+}
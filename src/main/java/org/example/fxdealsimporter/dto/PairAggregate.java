@@ -0,0 +1,35 @@
+package org.example.fxdealsimporter.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PairAggregate {
+    private String fromCurrencyIsoCode;
+    private String toCurrencyIsoCode;
+    private long dealCount;
+    private BigDecimal notional;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<Bucket> buckets;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bucket {
+        private LocalDateTime start;
+        private long dealCount;
+        private BigDecimal notional;
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.fxdealsimporter.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShardRebalanceReport {
+    private int shardCount;
+    private long scannedDeals;
+    private long movedDeals;
+    // Deals stored on each shard once the rebalance finished, by shard index.
+    private List<Long> dealsPerShard;
+    private long durationMillis;
+}
@@ -4,7 +4,10 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -15,7 +18,7 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class Deal {
+public class Deal implements Persistable<String> {
     
     @Id
     @Column(name = "deal_unique_id")
@@ -36,8 +39,29 @@ public class Deal {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean persisted;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
     }
-}
\ No newline at end of file
+    
+    @PostPersist
+    @PostLoad
+    protected void markPersisted() {
+        persisted = true;
+    }
+    
+    @Override
+    public String getId() {
+        return dealUniqueId;
+    }
+    
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+}
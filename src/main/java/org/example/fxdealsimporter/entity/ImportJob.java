@@ -0,0 +1,66 @@
+package org.example.fxdealsimporter.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "import_jobs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJob {
+
+    @Id
+    @Column(name = "job_id", length = 36)
+    private String jobId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private ImportJobStatus status;
+
+    @Column(name = "total_deals", nullable = false)
+    private int totalDeals;
+
+    @Column(name = "processed_deals", nullable = false)
+    private int processedDeals;
+
+    @Column(name = "successful_deals", nullable = false)
+    private int successfulDeals;
+
+    @Column(name = "failed_deals", nullable = false)
+    private int failedDeals;
+
+    @Lob
+    @Column(name = "request_payload", nullable = false)
+    private String requestPayload;
+
+    @Lob
+    @Column(name = "result_payload")
+    private String resultPayload;
+
+    @Column(name = "error_message", length = 1024)
+    private String errorMessage;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
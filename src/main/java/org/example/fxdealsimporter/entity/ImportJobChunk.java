@@ -0,0 +1,51 @@
+package org.example.fxdealsimporter.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * One chunk of an import job. The row is written before the chunk is imported and gets its result in the same
+ * transaction that advances the job's counters, so a chunk without a result is one a restart interrupted. The IDs of
+ * its deals that were already stored when it was claimed tell a resume which of the stored deals are its own inserts.
+ */
+@Entity
+@Table(name = "import_job_chunks")
+@IdClass(ImportJobChunk.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobChunk {
+
+    @Id
+    @Column(name = "job_id", length = 36)
+    private String jobId;
+
+    @Id
+    @Column(name = "first_deal")
+    private int firstDeal;
+
+    @Column(name = "deal_count", nullable = false)
+    private int dealCount;
+
+    @Lob
+    @Column(name = "existing_ids", nullable = false)
+    private String existingIds;
+
+    @Lob
+    @Column(name = "result_payload")
+    private String resultPayload;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String jobId;
+        private int firstDeal;
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.fxdealsimporter.entity;
+
+public enum ImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
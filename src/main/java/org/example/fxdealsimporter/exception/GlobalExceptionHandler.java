@@ -1,24 +1,38 @@
 package org.example.fxdealsimporter.exception;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.fxdealsimporter.config.DealImportProperties;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.validation.FieldError;
-import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 @RestControllerAdvice
+@RequiredArgsConstructor
 @Slf4j
 public class GlobalExceptionHandler {
     
+    private static final long CLIENT_ERROR_LOG_WINDOW_NANOS = TimeUnit.MINUTES.toNanos(1);
+    
+    private final DealImportProperties importProperties;
+    
+    private final AtomicLong clientErrorWindowStart = new AtomicLong(System.nanoTime());
+    private final AtomicInteger clientErrorsInWindow = new AtomicInteger();
+    private final AtomicInteger suppressedClientErrors = new AtomicInteger();
+    
     @ExceptionHandler(DuplicateDealException.class)
     public ResponseEntity<Map<String, Object>> handleDuplicateDeal(DuplicateDealException ex) {
-        log.error("Duplicate deal error: {}", ex.getMessage());
+        logClientError("Duplicate deal error", ex);
         Map<String, Object> error = new HashMap<>();
         error.put("timestamp", LocalDateTime.now());
         error.put("status", HttpStatus.CONFLICT.value());
@@ -27,28 +41,20 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
     
-    @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<Map<String, Object>> handleValidationExceptions(MethodArgumentNotValidException ex) {
-        log.error("Validation error: {}", ex.getMessage());
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<Map<String, Object>> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        logClientError("Request parameter error", ex);
         Map<String, Object> error = new HashMap<>();
-        Map<String, String> validationErrors = new HashMap<>();
-        
-        ex.getBindingResult().getAllErrors().forEach((err) -> {
-            String fieldName = ((FieldError) err).getField();
-            String errorMessage = err.getDefaultMessage();
-            validationErrors.put(fieldName, errorMessage);
-        });
-        
         error.put("timestamp", LocalDateTime.now());
         error.put("status", HttpStatus.BAD_REQUEST.value());
-        error.put("error", "Validation Failed");
-        error.put("validationErrors", validationErrors);
+        error.put("error", "Invalid Parameter");
+        error.put("message", "Invalid value '" + ex.getValue() + "' for parameter " + ex.getName());
         return ResponseEntity.badRequest().body(error);
     }
     
     @ExceptionHandler(InvalidCurrencyException.class)
     public ResponseEntity<Map<String, Object>> handleInvalidCurrency(InvalidCurrencyException ex) {
-        log.error("Invalid currency error: {}", ex.getMessage());
+        logClientError("Invalid currency error", ex);
         Map<String, Object> error = new HashMap<>();
         error.put("timestamp", LocalDateTime.now());
         error.put("status", HttpStatus.BAD_REQUEST.value());
@@ -59,7 +65,7 @@ public class GlobalExceptionHandler {
     
     @ExceptionHandler(InvalidDealException.class)
     public ResponseEntity<Map<String, Object>> handleInvalidDeal(InvalidDealException ex) {
-        log.error("Invalid deal error: {}", ex.getMessage());
+        logClientError("Invalid deal error", ex);
         Map<String, Object> error = new HashMap<>();
         error.put("timestamp", LocalDateTime.now());
         error.put("status", HttpStatus.BAD_REQUEST.value());
@@ -68,6 +74,98 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(error);
     }
     
+    @ExceptionHandler(InvalidSearchException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidSearch(InvalidSearchException ex) {
+        logClientError("Invalid search error", ex);
+        Map<String, Object> error = new HashMap<>();
+        error.put("timestamp", LocalDateTime.now());
+        error.put("status", HttpStatus.BAD_REQUEST.value());
+        error.put("error", "Invalid Search");
+        error.put("message", ex.getMessage());
+        return ResponseEntity.badRequest().body(error);
+    }
+    
+    @ExceptionHandler(ImportJobNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handleImportJobNotFound(ImportJobNotFoundException ex) {
+        logClientError("Import job error", ex);
+        Map<String, Object> error = new HashMap<>();
+        error.put("timestamp", LocalDateTime.now());
+        error.put("status", HttpStatus.NOT_FOUND.value());
+        error.put("error", "Import Job Not Found");
+        error.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+    
+    @ExceptionHandler(ImportCapacityExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleImportCapacityExceeded(ImportCapacityExceededException ex) {
+        logClientError("Import capacity error", ex);
+        Map<String, Object> error = new HashMap<>();
+        error.put("timestamp", LocalDateTime.now());
+        error.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        error.put("error", "Too Many Requests");
+        error.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(error);
+    }
+    
+    @ExceptionHandler(ShardRebalanceInProgressException.class)
+    public ResponseEntity<Map<String, Object>> handleShardRebalanceInProgress(ShardRebalanceInProgressException ex) {
+        logClientError("Shard rebalance error", ex);
+        Map<String, Object> error = new HashMap<>();
+        error.put("timestamp", LocalDateTime.now());
+        error.put("status", HttpStatus.CONFLICT.value());
+        error.put("error", "Rebalance In Progress");
+        error.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+    
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<Map<String, Object>> handleIdempotencyKeyReused(IdempotencyKeyReusedException ex) {
+        logClientError("Idempotency key error", ex);
+        Map<String, Object> error = new HashMap<>();
+        error.put("timestamp", LocalDateTime.now());
+        error.put("status", HttpStatus.UNPROCESSABLE_ENTITY.value());
+        error.put("error", "Idempotency Key Reused");
+        error.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(error);
+    }
+    
+    @ExceptionHandler(RequestBodyTooLargeException.class)
+    public ResponseEntity<Map<String, Object>> handleRequestBodyTooLarge(RequestBodyTooLargeException ex) {
+        logClientError("Request body error", ex);
+        Map<String, Object> error = new HashMap<>();
+        error.put("timestamp", LocalDateTime.now());
+        error.put("status", HttpStatus.PAYLOAD_TOO_LARGE.value());
+        error.put("error", "Payload Too Large");
+        error.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(error);
+    }
+    
+    @ExceptionHandler(MalformedRequestBodyException.class)
+    public ResponseEntity<Map<String, Object>> handleMalformedRequestBody(MalformedRequestBodyException ex) {
+        logClientError("Request body error", ex);
+        Map<String, Object> error = new HashMap<>();
+        error.put("timestamp", LocalDateTime.now());
+        error.put("status", HttpStatus.BAD_REQUEST.value());
+        error.put("error", "Malformed Request Body");
+        error.put("message", ex.getMessage());
+        return ResponseEntity.badRequest().body(error);
+    }
+    
+    // Message converters wrap errors from the body stream, so the gzip filter's exceptions arrive as a cause. Anything
+    // else is a body that is not a deal, which is the client's error too.
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<Map<String, Object>> handleNotReadable(HttpMessageNotReadableException ex) {
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof RequestBodyTooLargeException tooLarge) {
+                return handleRequestBodyTooLarge(tooLarge);
+            }
+            if (cause instanceof MalformedRequestBodyException malformed) {
+                return handleMalformedRequestBody(malformed);
+            }
+        }
+        return handleMalformedRequestBody(new MalformedRequestBodyException("Request body could not be read", ex));
+    }
+    
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleGenericException(Exception ex) {
         log.error("Unexpected error: {}", ex.getMessage(), ex);
@@ -78,4 +176,24 @@ public class GlobalExceptionHandler {
         error.put("message", "An unexpected error occurred");
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
     }
+    
+    // Client errors are part of normal traffic: only the first deals.import.max-logged-failures a minute are logged
+    // at WARN, the rest at DEBUG, with one line counting them when the next minute starts.
+    private void logClientError(String description, Exception ex) {
+        long now = System.nanoTime();
+        long windowStart = clientErrorWindowStart.get();
+        if (now - windowStart > CLIENT_ERROR_LOG_WINDOW_NANOS && clientErrorWindowStart.compareAndSet(windowStart, now)) {
+            clientErrorsInWindow.set(0);
+            int suppressed = suppressedClientErrors.getAndSet(0);
+            if (suppressed > 0) {
+                log.warn("{} more client errors in the last minute were logged at DEBUG", suppressed);
+            }
+        }
+        if (clientErrorsInWindow.incrementAndGet() <= importProperties.getMaxLoggedFailures()) {
+            log.warn("{}: {}", description, ex.getMessage());
+        } else {
+            suppressedClientErrors.incrementAndGet();
+            log.debug("{}: {}", description, ex.getMessage());
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package org.example.fxdealsimporter.exception;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
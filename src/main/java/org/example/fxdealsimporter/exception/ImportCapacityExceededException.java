@@ -0,0 +1,7 @@
+package org.example.fxdealsimporter.exception;
+
+public class ImportCapacityExceededException extends RuntimeException {
+    public ImportCapacityExceededException(String message) {
+        super(message);
+    }
+}
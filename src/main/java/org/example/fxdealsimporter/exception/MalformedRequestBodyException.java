@@ -0,0 +1,13 @@
+package org.example.fxdealsimporter.exception;
+
+import java.io.IOException;
+
+/**
+ * Thrown while reading a request body whose content encoding is corrupt or truncated. An {@link IOException}
+ * so it can surface from the body's input stream.
+ */
+public class MalformedRequestBodyException extends IOException {
+    public MalformedRequestBodyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.fxdealsimporter.exception;
+
+import java.io.IOException;
+
+/**
+ * Thrown while reading a request body that decompresses beyond the configured limit. An {@link IOException}
+ * so it can surface from the body's input stream.
+ */
+public class RequestBodyTooLargeException extends IOException {
+    public RequestBodyTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.fxdealsimporter.exception;
+
+public class ShardRebalanceInProgressException extends RuntimeException {
+    public ShardRebalanceInProgressException(String message) {
+        super(message);
+    }
+}
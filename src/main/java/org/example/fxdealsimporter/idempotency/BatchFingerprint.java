@@ -0,0 +1,54 @@
+package org.example.fxdealsimporter.idempotency;
+
+import org.example.fxdealsimporter.dto.DealRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * SHA-256 over the fields of every deal in a batch, used as the idempotency key when the client does not send one.
+ */
+public final class BatchFingerprint {
+
+    private static final byte FIELD_SEPARATOR = 0;
+    private static final byte DEAL_SEPARATOR = 1;
+    private static final byte NULL_FIELD = 2;
+
+    private BatchFingerprint() {
+    }
+
+    public static String of(List<DealRequest> dealRequests) {
+        MessageDigest digest = sha256();
+        for (DealRequest dealRequest : dealRequests) {
+            if (dealRequest != null) {
+                update(digest, dealRequest.getDealUniqueId());
+                update(digest, dealRequest.getFromCurrencyIsoCode());
+                update(digest, dealRequest.getToCurrencyIsoCode());
+                update(digest, dealRequest.getDealTimestamp());
+                update(digest, dealRequest.getDealAmount());
+            }
+            digest.update(DEAL_SEPARATOR);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, Object value) {
+        if (value == null) {
+            digest.update(NULL_FIELD);
+        } else {
+            digest.update(value.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update(FIELD_SEPARATOR);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
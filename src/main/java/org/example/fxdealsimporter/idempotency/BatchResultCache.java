@@ -0,0 +1,170 @@
+package org.example.fxdealsimporter.idempotency;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.fxdealsimporter.config.DealImportProperties;
+import org.example.fxdealsimporter.dto.BatchImportResponse;
+import org.example.fxdealsimporter.exception.IdempotencyKeyReusedException;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of completed batch results with a TTL. Identical submissions that arrive while the first
+ * one is still running wait for it instead of importing the batch again.
+ * <p>
+ * Each entry remembers the fingerprint of the batch that produced it, so a key reused for a different batch is
+ * rejected rather than answered with the other batch's result. The cache holds at most
+ * {@code deals.import.idempotency.max-entries} results and {@code max-deals} per-deal entries across them; a
+ * result larger than that on its own is not cached. Neither is a result with a deal that failed for a reason other
+ * than being invalid or a duplicate, so resubmitting a batch after a database outage imports it again.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BatchResultCache {
+
+    private final DealImportProperties importProperties;
+
+    private final Map<String, InFlightImport> inFlight = new ConcurrentHashMap<>();
+    private final LinkedHashMap<String, CachedResult> completed = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedDeals;
+
+    /**
+     * Returns the result cached under {@code key}, or runs {@code importer} and caches its result.
+     *
+     * @throws IdempotencyKeyReusedException if {@code key} belongs to a batch with a different fingerprint
+     */
+    public BatchImportResponse getOrImport(String key, String fingerprint, Supplier<BatchImportResponse> importer) {
+        if (!importProperties.getIdempotency().isEnabled()) {
+            return importer.get();
+        }
+        BatchImportResponse cached = lookup(key, fingerprint);
+        if (cached != null) {
+            log.info("Returning cached result for replayed batch {}", key);
+            return cached;
+        }
+
+        InFlightImport execution = new InFlightImport(fingerprint, new CompletableFuture<>());
+        InFlightImport running = inFlight.putIfAbsent(key, execution);
+        if (running != null) {
+            checkFingerprint(key, running.fingerprint, fingerprint);
+            log.info("Waiting for in-flight import of identical batch {}", key);
+            return await(running.result);
+        }
+        try {
+            // The first execution may have finished between the lookup and taking the in-flight slot.
+            BatchImportResponse result = lookup(key, fingerprint);
+            if (result == null) {
+                result = importer.get();
+                store(key, fingerprint, result);
+            }
+            execution.result.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            execution.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, execution);
+        }
+    }
+
+    private BatchImportResponse lookup(String key, String fingerprint) {
+        synchronized (completed) {
+            CachedResult cached = completed.get(key);
+            if (cached == null) {
+                return null;
+            }
+            if (System.nanoTime() - cached.expiresAt > 0) {
+                completed.remove(key);
+                cachedDeals -= cached.deals;
+                return null;
+            }
+            checkFingerprint(key, cached.fingerprint, fingerprint);
+            return cached.response;
+        }
+    }
+
+    private void store(String key, String fingerprint, BatchImportResponse response) {
+        DealImportProperties.Idempotency settings = importProperties.getIdempotency();
+        if (response.getErrors() != null
+                && response.getErrors().stream().anyMatch(BatchImportResponse.DealError::isRetriable)) {
+            log.debug("Not caching result of batch {}: some deals failed for a reason other than being invalid "
+                + "or duplicates", key);
+            return;
+        }
+        int deals = cachedDeals(response);
+        if (deals > settings.getMaxDeals()) {
+            log.debug("Not caching result of batch {}: {} deal entries exceed the cache limit", key, deals);
+            return;
+        }
+        CachedResult entry = new CachedResult(fingerprint, response, deals,
+            System.nanoTime() + settings.getTtl().toNanos());
+        synchronized (completed) {
+            CachedResult replaced = completed.put(key, entry);
+            cachedDeals += deals - (replaced != null ? replaced.deals : 0);
+            Iterator<CachedResult> eldest = completed.values().iterator();
+            while (completed.size() > Math.max(0, settings.getMaxEntries()) || cachedDeals > settings.getMaxDeals()) {
+                cachedDeals -= eldest.next().deals;
+                eldest.remove();
+            }
+        }
+    }
+
+    // Every result counts as at least one deal so that empty batches are still bounded by max-deals.
+    private static int cachedDeals(BatchImportResponse response) {
+        return Math.max(1, sizeOf(response.getSuccessfulImports()) + sizeOf(response.getErrors()));
+    }
+
+    private static int sizeOf(List<?> list) {
+        return list != null ? list.size() : 0;
+    }
+
+    private static void checkFingerprint(String key, String expected, String actual) {
+        if (!expected.equals(actual)) {
+            throw new IdempotencyKeyReusedException("Idempotency key " + key + " was already used for a different batch");
+        }
+    }
+
+    private static BatchImportResponse await(CompletableFuture<BatchImportResponse> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class InFlightImport {
+        private final String fingerprint;
+        private final CompletableFuture<BatchImportResponse> result;
+
+        private InFlightImport(String fingerprint, CompletableFuture<BatchImportResponse> result) {
+            this.fingerprint = fingerprint;
+            this.result = result;
+        }
+    }
+
+    private static final class CachedResult {
+        private final String fingerprint;
+        private final BatchImportResponse response;
+        private final int deals;
+        private final long expiresAt;
+
+        private CachedResult(String fingerprint, BatchImportResponse response, int deals, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.response = response;
+            this.deals = deals;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package org.example.fxdealsimporter.ingestion;
+
+/**
+ * A source that pulls deals from outside the HTTP API and feeds them to the import pipeline.
+ */
+public interface DealIngestionSource {
+    String getName();
+    void start();
+    void stop() throws InterruptedException;
+    boolean isRunning();
+    long getImportedDeals();
+}
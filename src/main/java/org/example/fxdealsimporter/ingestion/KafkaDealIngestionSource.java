@@ -0,0 +1,261 @@
+package org.example.fxdealsimporter.ingestion;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.CommitFailedException;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.InterruptException;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.example.fxdealsimporter.config.DealImportProperties;
+import org.example.fxdealsimporter.dto.DealRequest;
+import org.example.fxdealsimporter.metrics.DealImportMetrics;
+import org.example.fxdealsimporter.metrics.DealImportMetrics.Outcome;
+import org.example.fxdealsimporter.service.IDealService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Consumes JSON deals from a Kafka topic in batches of up to {@code deals.import.kafka.max-poll-records}. Offsets
+ * are committed only after {@link IDealService#importGroup} returns, i.e. after the rows are committed, so delivery
+ * is at-least-once: a redelivered deal comes back as a duplicate on {@code deal_unique_id} and is skipped. If the
+ * import throws, or any deal failed for a reason other than being a duplicate or invalid, the consumer seeks back to
+ * the start of the batch and retries it after {@code deals.import.kafka.retry-backoff}. Broker errors are retried
+ * after the same backoff; only {@link #stop()} ends the consumer. Malformed messages are logged and skipped.
+ * <p>
+ * Broker connection settings come from the standard {@code spring.kafka.*} properties.
+ */
+@Component
+@Slf4j
+public class KafkaDealIngestionSource implements DealIngestionSource {
+
+    private final ConsumerFactory<?, ?> consumerFactory;
+    private final IDealService dealService;
+    private final ObjectReader dealReader;
+    private final DealImportProperties importProperties;
+
+    private final LongAdder importedDeals = new LongAdder();
+    private final LongAdder rejectedDeals = new LongAdder();
+    private final LongAdder malformedMessages = new LongAdder();
+
+    private Thread poller;
+    private volatile Consumer<String, String> consumer;
+    private volatile boolean running;
+    private volatile CountDownLatch stopSignal;
+
+    public KafkaDealIngestionSource(ConsumerFactory<?, ?> consumerFactory, IDealService dealService,
+                                    ObjectMapper objectMapper, DealImportProperties importProperties) {
+        this.consumerFactory = consumerFactory;
+        this.dealService = dealService;
+        this.dealReader = objectMapper.readerFor(DealRequest.class);
+        this.importProperties = importProperties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startIfEnabled() {
+        if (importProperties.getKafka().isEnabled()) {
+            start();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "kafka:" + importProperties.getKafka().getTopic();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (poller != null) {
+            return;
+        }
+        running = true;
+        stopSignal = new CountDownLatch(1);
+        poller = new Thread(this::pollLoop, "deal-kafka-consumer");
+        poller.setDaemon(true);
+        poller.start();
+        log.info("Started deal ingestion from {}", getName());
+    }
+
+    @PreDestroy
+    @Override
+    public synchronized void stop() throws InterruptedException {
+        if (poller == null) {
+            return;
+        }
+        running = false;
+        stopSignal.countDown();
+        // The consumer is not interrupted: an interrupt racing with close() would make it skip leaving the group.
+        Consumer<String, String> current = consumer;
+        if (current != null) {
+            current.wakeup();
+        }
+        poller.join();
+        poller = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public long getImportedDeals() {
+        return importedDeals.sum();
+    }
+
+    public long getRejectedDeals() {
+        return rejectedDeals.sum();
+    }
+
+    public long getMalformedMessages() {
+        return malformedMessages.sum();
+    }
+
+    private void pollLoop() {
+        DealImportProperties.Kafka kafka = importProperties.getKafka();
+        Consumer<String, String> kafkaConsumer = createConsumer(kafka);
+        consumer = kafkaConsumer;
+        try {
+            kafkaConsumer.subscribe(List.of(kafka.getTopic()));
+            while (running) {
+                try {
+                    if (!pollOnce(kafkaConsumer, kafka)) {
+                        backOff(kafka);
+                    }
+                } catch (WakeupException | InterruptException e) {
+                    throw e;
+                } catch (RuntimeException e) {
+                    // Broker timeouts and other client errors: the consumer re-polls from its current position.
+                    log.warn("Kafka deal ingestion from {} failed, retrying in {} ms: {}",
+                        getName(), kafka.getRetryBackoff().toMillis(), e.getMessage());
+                    backOff(kafka);
+                }
+            }
+        } catch (WakeupException | InterruptException e) {
+            // stop() was called
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            consumer = null;
+            running = false;
+            kafkaConsumer.close();
+        }
+    }
+
+    private void backOff(DealImportProperties.Kafka kafka) throws InterruptedException {
+        stopSignal.await(kafka.getRetryBackoff().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // Returns false when the batch has been rewound for a retry.
+    private boolean pollOnce(Consumer<String, String> kafkaConsumer, DealImportProperties.Kafka kafka) {
+        ConsumerRecords<String, String> records = kafkaConsumer.poll(kafka.getPollTimeout());
+        if (records.isEmpty()) {
+            return true;
+        }
+        if (!importRecords(records)) {
+            rewind(kafkaConsumer, records);
+            return false;
+        }
+        commit(kafkaConsumer);
+        return true;
+    }
+
+    private boolean importRecords(ConsumerRecords<String, String> records) {
+        List<DealRequest> deals = new ArrayList<>(records.count());
+        for (ConsumerRecord<String, String> record : records) {
+            DealRequest deal = parse(record);
+            if (deal != null) {
+                deals.add(deal);
+            }
+        }
+        if (deals.isEmpty()) {
+            return true;
+        }
+
+        RuntimeException[] failures = new RuntimeException[deals.size()];
+        try {
+            dealService.importGroup(deals, null, failures);
+        } catch (RuntimeException e) {
+            log.warn("Import of {} deals from {} failed, will retry: {}", deals.size(), getName(), e.getMessage());
+            return false;
+        }
+        int imported = 0;
+        RuntimeException retriable = null;
+        for (RuntimeException failure : failures) {
+            if (failure == null) {
+                imported++;
+            } else if (DealImportMetrics.outcomeOf(failure) == Outcome.FAILED && retriable == null) {
+                retriable = failure;
+            }
+        }
+        // Deals imported now are redelivered as duplicates, so they are counted here rather than after the retry.
+        importedDeals.add(imported);
+        if (retriable != null) {
+            log.warn("{} of {} deals from {} were not imported, will retry the batch: {}",
+                deals.size() - imported, deals.size(), getName(), retriable.getMessage());
+            return false;
+        }
+        rejectedDeals.add(deals.size() - imported);
+        log.debug("Imported {} deals from {}: {} imported, {} rejected",
+            deals.size(), getName(), imported, deals.size() - imported);
+        return true;
+    }
+
+    private DealRequest parse(ConsumerRecord<String, String> record) {
+        String reason = "empty message";
+        if (record.value() != null) {
+            try {
+                return dealReader.readValue(record.value());
+            } catch (IOException e) {
+                reason = e.getMessage();
+            }
+        }
+        malformedMessages.increment();
+        log.warn("Skipping malformed deal message at {}-{}@{}: {}",
+            record.topic(), record.partition(), record.offset(), reason);
+        return null;
+    }
+
+    private void commit(Consumer<String, String> kafkaConsumer) {
+        try {
+            kafkaConsumer.commitSync();
+        } catch (CommitFailedException e) {
+            // The partitions were reassigned; the new owner re-reads from the last commit and the
+            // redelivered deals are dropped as duplicates.
+            log.warn("Offset commit for {} failed after rebalance: {}", getName(), e.getMessage());
+        }
+    }
+
+    private void rewind(Consumer<String, String> kafkaConsumer, ConsumerRecords<String, String> records) {
+        for (TopicPartition partition : records.partitions()) {
+            kafkaConsumer.seek(partition, records.records(partition).get(0).offset());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Consumer<String, String> createConsumer(DealImportProperties.Kafka kafka) {
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        overrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, kafka.getMaxPollRecords());
+        overrides.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        overrides.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        overrides.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        return (Consumer<String, String>) consumerFactory.createConsumer(kafka.getGroupId(), null, null, overrides);
+    }
+}
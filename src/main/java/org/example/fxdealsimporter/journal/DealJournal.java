@@ -0,0 +1,292 @@
+package org.example.fxdealsimporter.journal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.fxdealsimporter.config.DealImportProperties;
+import org.example.fxdealsimporter.config.DealImportProperties.IngestionMode;
+import org.example.fxdealsimporter.dto.DealRequest;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of accepted deals. Each record is {@code [length][crc32][json]}; appends are
+ * acknowledged once fsynced, and concurrent appenders share a single {@code force} call.
+ * Records go into segment files named after the journal position of their first byte, and a new segment is started
+ * once the current one reaches {@code deals.import.journal.segment-size}. A checkpoint file holds the position up to
+ * which records have been replayed into the database; segments wholly before it are deleted, so the journal stays
+ * bounded while the replay keeps up, even if writers never pause.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DealJournal {
+
+    private static final int HEADER_BYTES = 8;
+    private static final String SEGMENT_PREFIX = "deals-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String CHECKPOINT_FILE = "deals.checkpoint";
+
+    private final DealImportProperties importProperties;
+    private final ObjectMapper objectMapper;
+
+    private final Object appendLock = new Object();
+    private final Object syncLock = new Object();
+    private final ConcurrentSkipListMap<Long, FileChannel> segments = new ConcurrentSkipListMap<>();
+
+    private Path directory;
+    private Path checkpointFile;
+    private FileChannel activeSegment;
+    private long activeSegmentStart;
+    private long writePosition;
+    private volatile long durablePosition;
+    private volatile long checkpoint;
+
+    @PostConstruct
+    void open() throws IOException {
+        if (importProperties.getIngestionMode() != IngestionMode.JOURNAL) {
+            return;
+        }
+        directory = Path.of(importProperties.getJournal().getDirectory());
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(DealJournal::isSegment).toList()) {
+                segments.put(segmentStart(file), FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE));
+            }
+        }
+        checkpointFile = directory.resolve(CHECKPOINT_FILE);
+        checkpoint = Files.exists(checkpointFile) ? Long.parseLong(Files.readString(checkpointFile).trim()) : 0;
+        if (segments.isEmpty()) {
+            segments.put(checkpoint, createSegment(checkpoint));
+        }
+
+        Map.Entry<Long, FileChannel> last = segments.lastEntry();
+        activeSegmentStart = last.getKey();
+        activeSegment = last.getValue();
+        long end = activeSegmentStart + scanValidEnd(activeSegment);
+        if (end < activeSegmentStart + activeSegment.size()) {
+            log.warn("Truncating {} bytes of incomplete journal records", activeSegmentStart + activeSegment.size() - end);
+            activeSegment.truncate(end - activeSegmentStart);
+            activeSegment.force(true);
+        }
+        if (checkpoint < segments.firstKey() || checkpoint > end) {
+            log.warn("Journal checkpoint {} is outside the journal, replaying it from the start", checkpoint);
+            checkpoint = segments.firstKey();
+        }
+        writePosition = end;
+        durablePosition = end;
+        deleteReplayedSegments();
+        log.info("Deal journal opened at {} with {} bytes pending replay in {} segments",
+            directory, end - checkpoint, segments.size());
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        for (FileChannel segment : segments.values()) {
+            segment.close();
+        }
+        segments.clear();
+        activeSegment = null;
+    }
+
+    public boolean isOpen() {
+        return activeSegment != null;
+    }
+
+    public long getCheckpoint() {
+        return checkpoint;
+    }
+
+    public void append(DealRequest dealRequest) {
+        try {
+            byte[] payload = objectMapper.writeValueAsBytes(dealRequest);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + payload.length)
+                .putInt(payload.length)
+                .putInt((int) crc.getValue())
+                .put(payload)
+                .flip();
+
+            long end;
+            synchronized (appendLock) {
+                long segmentBytes = writePosition - activeSegmentStart;
+                if (segmentBytes > 0 && segmentBytes + record.limit() > importProperties.getJournal().getSegmentSize().toBytes()) {
+                    rollSegment();
+                }
+                long offset = writePosition - activeSegmentStart;
+                while (record.hasRemaining()) {
+                    activeSegment.write(record, offset + record.position());
+                }
+                writePosition += record.limit();
+                end = writePosition;
+            }
+            awaitDurable(end);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to journal deal " + dealRequest.getDealUniqueId(), e);
+        }
+    }
+
+    public JournalBatch read(int maxDeals) {
+        long position = checkpoint;
+        long end = durablePosition;
+        List<DealRequest> deals = new ArrayList<>();
+        List<Long> recordEnds = new ArrayList<>();
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (deals.size() < maxDeals && position + HEADER_BYTES <= end) {
+                Map.Entry<Long, FileChannel> segment = segments.floorEntry(position);
+                long offset = position - segment.getKey();
+                header.clear();
+                readFully(segment.getValue(), header, offset);
+                int length = header.getInt(0);
+                ByteBuffer payload = ByteBuffer.allocate(length);
+                readFully(segment.getValue(), payload, offset + HEADER_BYTES);
+                deals.add(objectMapper.readValue(payload.array(), DealRequest.class));
+                position += HEADER_BYTES + length;
+                recordEnds.add(position);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read deal journal", e);
+        }
+        return new JournalBatch(deals, recordEnds.stream().mapToLong(Long::longValue).toArray(), position);
+    }
+
+    /**
+     * Records that everything before {@code position} is in the database and deletes the segments that lie
+     * wholly before it. Must be called from the replaying thread only.
+     */
+    public void commit(long position) {
+        try {
+            writeCheckpoint(position);
+            checkpoint = position;
+            deleteReplayedSegments();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to checkpoint deal journal", e);
+        }
+    }
+
+    // The full segment is forced before the first record goes into the next one, so syncing only the active
+    // segment keeps every acknowledged record durable.
+    private void rollSegment() throws IOException {
+        activeSegment.force(false);
+        FileChannel next = createSegment(writePosition);
+        segments.put(writePosition, next);
+        activeSegment = next;
+        activeSegmentStart = writePosition;
+    }
+
+    // A segment has been replayed once the segment after it starts at or before the checkpoint; the active segment
+    // has no successor and is never deleted.
+    private void deleteReplayedSegments() throws IOException {
+        while (true) {
+            Long next = segments.higherKey(segments.firstKey());
+            if (next == null || next > checkpoint) {
+                return;
+            }
+            Map.Entry<Long, FileChannel> replayed = segments.pollFirstEntry();
+            replayed.getValue().close();
+            Files.deleteIfExists(segmentFile(replayed.getKey()));
+        }
+    }
+
+    private void awaitDurable(long position) throws IOException {
+        if (durablePosition >= position) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (durablePosition >= position) {
+                return;
+            }
+            long target;
+            FileChannel segment;
+            synchronized (appendLock) {
+                target = writePosition;
+                segment = activeSegment;
+            }
+            segment.force(false);
+            durablePosition = target;
+        }
+    }
+
+    // Returns the segment-relative end of its last intact record.
+    private long scanValidEnd(FileChannel segment) throws IOException {
+        long size = segment.size();
+        long position = 0;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (position + HEADER_BYTES <= size) {
+            header.clear();
+            readFully(segment, header, position);
+            int length = header.getInt(0);
+            if (length < 0 || position + HEADER_BYTES + length > size) {
+                break;
+            }
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            readFully(segment, payload, position + HEADER_BYTES);
+            CRC32 crc = new CRC32();
+            crc.update(payload.array());
+            if ((int) crc.getValue() != header.getInt(4)) {
+                break;
+            }
+            position += HEADER_BYTES + length;
+        }
+        return position;
+    }
+
+    private static void readFully(FileChannel segment, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (segment.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of deal journal segment at " + position);
+            }
+        }
+    }
+
+    private FileChannel createSegment(long start) throws IOException {
+        FileChannel segment = FileChannel.open(segmentFile(start),
+            StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // The new file's directory entry must be durable before records in it are acknowledged.
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            log.debug("Could not sync journal directory {}: {}", directory, e.getMessage());
+        }
+        return segment;
+    }
+
+    private Path segmentFile(long start) {
+        return directory.resolve(SEGMENT_PREFIX + String.format("%020d", start) + SEGMENT_SUFFIX);
+    }
+
+    private static boolean isSegment(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long segmentStart(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private void writeCheckpoint(long position) throws IOException {
+        Path temp = checkpointFile.resolveSibling(CHECKPOINT_FILE + ".tmp");
+        Files.writeString(temp, Long.toString(position), StandardCharsets.UTF_8);
+        Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
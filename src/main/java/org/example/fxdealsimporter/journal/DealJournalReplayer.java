@@ -0,0 +1,114 @@
+package org.example.fxdealsimporter.journal;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.fxdealsimporter.config.DealImportProperties;
+import org.example.fxdealsimporter.dto.DealRequest;
+import org.example.fxdealsimporter.metrics.DealImportMetrics;
+import org.example.fxdealsimporter.metrics.DealImportMetrics.Outcome;
+import org.example.fxdealsimporter.service.IDealService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Drains the deal journal into the deals table. Entries left over from before a restart, or behind a deal that
+ * failed transiently, are replayed again; deals that already reached the table come back as duplicates and are skipped.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DealJournalReplayer {
+
+    private final DealJournal dealJournal;
+    private final IDealService dealService;
+    private final DealImportProperties importProperties;
+
+    private Thread replayer;
+    private volatile boolean running;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!dealJournal.isOpen() || replayer != null) {
+            return;
+        }
+        running = true;
+        replayer = new Thread(this::replayLoop, "deal-journal-replay");
+        replayer.setDaemon(true);
+        replayer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (replayer == null) {
+            return;
+        }
+        running = false;
+        replayer.interrupt();
+        replayer.join();
+    }
+
+    /**
+     * Replays one batch of journaled deals. Imported, duplicate and invalid deals are settled for good; any other
+     * failure may pass on a retry, so the checkpoint stops in front of the first such deal. Returns false when
+     * there was nothing to replay or part of the batch has to be retried.
+     */
+    public boolean replayOnce() {
+        JournalBatch batch = dealJournal.read(Math.max(1, importProperties.getJournal().getReplayBatchSize()));
+        List<DealRequest> deals = batch.getDeals();
+        if (deals.isEmpty()) {
+            return false;
+        }
+        RuntimeException[] failures = new RuntimeException[deals.size()];
+        try {
+            dealService.importGroup(deals, null, failures);
+        } catch (RuntimeException e) {
+            log.warn("Journal replay of {} deals failed, will retry: {}", deals.size(), e.getMessage());
+            return false;
+        }
+        int settled = 0;
+        int imported = 0;
+        while (settled < deals.size()
+                && (failures[settled] == null || DealImportMetrics.outcomeOf(failures[settled]) != Outcome.FAILED)) {
+            if (failures[settled] == null) {
+                imported++;
+            }
+            settled++;
+        }
+        if (settled > 0) {
+            dealJournal.commit(batch.getRecordEnds()[settled - 1]);
+        }
+        log.info("Replayed {} journaled deals: {} imported, {} rejected", settled, imported, settled - imported);
+        if (settled < deals.size()) {
+            log.warn("Journal replay stopped at deal {}, will retry: {}",
+                deals.get(settled).getDealUniqueId(), failures[settled].getMessage());
+            return false;
+        }
+        return true;
+    }
+
+    private void replayLoop() {
+        long idleMillis = importProperties.getJournal().getReplayInterval().toMillis();
+        while (running) {
+            try {
+                if (!replayOnce()) {
+                    Thread.sleep(idleMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Journal replay failed: {}", e.getMessage(), e);
+                try {
+                    Thread.sleep(idleMillis);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
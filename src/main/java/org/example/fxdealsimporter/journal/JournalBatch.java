@@ -0,0 +1,16 @@
+package org.example.fxdealsimporter.journal;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.example.fxdealsimporter.dto.DealRequest;
+
+import java.util.List;
+
+@Getter
+@RequiredArgsConstructor
+public class JournalBatch {
+    private final List<DealRequest> deals;
+    // Journal position just after each deal's record, for checkpointing part of the batch.
+    private final long[] recordEnds;
+    private final long endPosition;
+}
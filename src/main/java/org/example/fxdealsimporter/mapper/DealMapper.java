@@ -4,10 +4,12 @@ import org.example.fxdealsimporter.dto.DealRequest;
 import org.example.fxdealsimporter.dto.DealResponse;
 import org.example.fxdealsimporter.entity.Deal;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
 public interface DealMapper {
     
+    @Mapping(target = "persisted", ignore = true)
     Deal toEntity(DealRequest request);
     
     DealResponse toResponse(Deal deal);
@@ -0,0 +1,39 @@
+package org.example.fxdealsimporter.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.example.fxdealsimporter.dedup.DealIdIndex;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class DealIdIndexMetrics implements MeterBinder {
+
+    private final DealIdIndex dealIdIndex;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("deals.dedup.lookups", dealIdIndex, index -> index.stats().getPossibleHits())
+            .description("Dedup index lookups by result")
+            .tag("result", "possible_hit")
+            .register(registry);
+        FunctionCounter.builder("deals.dedup.lookups", dealIdIndex, index -> index.stats().getDefiniteMisses())
+            .description("Dedup index lookups by result")
+            .tag("result", "definite_miss")
+            .register(registry);
+        FunctionCounter.builder("deals.dedup.lookups", dealIdIndex, index -> index.stats().getFalsePositives())
+            .description("Dedup index lookups by result")
+            .tag("result", "false_positive")
+            .register(registry);
+        Gauge.builder("deals.dedup.insertions", dealIdIndex, index -> index.stats().getInsertions())
+            .description("Deal IDs added to the dedup index")
+            .register(registry);
+        Gauge.builder("deals.dedup.expected.false.positive.rate", dealIdIndex,
+                index -> index.stats().getExpectedFalsePositiveRate())
+            .description("False positive rate expected from the current dedup index fill")
+            .register(registry);
+    }
+}
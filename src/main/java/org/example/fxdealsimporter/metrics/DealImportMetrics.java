@@ -0,0 +1,119 @@
+package org.example.fxdealsimporter.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.fxdealsimporter.dto.DealRequest;
+import org.example.fxdealsimporter.exception.DuplicateDealException;
+import org.example.fxdealsimporter.exception.InvalidCurrencyException;
+import org.example.fxdealsimporter.exception.InvalidDealException;
+import org.example.fxdealsimporter.service.Impl.CurrencyValidationService;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class DealImportMetrics {
+
+    public enum Stage {
+        DESERIALIZATION,
+        VALIDATION,
+        DUPLICATE_CHECK,
+        MAPPING,
+        PERSIST
+    }
+
+    /**
+     * Single imports time each stage per deal and batch imports per chunk (validation per batch), so their
+     * timings are tagged apart.
+     */
+    public enum Path {
+        SINGLE,
+        BATCH
+    }
+
+    public enum Outcome {
+        IMPORTED,
+        DUPLICATE,
+        INVALID,
+        FAILED
+    }
+
+    private static final String UNSUPPORTED_CURRENCY = "OTHER";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Path, Map<Stage, Timer>> stageTimers = new EnumMap<>(Path.class);
+    private final Map<Outcome, Map<String, Map<String, Counter>>> outcomeCounters = new EnumMap<>(Outcome.class);
+    private final DistributionSummary batchSizes;
+
+    public DealImportMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (Path path : Path.values()) {
+            Map<Stage, Timer> timers = new EnumMap<>(Stage.class);
+            for (Stage stage : Stage.values()) {
+                timers.put(stage, Timer.builder("deals.import.stage")
+                    .description("Time spent in each stage of the deal import pipeline, per deal or per batch chunk")
+                    .tag("stage", stage.name().toLowerCase(Locale.ROOT))
+                    .tag("path", path.name().toLowerCase(Locale.ROOT))
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            }
+            stageTimers.put(path, timers);
+        }
+        for (Outcome outcome : Outcome.values()) {
+            outcomeCounters.put(outcome, new ConcurrentHashMap<>());
+        }
+        batchSizes = DistributionSummary.builder("deals.import.batch.size")
+            .description("Number of deals per batch import request")
+            .baseUnit("deals")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    public void recordStage(Stage stage, Path path, long startNanos) {
+        stageTimers.get(path).get(stage).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordBatchSize(int size) {
+        batchSizes.record(size);
+    }
+
+    public void recordOutcome(Outcome outcome, DealRequest dealRequest) {
+        String from = dealRequest != null ? currencyTag(dealRequest.getFromCurrencyIsoCode()) : UNSUPPORTED_CURRENCY;
+        String to = dealRequest != null ? currencyTag(dealRequest.getToCurrencyIsoCode()) : UNSUPPORTED_CURRENCY;
+        Map<String, Counter> byTo = outcomeCounters.get(outcome).get(from);
+        if (byTo == null) {
+            byTo = outcomeCounters.get(outcome).computeIfAbsent(from, key -> new ConcurrentHashMap<>());
+        }
+        Counter counter = byTo.get(to);
+        if (counter == null) {
+            counter = byTo.computeIfAbsent(to, key -> Counter.builder("deals.import.deals")
+                .description("Deals processed by the import pipeline, by outcome and currency pair")
+                .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                .tag("from", from)
+                .tag("to", key)
+                .register(meterRegistry));
+        }
+        counter.increment();
+    }
+
+    public static Outcome outcomeOf(RuntimeException e) {
+        if (e instanceof DuplicateDealException) {
+            return Outcome.DUPLICATE;
+        }
+        if (e instanceof InvalidDealException || e instanceof InvalidCurrencyException) {
+            return Outcome.INVALID;
+        }
+        return Outcome.FAILED;
+    }
+
+    // Only supported codes become tag values, so arbitrary client input cannot blow up series cardinality.
+    private static String currencyTag(String currency) {
+        return CurrencyValidationService.isSupported(currency) ? currency : UNSUPPORTED_CURRENCY;
+    }
+}
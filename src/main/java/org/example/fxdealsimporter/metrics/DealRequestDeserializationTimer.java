@@ -0,0 +1,53 @@
+package org.example.fxdealsimporter.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.example.fxdealsimporter.dto.DealRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+@ControllerAdvice
+@RequiredArgsConstructor
+public class DealRequestDeserializationTimer extends RequestBodyAdviceAdapter {
+
+    private static final ThreadLocal<Long> STARTED = new ThreadLocal<>();
+
+    private final DealImportMetrics importMetrics;
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        ResolvableType type = ResolvableType.forType(targetType);
+        if (Collection.class.isAssignableFrom(type.toClass())) {
+            type = type.asCollection().getGeneric();
+        }
+        return type.toClass() == DealRequest.class;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) {
+        STARTED.set(System.nanoTime());
+        return inputMessage;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        Long started = STARTED.get();
+        if (started != null) {
+            STARTED.remove();
+            DealImportMetrics.Path path = Collection.class.isAssignableFrom(ResolvableType.forType(targetType).toClass())
+                ? DealImportMetrics.Path.BATCH
+                : DealImportMetrics.Path.SINGLE;
+            importMetrics.recordStage(DealImportMetrics.Stage.DESERIALIZATION, path, started);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,154 @@
+package org.example.fxdealsimporter.parser;
+
+import org.example.fxdealsimporter.dto.DealRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 CSV: fields may be quoted, with {@code ""} for a quote and line breaks allowed inside the quotes.
+ * Unquoted fields are trimmed.
+ */
+public class CsvDealFileReader implements DealFileReader {
+
+    private static final List<String> COLUMNS = List.of(
+        "dealUniqueId", "fromCurrencyIsoCode", "toCurrencyIsoCode", "dealTimestamp", "dealAmount"
+    );
+
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final BufferedReader reader;
+    private int[] columnIndexes = {0, 1, 2, 3, 4};
+    private long lineNumber;
+    private boolean firstRow = true;
+
+    public CsvDealFileReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public DealRow read() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (lineNumber == 1 && !line.isEmpty() && line.charAt(0) == BYTE_ORDER_MARK) {
+                line = line.substring(1);
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            long rowLineNumber = lineNumber;
+            String[] fields;
+            try {
+                fields = split(line);
+            } catch (IllegalArgumentException e) {
+                firstRow = false;
+                return DealRow.failed(rowLineNumber, null, "Malformed CSV row: " + e.getMessage());
+            }
+            // The header, if any, is the first non-blank line; leading blank lines do not turn it into a row.
+            boolean header = firstRow && COLUMNS.contains(fields[0]);
+            firstRow = false;
+            if (header) {
+                readHeader(fields);
+                continue;
+            }
+            return parse(rowLineNumber, fields);
+        }
+        return null;
+    }
+
+    private void readHeader(String[] fields) {
+        List<String> header = Arrays.asList(fields);
+        columnIndexes = new int[COLUMNS.size()];
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            columnIndexes[i] = header.indexOf(COLUMNS.get(i));
+        }
+    }
+
+    private DealRow parse(long rowLineNumber, String[] fields) {
+        String dealUniqueId = field(fields, 0);
+        try {
+            String timestamp = field(fields, 3);
+            String amount = field(fields, 4);
+            DealRequest dealRequest = DealRequest.builder()
+                .dealUniqueId(dealUniqueId)
+                .fromCurrencyIsoCode(field(fields, 1))
+                .toCurrencyIsoCode(field(fields, 2))
+                .dealTimestamp(timestamp != null ? LocalDateTime.parse(timestamp) : null)
+                .dealAmount(amount != null ? new BigDecimal(amount) : null)
+                .build();
+            return DealRow.parsed(rowLineNumber, dealRequest);
+        } catch (RuntimeException e) {
+            return DealRow.failed(rowLineNumber, dealUniqueId, "Malformed CSV row: " + e.getMessage());
+        }
+    }
+
+    private String field(String[] fields, int column) {
+        int index = columnIndexes[column];
+        if (index < 0 || index >= fields.length || fields[index].isEmpty()) {
+            return null;
+        }
+        return fields[index];
+    }
+
+    // Reads further lines while a quoted field is open, so lineNumber ends on the row's last line.
+    private String[] split(String line) throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean inQuotes = false;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!inQuotes) {
+                    break;
+                }
+                line = reader.readLine();
+                if (line == null) {
+                    throw new IllegalArgumentException("unterminated quoted field");
+                }
+                lineNumber++;
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = line.charAt(i++);
+            if (inQuotes) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i < line.length() && line.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    inQuotes = false;
+                }
+            } else if (c == ',') {
+                fields.add(quoted ? field.toString() : field.toString().trim());
+                field.setLength(0);
+                quoted = false;
+            } else if (c == '"' && !quoted && field.toString().isBlank()) {
+                field.setLength(0);
+                quoted = true;
+                inQuotes = true;
+            } else if (quoted) {
+                if (!Character.isWhitespace(c)) {
+                    throw new IllegalArgumentException("unexpected character after quoted field " + (fields.size() + 1));
+                }
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(quoted ? field.toString() : field.toString().trim());
+        return fields.toArray(new String[0]);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.fxdealsimporter.parser;
+
+import org.springframework.http.MediaType;
+
+public enum DealFileFormat {
+    CSV("text/csv"),
+    NDJSON("application/x-ndjson");
+
+    private final String mediaType;
+
+    DealFileFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public static DealFileFormat fromMediaType(MediaType mediaType) {
+        for (DealFileFormat format : values()) {
+            if (MediaType.parseMediaType(format.mediaType).includes(mediaType)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported deal file format: " + mediaType);
+    }
+}
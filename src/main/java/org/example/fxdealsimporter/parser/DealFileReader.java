@@ -0,0 +1,8 @@
+package org.example.fxdealsimporter.parser;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+public interface DealFileReader extends Closeable {
+    DealRow read() throws IOException;
+}
@@ -0,0 +1,26 @@
+package org.example.fxdealsimporter.parser;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.example.fxdealsimporter.dto.DealRequest;
+
+@Data
+@AllArgsConstructor
+public class DealRow {
+    private long lineNumber;
+    private DealRequest dealRequest;
+    private String dealUniqueId;
+    private String errorMessage;
+
+    public static DealRow parsed(long lineNumber, DealRequest dealRequest) {
+        return new DealRow(lineNumber, dealRequest, dealRequest.getDealUniqueId(), null);
+    }
+
+    public static DealRow failed(long lineNumber, String dealUniqueId, String errorMessage) {
+        return new DealRow(lineNumber, null, dealUniqueId, "Line " + lineNumber + ": " + errorMessage);
+    }
+
+    public boolean isParsed() {
+        return dealRequest != null;
+    }
+}
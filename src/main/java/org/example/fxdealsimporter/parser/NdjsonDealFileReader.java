@@ -0,0 +1,42 @@
+package org.example.fxdealsimporter.parser;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.example.fxdealsimporter.dto.DealRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+public class NdjsonDealFileReader implements DealFileReader {
+
+    private final BufferedReader reader;
+    private final ObjectReader objectReader;
+    private long lineNumber;
+
+    public NdjsonDealFileReader(BufferedReader reader, ObjectReader objectReader) {
+        this.reader = reader;
+        this.objectReader = objectReader.forType(DealRequest.class);
+    }
+
+    @Override
+    public DealRow read() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                return DealRow.parsed(lineNumber, objectReader.readValue(line));
+            } catch (JsonProcessingException e) {
+                return DealRow.failed(lineNumber, null, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,199 @@
+package org.example.fxdealsimporter.partition;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.fxdealsimporter.config.DealPartitionProperties;
+import org.example.fxdealsimporter.sharding.DealShards;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Keeps the monthly {@code RANGE COLUMNS (deal_timestamp)} partitions of the MySQL {@code deals} table rolling:
+ * partitions {@code pYYYYMM} are split off the {@code MAXVALUE} partition up to {@code premake-months} ahead, and
+ * partitions entirely older than {@code retention-months} are exchanged into a {@code deals_archive_<partition>}
+ * table (or dropped) and removed. Their IDs stay in {@code deal_ids}, so retired deals are still rejected as
+ * duplicates. Every shard is maintained in turn. Retiring is safe to repeat after a failure part-way: an existing
+ * archive table is reused, and a partition is only exchanged into an empty one.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DealPartitionMaintenance {
+
+    private static final String PARTITIONS_SQL =
+        "SELECT partition_name AS name, partition_description AS upper_bound FROM information_schema.partitions " +
+        "WHERE table_schema = DATABASE() AND table_name = 'deals' AND partition_name IS NOT NULL " +
+        "ORDER BY partition_ordinal_position";
+
+    private static final String IS_PARTITIONED_SQL =
+        "SELECT COUNT(*) FROM information_schema.partitions " +
+        "WHERE table_schema = DATABASE() AND table_name = ? AND partition_name IS NOT NULL";
+
+    private static final String MAXVALUE = "MAXVALUE";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final DealShards dealShards;
+    private final DealPartitionProperties partitionProperties;
+
+    private Thread maintainer;
+    private volatile boolean running;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!partitionProperties.isEnabled() || maintainer != null) {
+            return;
+        }
+        running = true;
+        maintainer = new Thread(this::maintenanceLoop, "deal-partition-maintenance");
+        maintainer.setDaemon(true);
+        maintainer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (maintainer == null) {
+            return;
+        }
+        running = false;
+        maintainer.interrupt();
+        maintainer.join();
+    }
+
+    public void maintain(LocalDate today) {
+        for (DealShards.Shard shard : dealShards.all()) {
+            try {
+                maintain(shard.getJdbcTemplate(), today);
+            } catch (DataAccessException e) {
+                log.error("Deal partition maintenance on shard {} failed, will retry: {}",
+                    shard.getIndex(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private void maintain(JdbcTemplate jdbcTemplate, LocalDate today) {
+        List<Partition> partitions = new ArrayList<>();
+        for (Map<String, Object> row : jdbcTemplate.queryForList(PARTITIONS_SQL)) {
+            partitions.add(new Partition((String) row.get("name"), upperBound((String) row.get("upper_bound"))));
+        }
+        if (partitions.isEmpty()) {
+            log.warn("The deals table is not partitioned, skipping partition maintenance");
+            return;
+        }
+        YearMonth currentMonth = YearMonth.from(today);
+        createAhead(jdbcTemplate, partitions, currentMonth);
+        retire(jdbcTemplate, partitions, currentMonth);
+    }
+
+    private void maintenanceLoop() {
+        while (running) {
+            maintain(LocalDate.now());
+            try {
+                Thread.sleep(partitionProperties.getMaintenanceInterval().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void createAhead(JdbcTemplate jdbcTemplate, List<Partition> partitions, YearMonth currentMonth) {
+        LocalDate covered = null;
+        for (Partition partition : partitions) {
+            if (partition.upperBound != null && (covered == null || partition.upperBound.isAfter(covered))) {
+                covered = partition.upperBound;
+            }
+        }
+        YearMonth first = covered != null ? YearMonth.from(covered) : currentMonth;
+        YearMonth last = currentMonth.plusMonths(partitionProperties.getPremakeMonths());
+        if (first.isAfter(last)) {
+            return;
+        }
+
+        StringJoiner definitions = new StringJoiner(", ");
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            definitions.add("PARTITION " + PARTITION_NAME.format(month)
+                + " VALUES LESS THAN ('" + month.plusMonths(1).atDay(1) + "')");
+        }
+        Partition tail = partitions.get(partitions.size() - 1);
+        if (tail.upperBound == null) {
+            definitions.add("PARTITION " + tail.name + " VALUES LESS THAN (" + MAXVALUE + ")");
+            jdbcTemplate.execute("ALTER TABLE deals REORGANIZE PARTITION " + tail.name + " INTO (" + definitions + ")");
+        } else {
+            jdbcTemplate.execute("ALTER TABLE deals ADD PARTITION (" + definitions + ")");
+        }
+        log.info("Created deal partitions {} to {}", PARTITION_NAME.format(first), PARTITION_NAME.format(last));
+    }
+
+    private void retire(JdbcTemplate jdbcTemplate, List<Partition> partitions, YearMonth currentMonth) {
+        if (partitionProperties.getRetentionMonths() <= 0) {
+            return;
+        }
+        LocalDate cutoff = currentMonth.minusMonths(partitionProperties.getRetentionMonths()).atDay(1);
+        for (Partition partition : partitions) {
+            if (partition.upperBound == null || partition.upperBound.isAfter(cutoff)) {
+                continue;
+            }
+            if (partitionProperties.isArchive() && !archive(jdbcTemplate, partition)) {
+                continue;
+            }
+            jdbcTemplate.execute("ALTER TABLE deals DROP PARTITION " + partition.name);
+            log.info("Dropped deal partition {} (deals before {})", partition.name, partition.upperBound);
+        }
+    }
+
+    // Returns false if the partition must be kept. The archive table is left over from an earlier attempt if it
+    // exists; if it holds rows, the exchange already happened unless the partition still has rows of its own.
+    private boolean archive(JdbcTemplate jdbcTemplate, Partition partition) {
+        String archiveTable = "deals_archive_" + partition.name;
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + archiveTable + " LIKE deals");
+        Integer partitioned = jdbcTemplate.queryForObject(IS_PARTITIONED_SQL, Integer.class, archiveTable);
+        if (partitioned != null && partitioned > 0) {
+            jdbcTemplate.execute("ALTER TABLE " + archiveTable + " REMOVE PARTITIONING");
+        }
+        if (isEmpty(jdbcTemplate, archiveTable)) {
+            jdbcTemplate.execute("ALTER TABLE deals EXCHANGE PARTITION " + partition.name
+                + " WITH TABLE " + archiveTable);
+            log.info("Archived deal partition {} to {}", partition.name, archiveTable);
+        } else if (!isEmpty(jdbcTemplate, "deals PARTITION (" + partition.name + ")")) {
+            log.error("Not retiring deal partition {}: it and {} both hold deals", partition.name, archiveTable);
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean isEmpty(JdbcTemplate jdbcTemplate, String table) {
+        Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (SELECT 1 FROM " + table + " LIMIT 1) probe",
+            Integer.class);
+        return rows == null || rows == 0;
+    }
+
+    // RANGE COLUMNS descriptions look like '2025-01-01 00:00:00' or MAXVALUE.
+    private static LocalDate upperBound(String description) {
+        if (description == null || MAXVALUE.equalsIgnoreCase(description)) {
+            return null;
+        }
+        return LocalDate.parse(description.replace("'", "").substring(0, 10));
+    }
+
+    private static final class Partition {
+        private final String name;
+        private final LocalDate upperBound;
+
+        private Partition(String name, LocalDate upperBound) {
+            this.name = name;
+            this.upperBound = upperBound;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.fxdealsimporter.repository;
+
+import org.example.fxdealsimporter.currency.CurrencyCodes;
+import org.example.fxdealsimporter.dto.DealRequest;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+
+/**
+ * Columnar batch of deals for bulk inserts. Currencies are kept as their packed three-letter codes, amounts
+ * as cents in a {@code long} (the column is DECIMAL(17,2)), timestamps as epoch millis in the JVM zone (the zone
+ * {@link Timestamp#valueOf(LocalDateTime)} uses) and IDs in one shared char arena. Binding then needs one
+ * {@code Timestamp} per row instead of two calendar conversions. Callers must pass validated deals.
+ */
+public class DealBatch {
+
+    private static final int AMOUNT_SCALE = 2;
+
+    private final ZoneRules zoneRules = ZoneId.systemDefault().getRules();
+    private final Timestamp createdAt;
+
+    private short[] fromCurrencies;
+    private short[] toCurrencies;
+    private long[] amounts;
+    private long[] timestamps;
+    private int[] idEnds;
+    private char[] ids;
+    private int idLength;
+    private int size;
+
+    public DealBatch(int capacity, LocalDateTime createdAt) {
+        int initialCapacity = Math.max(1, capacity);
+        this.createdAt = Timestamp.valueOf(createdAt);
+        fromCurrencies = new short[initialCapacity];
+        toCurrencies = new short[initialCapacity];
+        amounts = new long[initialCapacity];
+        timestamps = new long[initialCapacity];
+        idEnds = new int[initialCapacity];
+    }
+
+    public int add(DealRequest dealRequest) {
+        if (size == amounts.length) {
+            grow();
+        }
+        String dealUniqueId = dealRequest.getDealUniqueId();
+        if (ids == null) {
+            ids = new char[amounts.length * dealUniqueId.length()];
+        }
+        if (idLength + dealUniqueId.length() > ids.length) {
+            ids = Arrays.copyOf(ids, Math.max(ids.length * 2, idLength + dealUniqueId.length()));
+        }
+        dealUniqueId.getChars(0, dealUniqueId.length(), ids, idLength);
+        idLength += dealUniqueId.length();
+        idEnds[size] = idLength;
+
+        fromCurrencies[size] = (short) CurrencyCodes.code(dealRequest.getFromCurrencyIsoCode());
+        toCurrencies[size] = (short) CurrencyCodes.code(dealRequest.getToCurrencyIsoCode());
+        amounts[size] = dealRequest.getDealAmount().movePointRight(AMOUNT_SCALE).longValueExact();
+        LocalDateTime dealTimestamp = dealRequest.getDealTimestamp();
+        timestamps[size] = dealTimestamp.toEpochSecond(zoneRules.getOffset(dealTimestamp)) * 1000
+            + dealTimestamp.getNano() / 1_000_000;
+        return size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String getDealUniqueId(int index) {
+        int start = index == 0 ? 0 : idEnds[index - 1];
+        return new String(ids, start, idEnds[index] - start);
+    }
+
+    public void bind(PreparedStatement ps, int index) throws SQLException {
+        ps.setString(1, getDealUniqueId(index));
+        ps.setString(2, CurrencyCodes.currency(fromCurrencies[index]));
+        ps.setString(3, CurrencyCodes.currency(toCurrencies[index]));
+        ps.setTimestamp(4, new Timestamp(timestamps[index]));
+        ps.setBigDecimal(5, BigDecimal.valueOf(amounts[index], AMOUNT_SCALE));
+        ps.setTimestamp(6, createdAt);
+    }
+
+    private void grow() {
+        int capacity = amounts.length * 2;
+        fromCurrencies = Arrays.copyOf(fromCurrencies, capacity);
+        toCurrencies = Arrays.copyOf(toCurrencies, capacity);
+        amounts = Arrays.copyOf(amounts, capacity);
+        timestamps = Arrays.copyOf(timestamps, capacity);
+        idEnds = Arrays.copyOf(idEnds, capacity);
+    }
+}
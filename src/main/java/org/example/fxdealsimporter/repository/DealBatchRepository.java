@@ -0,0 +1,313 @@
+package org.example.fxdealsimporter.repository;
+
+import org.example.fxdealsimporter.config.DealPartitionProperties;
+import org.example.fxdealsimporter.entity.Deal;
+import org.example.fxdealsimporter.sharding.DealShards;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+@Repository
+public class DealBatchRepository {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO deals (deal_unique_id, from_currency_iso_code, to_currency_iso_code, " +
+        "deal_timestamp, deal_amount, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String FIND_DEALS_SQL =
+        "SELECT deal_unique_id, from_currency_iso_code, to_currency_iso_code, deal_timestamp, deal_amount, created_at " +
+        "FROM deals WHERE deal_unique_id IN (:ids)";
+
+    private static final RowMapper<Deal> DEAL_ROW_MAPPER = (rs, rowNum) -> Deal.builder()
+        .dealUniqueId(rs.getString(1))
+        .fromCurrencyIsoCode(rs.getString(2))
+        .toCurrencyIsoCode(rs.getString(3))
+        .dealTimestamp(rs.getTimestamp(4).toLocalDateTime())
+        .dealAmount(rs.getBigDecimal(5))
+        .createdAt(rs.getTimestamp(6).toLocalDateTime())
+        .persisted(true)
+        .build();
+
+    private static final String DELETE_SQL = "DELETE FROM deals WHERE deal_unique_id IN (:ids)";
+    private static final String DELETE_IDS_SQL = "DELETE FROM deal_ids WHERE deal_unique_id IN (:ids)";
+    private static final String FIND_REGISTERED_IDS_SQL =
+        "SELECT deal_unique_id, deal_timestamp FROM deal_ids WHERE deal_unique_id IN (:ids)";
+    private static final String REGISTER_ID_SQL = "INSERT INTO deal_ids (deal_unique_id, deal_timestamp) VALUES (?, ?)";
+
+    private final DealShards dealShards;
+    private final boolean partitioned;
+
+    // Duplicate lookups go to the deal_ids registry on a partitioned table: deal_unique_id is only unique there,
+    // and it still holds the IDs of archived partitions.
+    private final String countSql;
+    private final String existsSql;
+    private final String findExistingSql;
+    private final String findIdsSql;
+    private final String findIdsAfterSql;
+
+    public DealBatchRepository(DealShards dealShards, DealPartitionProperties partitionProperties) {
+        this.dealShards = dealShards;
+        this.partitioned = partitionProperties.isEnabled();
+        String idTable = partitionProperties.isEnabled() ? "deal_ids" : "deals";
+        this.countSql = "SELECT COUNT(*) FROM " + idTable;
+        this.existsSql = "SELECT COUNT(*) FROM " + idTable + " WHERE deal_unique_id = ?";
+        this.findExistingSql = "SELECT deal_unique_id FROM " + idTable + " WHERE deal_unique_id IN (:ids)";
+        this.findIdsSql = "SELECT deal_unique_id FROM " + idTable + " ORDER BY deal_unique_id LIMIT ?";
+        this.findIdsAfterSql = "SELECT deal_unique_id FROM " + idTable
+            + " WHERE deal_unique_id > ? ORDER BY deal_unique_id LIMIT ?";
+    }
+
+    public int shardCount() {
+        return dealShards.count();
+    }
+
+    public int shardOf(String dealUniqueId) {
+        return dealShards.shardOf(dealUniqueId);
+    }
+
+    public boolean exists(String dealUniqueId) {
+        int former = dealShards.formerShardOf(dealUniqueId);
+        return exists(dealShards.shardOf(dealUniqueId), dealUniqueId)
+            || former >= 0 && exists(former, dealUniqueId);
+    }
+
+    private boolean exists(int shard, String dealUniqueId) {
+        Long count = dealShards.get(shard).getJdbcTemplate().queryForObject(existsSql, Long.class, dealUniqueId);
+        return count != null && count > 0;
+    }
+
+    public Set<String> findExistingIds(Collection<String> dealUniqueIds) {
+        Set<String> existing = new HashSet<>();
+        if (dealUniqueIds.isEmpty()) {
+            return existing;
+        }
+        if (!dealShards.isSharded()) {
+            findExistingIds(0, dealUniqueIds, existing);
+            return existing;
+        }
+        Map<Integer, List<String>> idsByShard = new TreeMap<>();
+        for (String dealUniqueId : dealUniqueIds) {
+            idsByShard.computeIfAbsent(dealShards.shardOf(dealUniqueId), shard -> new ArrayList<>()).add(dealUniqueId);
+            int former = dealShards.formerShardOf(dealUniqueId);
+            if (former >= 0) {
+                idsByShard.computeIfAbsent(former, shard -> new ArrayList<>()).add(dealUniqueId);
+            }
+        }
+        idsByShard.forEach((shard, ids) -> findExistingIds(shard, ids, existing));
+        return existing;
+    }
+
+    /**
+     * The given IDs stored on one shard, whichever shard owns them.
+     */
+    public Set<String> findExistingIds(int shard, Collection<String> dealUniqueIds) {
+        Set<String> existing = new HashSet<>();
+        if (!dealUniqueIds.isEmpty()) {
+            findExistingIds(shard, dealUniqueIds, existing);
+        }
+        return existing;
+    }
+
+    private void findExistingIds(int shard, Collection<String> dealUniqueIds, Set<String> existing) {
+        dealShards.get(shard).getNamedParameterJdbcTemplate().query(findExistingSql, Map.of("ids", dealUniqueIds),
+            rs -> {
+                existing.add(rs.getString(1));
+            });
+    }
+
+    /**
+     * Pages through the IDs stored on one shard in the database's own ordering.
+     */
+    public List<String> findIdsAfter(int shard, String afterId, int limit) {
+        JdbcTemplate jdbcTemplate = dealShards.get(shard).getJdbcTemplate();
+        if (afterId == null) {
+            return jdbcTemplate.queryForList(findIdsSql, String.class, limit);
+        }
+        return jdbcTemplate.queryForList(findIdsAfterSql, String.class, afterId, limit);
+    }
+
+    public boolean isPartitioned() {
+        return partitioned;
+    }
+
+    /**
+     * The given deals stored on one shard, whichever shard owns them.
+     */
+    public List<Deal> findDeals(int shard, Collection<String> dealUniqueIds) {
+        if (dealUniqueIds.isEmpty()) {
+            return List.of();
+        }
+        return dealShards.get(shard).getNamedParameterJdbcTemplate()
+            .query(FIND_DEALS_SQL, Map.of("ids", dealUniqueIds), DEAL_ROW_MAPPER);
+    }
+
+    /**
+     * The deal_ids registry entries of the given IDs on one shard, as ID to deal timestamp. Only valid on a
+     * partitioned table.
+     */
+    public Map<String, LocalDateTime> findRegisteredIds(int shard, Collection<String> dealUniqueIds) {
+        Map<String, LocalDateTime> registered = new HashMap<>();
+        if (!dealUniqueIds.isEmpty()) {
+            dealShards.get(shard).getNamedParameterJdbcTemplate().query(FIND_REGISTERED_IDS_SQL,
+                Map.of("ids", dealUniqueIds), rs -> {
+                    registered.put(rs.getString(1), rs.getTimestamp(2).toLocalDateTime());
+                });
+        }
+        return registered;
+    }
+
+    /**
+     * Adds deal_ids registry entries on one shard for deals that are no longer in its deals table, i.e. those of
+     * retired partitions. Deals inserted into deals are registered by the table's trigger.
+     */
+    public void registerIds(int shard, Map<String, LocalDateTime> dealTimestamps) {
+        List<Map.Entry<String, LocalDateTime>> entries = new ArrayList<>(dealTimestamps.entrySet());
+        dealShards.get(shard).getJdbcTemplate().batchUpdate(REGISTER_ID_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setString(1, entry.getKey());
+            ps.setTimestamp(2, Timestamp.valueOf(entry.getValue()));
+        });
+    }
+
+    /**
+     * The stored deals with the given IDs, each read from the shard owning it.
+     */
+    public List<Deal> findDeals(Collection<String> dealUniqueIds) {
+        List<Deal> deals = new ArrayList<>();
+        if (dealUniqueIds.isEmpty()) {
+            return deals;
+        }
+        Map<Integer, List<String>> idsByShard = new TreeMap<>();
+        for (String dealUniqueId : dealUniqueIds) {
+            idsByShard.computeIfAbsent(dealShards.shardOf(dealUniqueId), shard -> new ArrayList<>()).add(dealUniqueId);
+        }
+        idsByShard.forEach((shard, ids) -> deals.addAll(dealShards.get(shard).getNamedParameterJdbcTemplate()
+            .query(FIND_DEALS_SQL, Map.of("ids", ids), DEAL_ROW_MAPPER)));
+        return deals;
+    }
+
+    public long count(int shard) {
+        Long count = dealShards.get(shard).getJdbcTemplate().queryForObject(countSql, Long.class);
+        return count != null ? count : 0;
+    }
+
+    public long count() {
+        long total = 0;
+        for (int shard = 0; shard < dealShards.count(); shard++) {
+            total += count(shard);
+        }
+        return total;
+    }
+
+    /**
+     * Inserts the deals in one transaction per shard. Callers that need all-or-nothing semantics pass deals of a
+     * single shard.
+     */
+    public void insertAll(List<Deal> deals) {
+        if (!dealShards.isSharded()) {
+            insertAll(dealShards.get(0), deals);
+            return;
+        }
+        Map<Integer, List<Deal>> dealsByShard = new TreeMap<>();
+        for (Deal deal : deals) {
+            dealsByShard.computeIfAbsent(dealShards.shardOf(deal.getDealUniqueId()), shard -> new ArrayList<>())
+                .add(deal);
+        }
+        dealsByShard.forEach((shard, shardDeals) -> insertAll(dealShards.get(shard), shardDeals));
+    }
+
+    private void insertAll(DealShards.Shard shard, List<Deal> deals) {
+        shard.getTransactionTemplate().executeWithoutResult(status ->
+            shard.getJdbcTemplate().batchUpdate(INSERT_SQL, deals, deals.size(), DealBatchRepository::bind));
+    }
+
+    /**
+     * Inserts the deals into one shard in a single transaction, whichever shard owns them.
+     */
+    public void insertAll(int shard, List<Deal> deals) {
+        insertAll(dealShards.get(shard), deals);
+    }
+
+    /**
+     * Deletes the deals from one shard, including their deal_ids registry entries on a partitioned table.
+     */
+    public void deleteAll(int shard, Collection<String> dealUniqueIds) {
+        DealShards.Shard target = dealShards.get(shard);
+        target.getTransactionTemplate().executeWithoutResult(status -> {
+            target.getNamedParameterJdbcTemplate().update(DELETE_SQL, Map.of("ids", dealUniqueIds));
+            if (partitioned) {
+                target.getNamedParameterJdbcTemplate().update(DELETE_IDS_SQL, Map.of("ids", dealUniqueIds));
+            }
+        });
+    }
+
+    public void insert(Deal deal) {
+        shardFor(deal.getDealUniqueId()).getJdbcTemplate().update(INSERT_SQL, ps -> bind(ps, deal));
+    }
+
+    /**
+     * Columnar variant of {@link #insertAll(List)}, also one transaction per shard.
+     */
+    public void insertAll(DealBatch batch) {
+        if (!dealShards.isSharded()) {
+            insertAll(dealShards.get(0), batch, null);
+            return;
+        }
+        Map<Integer, List<Integer>> rowsByShard = new TreeMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            rowsByShard.computeIfAbsent(dealShards.shardOf(batch.getDealUniqueId(i)), shard -> new ArrayList<>())
+                .add(i);
+        }
+        if (rowsByShard.size() == 1) {
+            insertAll(dealShards.get(rowsByShard.keySet().iterator().next()), batch, null);
+            return;
+        }
+        rowsByShard.forEach((shard, rows) -> insertAll(dealShards.get(shard), batch, rows));
+    }
+
+    // rows == null binds the whole batch.
+    private void insertAll(DealShards.Shard shard, DealBatch batch, List<Integer> rows) {
+        shard.getTransactionTemplate().executeWithoutResult(status ->
+            shard.getJdbcTemplate().batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    batch.bind(ps, rows != null ? rows.get(i) : i);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return rows != null ? rows.size() : batch.size();
+                }
+            }));
+    }
+
+    public void insert(DealBatch batch, int index) {
+        shardFor(batch.getDealUniqueId(index)).getJdbcTemplate().update(INSERT_SQL, ps -> batch.bind(ps, index));
+    }
+
+    private DealShards.Shard shardFor(String dealUniqueId) {
+        return dealShards.get(dealShards.shardOf(dealUniqueId));
+    }
+
+    private static void bind(PreparedStatement ps, Deal deal) throws SQLException {
+        ps.setString(1, deal.getDealUniqueId());
+        ps.setString(2, deal.getFromCurrencyIsoCode());
+        ps.setString(3, deal.getToCurrencyIsoCode());
+        ps.setTimestamp(4, Timestamp.valueOf(deal.getDealTimestamp()));
+        ps.setBigDecimal(5, deal.getDealAmount());
+        ps.setTimestamp(6, Timestamp.valueOf(deal.getCreatedAt()));
+    }
+}
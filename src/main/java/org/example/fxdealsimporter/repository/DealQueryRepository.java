@@ -0,0 +1,197 @@
+package org.example.fxdealsimporter.repository;
+
+import org.example.fxdealsimporter.config.DealQueryProperties;
+import org.example.fxdealsimporter.dto.DealSearchCriteria;
+import org.example.fxdealsimporter.dto.DealSearchCursor;
+import org.example.fxdealsimporter.dto.PairAggregate;
+import org.example.fxdealsimporter.entity.Deal;
+import org.example.fxdealsimporter.sharding.DealShards;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+@Repository
+public class DealQueryRepository {
+
+    private static final String SELECT_SQL =
+        "SELECT deal_unique_id, from_currency_iso_code, to_currency_iso_code, deal_timestamp, deal_amount, created_at " +
+        "FROM deals WHERE 1 = 1";
+
+    private static final String AGGREGATE_BY_PAIR_SQL =
+        "SELECT from_currency_iso_code, to_currency_iso_code, COUNT(*), SUM(deal_amount) FROM deals " +
+        "WHERE created_at < :createdBefore GROUP BY from_currency_iso_code, to_currency_iso_code";
+
+    private static final String DEALS_SINCE_SQL =
+        "SELECT from_currency_iso_code, to_currency_iso_code, deal_timestamp, deal_amount FROM deals " +
+        "WHERE deal_timestamp >= :since AND created_at < :createdBefore";
+
+    private static final Comparator<Deal> SEARCH_ORDER =
+        Comparator.comparing(Deal::getDealTimestamp).thenComparing(Deal::getDealUniqueId);
+
+    // One per deal shard; queries run on each and the results are merged.
+    private final List<NamedParameterJdbcTemplate> shardTemplates = new ArrayList<>();
+
+    public DealQueryRepository(DealShards dealShards, DealQueryProperties queryProperties) {
+        for (DealShards.Shard shard : dealShards.all()) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(shard.getDataSource());
+            jdbcTemplate.setFetchSize(queryProperties.getFetchSize());
+            shardTemplates.add(new NamedParameterJdbcTemplate(jdbcTemplate));
+        }
+    }
+
+    /**
+     * Streams up to {@code limit} deals ordered by (deal_timestamp, deal_unique_id), starting after {@code after}.
+     */
+    public void search(DealSearchCriteria criteria, DealSearchCursor after, int limit, Consumer<Deal> consumer) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        MapSqlParameterSource params = new MapSqlParameterSource();
+
+        if (criteria.getFromCurrencyIsoCode() != null) {
+            sql.append(" AND from_currency_iso_code = :fromCurrency");
+            params.addValue("fromCurrency", criteria.getFromCurrencyIsoCode());
+        }
+        if (criteria.getToCurrencyIsoCode() != null) {
+            sql.append(" AND to_currency_iso_code = :toCurrency");
+            params.addValue("toCurrency", criteria.getToCurrencyIsoCode());
+        }
+        if (criteria.getFromTimestamp() != null) {
+            sql.append(" AND deal_timestamp >= :fromTimestamp");
+            params.addValue("fromTimestamp", criteria.getFromTimestamp());
+        }
+        if (criteria.getToTimestamp() != null) {
+            sql.append(" AND deal_timestamp < :toTimestamp");
+            params.addValue("toTimestamp", criteria.getToTimestamp());
+        }
+        if (criteria.getMinAmount() != null) {
+            sql.append(" AND deal_amount >= :minAmount");
+            params.addValue("minAmount", criteria.getMinAmount());
+        }
+        if (criteria.getMaxAmount() != null) {
+            sql.append(" AND deal_amount <= :maxAmount");
+            params.addValue("maxAmount", criteria.getMaxAmount());
+        }
+        if (after != null) {
+            // Expanded form of (deal_timestamp, deal_unique_id) > (:afterTimestamp, :afterId) so the seek
+            // stays a range scan on the composite indexes.
+            sql.append(" AND deal_timestamp >= :afterTimestamp")
+                .append(" AND (deal_timestamp > :afterTimestamp OR deal_unique_id > :afterId)");
+            params.addValue("afterTimestamp", after.getDealTimestamp());
+            params.addValue("afterId", after.getDealUniqueId());
+        }
+        sql.append(" ORDER BY deal_timestamp, deal_unique_id LIMIT :limit");
+        params.addValue("limit", limit);
+
+        if (shardTemplates.size() == 1) {
+            shardTemplates.get(0).query(sql.toString(), params, rs -> {
+                consumer.accept(toDeal(rs));
+            });
+            return;
+        }
+        mergeShards(0, sql.toString(), params, new ArrayList<>(), limit, consumer);
+    }
+
+    // Opens the query on every shard, each inside the previous shard's callback so that all result sets stay open,
+    // then merges them. Only the rows the drivers have fetched so far are held, not every shard's full page.
+    private void mergeShards(int shard, String sql, MapSqlParameterSource params, List<ResultSet> cursors,
+                             int limit, Consumer<Deal> consumer) {
+        shardTemplates.get(shard).query(sql, params, (ResultSetExtractor<Void>) rs -> {
+            cursors.add(rs);
+            if (shard + 1 < shardTemplates.size()) {
+                mergeShards(shard + 1, sql, params, cursors, limit, consumer);
+            } else {
+                merge(cursors, limit, consumer);
+            }
+            return null;
+        });
+    }
+
+    private static void merge(List<ResultSet> cursors, int limit, Consumer<Deal> consumer) throws SQLException {
+        PriorityQueue<ShardCursor> heads = new PriorityQueue<>(cursors.size(),
+            Comparator.comparing((ShardCursor cursor) -> cursor.head, SEARCH_ORDER));
+        for (ResultSet rows : cursors) {
+            if (rows.next()) {
+                heads.add(new ShardCursor(rows, toDeal(rows)));
+            }
+        }
+        for (int emitted = 0; emitted < limit && !heads.isEmpty(); emitted++) {
+            ShardCursor cursor = heads.poll();
+            consumer.accept(cursor.head);
+            if (cursor.rows.next()) {
+                cursor.head = toDeal(cursor.rows);
+                heads.add(cursor);
+            }
+        }
+    }
+
+    private static Deal toDeal(ResultSet rs) throws SQLException {
+        return Deal.builder()
+            .dealUniqueId(rs.getString(1))
+            .fromCurrencyIsoCode(rs.getString(2))
+            .toCurrencyIsoCode(rs.getString(3))
+            .dealTimestamp(rs.getTimestamp(4).toLocalDateTime())
+            .dealAmount(rs.getBigDecimal(5))
+            .createdAt(rs.getTimestamp(6).toLocalDateTime())
+            .persisted(true)
+            .build();
+    }
+
+    private static final class ShardCursor {
+        private final ResultSet rows;
+        private Deal head;
+
+        private ShardCursor(ResultSet rows, Deal head) {
+            this.rows = rows;
+            this.head = head;
+        }
+    }
+
+    /**
+     * Deal count and notional per currency pair, for deals created before {@code createdBefore}. With several
+     * shards a pair appears once per shard.
+     */
+    public List<PairAggregate> aggregateByPair(LocalDateTime createdBefore) {
+        List<PairAggregate> aggregates = new ArrayList<>();
+        for (NamedParameterJdbcTemplate shardTemplate : shardTemplates) {
+            aggregates.addAll(shardTemplate.query(AGGREGATE_BY_PAIR_SQL,
+                new MapSqlParameterSource("createdBefore", createdBefore),
+                (rs, rowNum) -> PairAggregate.builder()
+                    .fromCurrencyIsoCode(rs.getString(1))
+                    .toCurrencyIsoCode(rs.getString(2))
+                    .dealCount(rs.getLong(3))
+                    .notional(rs.getBigDecimal(4))
+                    .build()));
+        }
+        return aggregates;
+    }
+
+    /**
+     * Streams deals with a timestamp at or after {@code since} that were created before {@code createdBefore}.
+     * Only the pair, timestamp and amount columns are populated.
+     */
+    public void forEachDealSince(LocalDateTime since, LocalDateTime createdBefore, Consumer<Deal> consumer) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("since", since)
+            .addValue("createdBefore", createdBefore);
+        for (NamedParameterJdbcTemplate shardTemplate : shardTemplates) {
+            shardTemplate.query(DEALS_SINCE_SQL, params, rs -> {
+                consumer.accept(Deal.builder()
+                    .fromCurrencyIsoCode(rs.getString(1))
+                    .toCurrencyIsoCode(rs.getString(2))
+                    .dealTimestamp(rs.getTimestamp(3).toLocalDateTime())
+                    .dealAmount(rs.getBigDecimal(4))
+                    .build());
+            });
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.fxdealsimporter.repository;
+
+import org.example.fxdealsimporter.entity.ImportJobChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ImportJobChunkRepository extends JpaRepository<ImportJobChunk, ImportJobChunk.Key> {
+    List<ImportJobChunk> findByJobIdOrderByFirstDeal(String jobId);
+    void deleteByJobId(String jobId);
+}
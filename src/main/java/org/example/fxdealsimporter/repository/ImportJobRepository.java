@@ -0,0 +1,14 @@
+package org.example.fxdealsimporter.repository;
+
+import org.example.fxdealsimporter.entity.ImportJob;
+import org.example.fxdealsimporter.entity.ImportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, String> {
+    List<ImportJob> findByStatusInOrderByCreatedAt(Collection<ImportJobStatus> statuses);
+}
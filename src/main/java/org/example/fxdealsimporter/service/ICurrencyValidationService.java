@@ -2,7 +2,10 @@ package org.example.fxdealsimporter.service;
 
 import org.example.fxdealsimporter.dto.DealRequest;
 
+import java.util.List;
+
 public interface ICurrencyValidationService {
     void validateCurrencies(String fromCurrency, String toCurrency);
     void validateDealRequest(DealRequest dealRequest);
+    List<String> getSupportedCurrencies();
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package org.example.fxdealsimporter.service;
+
+import org.example.fxdealsimporter.dto.BatchImportResponse;
+import org.example.fxdealsimporter.dto.ImportSummary;
+import org.example.fxdealsimporter.parser.DealFileFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+public interface IDealFileImportService {
+    ImportSummary importFile(InputStream inputStream, DealFileFormat format,
+                             Consumer<BatchImportResponse.DealError> errorSink) throws IOException;
+}
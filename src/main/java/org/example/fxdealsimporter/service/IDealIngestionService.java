@@ -0,0 +1,10 @@
+package org.example.fxdealsimporter.service;
+
+import org.example.fxdealsimporter.dto.DealRequest;
+import org.example.fxdealsimporter.dto.DealResponse;
+
+public interface IDealIngestionService {
+    DealResponse ingest(DealRequest dealRequest);
+    
+    boolean isDeferred();
+}
@@ -0,0 +1,10 @@
+package org.example.fxdealsimporter.service;
+
+import org.example.fxdealsimporter.dto.DealResponse;
+import org.example.fxdealsimporter.dto.DealSearchCriteria;
+
+import java.util.function.Consumer;
+
+public interface IDealQueryService {
+    String searchDeals(DealSearchCriteria criteria, Consumer<DealResponse> dealConsumer);
+}
@@ -3,10 +3,29 @@ package org.example.fxdealsimporter.service;
 import org.example.fxdealsimporter.dto.BatchImportResponse;
 import org.example.fxdealsimporter.dto.DealRequest;
 import org.example.fxdealsimporter.dto.DealResponse;
+import org.example.fxdealsimporter.dto.ImportSummary;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface IDealService {
     DealResponse importDeal(DealRequest dealRequest);
-    BatchImportResponse importDeals(List<DealRequest> dealRequests);
+    BatchImportResponse importDeals(List<DealRequest> dealRequests, boolean includeSuccessfulImports);
+    
+    /**
+     * Imports a batch without building responses, handing each failed deal to {@code errorSink} as soon as its
+     * chunk is done. The sink is called from the import threads, one call at a time.
+     */
+    ImportSummary importDeals(List<DealRequest> dealRequests, Consumer<BatchImportResponse.DealError> errorSink);
+    
+    /**
+     * Imports a group of deals and reports each outcome by position: {@code imported[i]} on success,
+     * {@code failures[i]} otherwise. {@code imported} may be null when no responses are needed; a null
+     * {@code failures[i]} then means success. Used by ingestion paths that settle each deal separately.
+     */
+    void importGroup(List<DealRequest> dealRequests, DealResponse[] imported, RuntimeException[] failures);
+    
+    default BatchImportResponse importDeals(List<DealRequest> dealRequests) {
+        return importDeals(dealRequests, true);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package org.example.fxdealsimporter.service;
+
+import org.example.fxdealsimporter.dto.DealRequest;
+import org.example.fxdealsimporter.dto.ImportJobResponse;
+
+import java.util.List;
+
+public interface IImportJobService {
+    ImportJobResponse submit(List<DealRequest> dealRequests);
+    ImportJobResponse getJob(String jobId);
+}
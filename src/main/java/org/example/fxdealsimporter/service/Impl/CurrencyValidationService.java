@@ -1,6 +1,7 @@
 package org.example.fxdealsimporter.service.Impl;
 
 import lombok.extern.slf4j.Slf4j;
+import org.example.fxdealsimporter.currency.CurrencyCodes;
 import org.example.fxdealsimporter.dto.DealRequest;
 import org.example.fxdealsimporter.exception.InvalidCurrencyException;
 import org.example.fxdealsimporter.exception.InvalidDealException;
@@ -8,17 +9,30 @@ import org.example.fxdealsimporter.service.ICurrencyValidationService;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.util.Set;
+import java.util.List;
 
 @Service
 @Slf4j
 public class CurrencyValidationService implements ICurrencyValidationService {
     
-    private static final Set<String> SUPPORTED_CURRENCIES = Set.of(
+    private static final List<String> SUPPORTED_CURRENCIES = List.of(
         "USD", "EUR", "GBP", "JPY", "CHF", "CAD", "AUD", "NZD",
         "SEK", "NOK", "DKK", "PLN", "CZK", "HUF", "RUB", "CNY",
         "INR", "BRL", "MXN", "ZAR", "KRW", "SGD", "HKD", "THB"
     );
+    
+    private static final int MAX_INTEGER_DIGITS = 15;
+    private static final int MAX_FRACTION_DIGITS = 2;
+    
+    // One bit per possible three-letter code, so a lookup is a shift and a mask.
+    private static final long[] SUPPORTED_CODES = new long[(CurrencyCodes.CODE_SPACE + 63) >>> 6];
+    
+    static {
+        for (String currency : SUPPORTED_CURRENCIES) {
+            int code = CurrencyCodes.code(currency);
+            SUPPORTED_CODES[code >>> 6] |= 1L << code;
+        }
+    }
 
     @Override
     public void validateCurrencies(String fromCurrency, String toCurrency) {
@@ -26,33 +40,61 @@ public class CurrencyValidationService implements ICurrencyValidationService {
             throw new InvalidCurrencyException("From and to currencies cannot be the same: " + fromCurrency);
         }
         
-        if (!SUPPORTED_CURRENCIES.contains(fromCurrency)) {
+        if (!isSupported(fromCurrency)) {
             throw new InvalidCurrencyException("Unsupported from currency: " + fromCurrency);
         }
         
-        if (!SUPPORTED_CURRENCIES.contains(toCurrency)) {
+        if (!isSupported(toCurrency)) {
             throw new InvalidCurrencyException("Unsupported to currency: " + toCurrency);
         }
         
         log.debug("Currency validation passed for {} to {}", fromCurrency, toCurrency);
     }
     
+    @Override
+    public List<String> getSupportedCurrencies() {
+        return SUPPORTED_CURRENCIES;
+    }
+    
     @Override
     public void validateDealRequest(DealRequest dealRequest) {
-        if (dealRequest.getDealUniqueId() == null || dealRequest.getDealUniqueId().trim().isEmpty()) {
-            throw new InvalidDealException("Deal unique ID is required");
+        StringBuilder violations = null;
+        
+        String dealUniqueId = dealRequest.getDealUniqueId();
+        if (dealUniqueId == null || dealUniqueId.isBlank()) {
+            violations = append(violations, "Deal unique ID is required");
         }
-        if (dealRequest.getFromCurrencyIsoCode() == null || !dealRequest.getFromCurrencyIsoCode().matches("^[A-Z]{3}$")) {
-            throw new InvalidDealException("From currency must be 3 uppercase letters");
+        if (CurrencyCodes.code(dealRequest.getFromCurrencyIsoCode()) < 0) {
+            violations = append(violations, "From currency must be 3 uppercase letters");
         }
-        if (dealRequest.getToCurrencyIsoCode() == null || !dealRequest.getToCurrencyIsoCode().matches("^[A-Z]{3}$")) {
-            throw new InvalidDealException("To currency must be 3 uppercase letters");
+        if (CurrencyCodes.code(dealRequest.getToCurrencyIsoCode()) < 0) {
+            violations = append(violations, "To currency must be 3 uppercase letters");
         }
         if (dealRequest.getDealTimestamp() == null) {
-            throw new InvalidDealException("Deal timestamp is required");
+            violations = append(violations, "Deal timestamp is required");
+        }
+        BigDecimal dealAmount = dealRequest.getDealAmount();
+        if (dealAmount == null || dealAmount.signum() <= 0) {
+            violations = append(violations, "Deal amount must be positive");
+        } else if (dealAmount.precision() - dealAmount.scale() > MAX_INTEGER_DIGITS
+                || dealAmount.scale() > MAX_FRACTION_DIGITS) {
+            violations = append(violations, "Deal amount format is invalid");
+        }
+        
+        if (violations != null) {
+            throw new InvalidDealException(violations.toString());
         }
-        if (dealRequest.getDealAmount() == null || dealRequest.getDealAmount().compareTo(BigDecimal.ZERO) <= 0) {
-            throw new InvalidDealException("Deal amount must be positive");
+    }
+    
+    public static boolean isSupported(String currency) {
+        int code = CurrencyCodes.code(currency);
+        return code >= 0 && (SUPPORTED_CODES[code >>> 6] & (1L << code)) != 0;
+    }
+    
+    private static StringBuilder append(StringBuilder violations, String violation) {
+        if (violations == null) {
+            return new StringBuilder(violation);
         }
+        return violations.append("; ").append(violation);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,89 @@
+package org.example.fxdealsimporter.service.Impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.fxdealsimporter.config.DealImportProperties;
+import org.example.fxdealsimporter.dto.BatchImportResponse;
+import org.example.fxdealsimporter.dto.DealRequest;
+import org.example.fxdealsimporter.dto.ImportSummary;
+import org.example.fxdealsimporter.parser.CsvDealFileReader;
+import org.example.fxdealsimporter.parser.DealFileFormat;
+import org.example.fxdealsimporter.parser.DealFileReader;
+import org.example.fxdealsimporter.parser.DealRow;
+import org.example.fxdealsimporter.parser.NdjsonDealFileReader;
+import org.example.fxdealsimporter.service.IDealFileImportService;
+import org.example.fxdealsimporter.service.IDealService;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DealFileImportService implements IDealFileImportService {
+
+    private final IDealService dealService;
+    private final ObjectMapper objectMapper;
+    private final DealImportProperties importProperties;
+
+    @Override
+    public ImportSummary importFile(InputStream inputStream, DealFileFormat format,
+                                    Consumer<BatchImportResponse.DealError> errorSink) throws IOException {
+        log.info("Importing {} deal file", format);
+
+        int batchSize = Math.max(1, importProperties.getBatchSize());
+        List<DealRequest> chunk = new ArrayList<>(batchSize);
+        ImportSummary summary = new ImportSummary();
+
+        try (DealFileReader reader = openReader(inputStream, format)) {
+            DealRow row;
+            while ((row = reader.read()) != null) {
+                if (!row.isParsed()) {
+                    summary.setTotalDeals(summary.getTotalDeals() + 1);
+                    summary.setFailedDeals(summary.getFailedDeals() + 1);
+                    errorSink.accept(BatchImportResponse.DealError.builder()
+                        .dealUniqueId(row.getDealUniqueId())
+                        .errorMessage(row.getErrorMessage())
+                        .build());
+                    continue;
+                }
+                chunk.add(row.getDealRequest());
+                if (chunk.size() == batchSize) {
+                    importChunk(chunk, summary, errorSink);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, summary, errorSink);
+            }
+        }
+
+        log.info("File import completed: {} successful, {} failed", summary.getSuccessfulDeals(), summary.getFailedDeals());
+        return summary;
+    }
+
+    private void importChunk(List<DealRequest> chunk, ImportSummary summary,
+                             Consumer<BatchImportResponse.DealError> errorSink) {
+        BatchImportResponse response = dealService.importDeals(chunk, false);
+        summary.setTotalDeals(summary.getTotalDeals() + response.getTotalDeals());
+        summary.setSuccessfulDeals(summary.getSuccessfulDeals() + response.getSuccessfulDeals());
+        summary.setFailedDeals(summary.getFailedDeals() + response.getFailedDeals());
+        response.getErrors().forEach(errorSink);
+        chunk.clear();
+    }
+
+    private DealFileReader openReader(InputStream inputStream, DealFileFormat format) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        return switch (format) {
+            case CSV -> new CsvDealFileReader(reader);
+            case NDJSON -> new NdjsonDealFileReader(reader, objectMapper.reader());
+        };
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.fxdealsimporter.service.Impl;
+
+import lombok.RequiredArgsConstructor;
+import org.example.fxdealsimporter.config.DealImportProperties;
+import org.example.fxdealsimporter.config.DealImportProperties.IngestionMode;
+import org.example.fxdealsimporter.dto.DealRequest;
+import org.example.fxdealsimporter.dto.DealResponse;
+import org.example.fxdealsimporter.exception.ImportCapacityExceededException;
+import org.example.fxdealsimporter.exception.InvalidDealException;
+import org.example.fxdealsimporter.journal.DealJournal;
+import org.example.fxdealsimporter.service.ICurrencyValidationService;
+import org.example.fxdealsimporter.service.IDealIngestionService;
+import org.example.fxdealsimporter.service.IDealService;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Service
+@RequiredArgsConstructor
+public class DealIngestionService implements IDealIngestionService {
+
+    private final IDealService dealService;
+    private final WriteBehindDealWriter writeBehindDealWriter;
+    private final DealJournal dealJournal;
+    private final ICurrencyValidationService currencyValidationService;
+    private final DealImportProperties importProperties;
+
+    @Override
+    public DealResponse ingest(DealRequest dealRequest) {
+        return switch (importProperties.getIngestionMode()) {
+            case DIRECT -> dealService.importDeal(dealRequest);
+            case WRITE_BEHIND -> await(writeBehindDealWriter.submit(dealRequest),
+                importProperties.getWriteBehind().getAwaitTimeout());
+            case JOURNAL -> journal(dealRequest);
+        };
+    }
+
+    @Override
+    public boolean isDeferred() {
+        return importProperties.getIngestionMode() == IngestionMode.JOURNAL;
+    }
+
+    // Only validation happens up front; duplicates are resolved when the journal is replayed.
+    private DealResponse journal(DealRequest dealRequest) {
+        if (dealRequest == null) {
+            throw new InvalidDealException("Deal request cannot be null");
+        }
+        currencyValidationService.validateDealRequest(dealRequest);
+        currencyValidationService.validateCurrencies(
+            dealRequest.getFromCurrencyIsoCode(),
+            dealRequest.getToCurrencyIsoCode()
+        );
+        dealJournal.append(dealRequest);
+        return DealResponse.builder()
+            .dealUniqueId(dealRequest.getDealUniqueId())
+            .fromCurrencyIsoCode(dealRequest.getFromCurrencyIsoCode())
+            .toCurrencyIsoCode(dealRequest.getToCurrencyIsoCode())
+            .dealTimestamp(dealRequest.getDealTimestamp())
+            .dealAmount(dealRequest.getDealAmount())
+            .build();
+    }
+
+    private static DealResponse await(CompletableFuture<DealResponse> result, Duration timeout) {
+        try {
+            return result.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Write-behind import failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new ImportCapacityExceededException(
+                "Deal was not written within " + timeout.toMillis() + " ms, it may still be imported");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the deal to be written", e);
+        }
+    }
+}
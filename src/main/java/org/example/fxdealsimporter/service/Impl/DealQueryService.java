@@ -0,0 +1,60 @@
+package org.example.fxdealsimporter.service.Impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.fxdealsimporter.config.DealQueryProperties;
+import org.example.fxdealsimporter.dto.DealResponse;
+import org.example.fxdealsimporter.dto.DealSearchCriteria;
+import org.example.fxdealsimporter.dto.DealSearchCursor;
+import org.example.fxdealsimporter.entity.Deal;
+import org.example.fxdealsimporter.exception.InvalidSearchException;
+import org.example.fxdealsimporter.mapper.DealMapper;
+import org.example.fxdealsimporter.repository.DealQueryRepository;
+import org.example.fxdealsimporter.service.IDealQueryService;
+import org.springframework.stereotype.Service;
+
+import java.util.function.Consumer;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DealQueryService implements IDealQueryService {
+
+    private final DealQueryRepository dealQueryRepository;
+    private final DealMapper dealMapper;
+    private final DealQueryProperties queryProperties;
+
+    @Override
+    public String searchDeals(DealSearchCriteria criteria, Consumer<DealResponse> dealConsumer) {
+        int limit = criteria.getLimit() != null ? criteria.getLimit() : queryProperties.getDefaultPageSize();
+        if (limit < 1 || limit > queryProperties.getMaxPageSize()) {
+            throw new InvalidSearchException("Limit must be between 1 and " + queryProperties.getMaxPageSize());
+        }
+        if (criteria.getFromTimestamp() != null && criteria.getToTimestamp() != null
+                && !criteria.getFromTimestamp().isBefore(criteria.getToTimestamp())) {
+            throw new InvalidSearchException("From timestamp must be before to timestamp");
+        }
+        if (criteria.getMinAmount() != null && criteria.getMaxAmount() != null
+                && criteria.getMinAmount().compareTo(criteria.getMaxAmount()) > 0) {
+            throw new InvalidSearchException("Minimum amount cannot be greater than maximum amount");
+        }
+        DealSearchCursor after = criteria.getCursor() != null ? DealSearchCursor.decode(criteria.getCursor()) : null;
+
+        // One extra row tells whether another page exists without a COUNT query.
+        Deal[] last = new Deal[1];
+        int[] rows = new int[1];
+        dealQueryRepository.search(criteria, after, limit + 1, deal -> {
+            if (++rows[0] > limit) {
+                return;
+            }
+            last[0] = deal;
+            dealConsumer.accept(dealMapper.toResponse(deal));
+        });
+        log.debug("Deal search returned {} rows", Math.min(rows[0], limit));
+
+        if (rows[0] <= limit) {
+            return null;
+        }
+        return new DealSearchCursor(last[0].getDealTimestamp(), last[0].getDealUniqueId()).encode();
+    }
+}
@@ -2,20 +2,38 @@ package org.example.fxdealsimporter.service.Impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.fxdealsimporter.aggregation.DealAggregates;
+import org.example.fxdealsimporter.config.DealImportProperties;
+import org.example.fxdealsimporter.config.DealImportProperties.DuplicateStrategy;
+import org.example.fxdealsimporter.dedup.DealIdIndex;
 import org.example.fxdealsimporter.dto.BatchImportResponse;
 import org.example.fxdealsimporter.dto.DealRequest;
 import org.example.fxdealsimporter.dto.DealResponse;
+import org.example.fxdealsimporter.dto.ImportSummary;
 import org.example.fxdealsimporter.entity.Deal;
 import org.example.fxdealsimporter.exception.DuplicateDealException;
 import org.example.fxdealsimporter.exception.InvalidDealException;
 import org.example.fxdealsimporter.mapper.DealMapper;
+import org.example.fxdealsimporter.metrics.DealImportMetrics;
+import org.example.fxdealsimporter.metrics.DealImportMetrics.Outcome;
+import org.example.fxdealsimporter.metrics.DealImportMetrics.Path;
+import org.example.fxdealsimporter.metrics.DealImportMetrics.Stage;
+import org.example.fxdealsimporter.repository.DealBatch;
+import org.example.fxdealsimporter.repository.DealBatchRepository;
 import org.example.fxdealsimporter.repository.DealRepository;
 import org.example.fxdealsimporter.service.ICurrencyValidationService;
 import org.example.fxdealsimporter.service.IDealService;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -23,68 +41,534 @@ import java.util.List;
 public class DealService implements IDealService {
     
     private final DealRepository dealRepository;
+    private final DealBatchRepository dealBatchRepository;
     private final DealMapper dealMapper;
     private final ICurrencyValidationService currencyValidationService;
+    private final DealImportProperties importProperties;
+    private final PartitionedImportExecutor partitionedImportExecutor;
+    private final DealIdIndex dealIdIndex;
+    private final DealAggregates dealAggregates;
+    private final DealImportMetrics importMetrics;
     
     @Override
     public DealResponse importDeal(DealRequest dealRequest) {
-        if (dealRequest == null) {
-            throw new InvalidDealException("Deal request cannot be null");
+        try {
+            long started = System.nanoTime();
+            validate(dealRequest);
+            importMetrics.recordStage(Stage.VALIDATION, Path.SINGLE, started);
+            
+            log.debug("Importing deal with ID: {}", dealRequest.getDealUniqueId());
+            
+            if (importProperties.getDuplicateStrategy() == DuplicateStrategy.INSERT_FIRST) {
+                return insertFirst(dealRequest);
+            }
+            
+            started = System.nanoTime();
+            if (dealIdIndex.mightContain(dealRequest.getDealUniqueId())) {
+                if (dealBatchRepository.exists(dealRequest.getDealUniqueId())) {
+                    log.debug("Duplicate deal detected with ID: {}", dealRequest.getDealUniqueId());
+                    throw duplicate(dealRequest.getDealUniqueId());
+                }
+                dealIdIndex.recordFalsePositives(1);
+            }
+            importMetrics.recordStage(Stage.DUPLICATE_CHECK, Path.SINGLE, started);
+            
+            started = System.nanoTime();
+            Deal deal = dealMapper.toEntity(dealRequest);
+            importMetrics.recordStage(Stage.MAPPING, Path.SINGLE, started);
+            
+            started = System.nanoTime();
+            Deal savedDeal;
+            try {
+                savedDeal = save(deal);
+            } catch (DataIntegrityViolationException e) {
+                if (dealBatchRepository.exists(dealRequest.getDealUniqueId())) {
+                    log.debug("Concurrent duplicate deal detected with ID: {}", dealRequest.getDealUniqueId());
+                    dealIdIndex.add(dealRequest.getDealUniqueId());
+                    throw duplicate(dealRequest.getDealUniqueId());
+                }
+                throw e;
+            }
+            dealIdIndex.add(savedDeal.getDealUniqueId());
+            dealAggregates.record(savedDeal);
+            importMetrics.recordStage(Stage.PERSIST, Path.SINGLE, started);
+            log.debug("Deal imported successfully with ID: {}", savedDeal.getDealUniqueId());
+            
+            importMetrics.recordOutcome(Outcome.IMPORTED, dealRequest);
+            return dealMapper.toResponse(savedDeal);
+        } catch (RuntimeException e) {
+            importMetrics.recordOutcome(DealImportMetrics.outcomeOf(e), dealRequest);
+            throw e;
         }
-        
-        currencyValidationService.validateDealRequest(dealRequest);
-        
-        log.info("Importing deal with ID: {}", dealRequest.getDealUniqueId());
-        
-        currencyValidationService.validateCurrencies(
-            dealRequest.getFromCurrencyIsoCode(), 
-            dealRequest.getToCurrencyIsoCode()
-        );
-        
-        if (dealRepository.existsByDealUniqueId(dealRequest.getDealUniqueId())) {
-            log.warn("Duplicate deal detected with ID: {}", dealRequest.getDealUniqueId());
-            throw new DuplicateDealException("Deal with ID " + dealRequest.getDealUniqueId() + " already exists");
+    }
+    
+    // JPA only reaches the primary datasource, so sharded deals are inserted through the routing repository.
+    private Deal save(Deal deal) {
+        if (dealBatchRepository.shardCount() <= 1) {
+            return dealRepository.save(deal);
         }
-        
+        deal.setCreatedAt(LocalDateTime.now());
+        dealBatchRepository.insert(deal);
+        return deal;
+    }
+    
+    private DealResponse insertFirst(DealRequest dealRequest) {
+        long started = System.nanoTime();
         Deal deal = dealMapper.toEntity(dealRequest);
-        Deal savedDeal = dealRepository.save(deal);
-        log.info("Deal imported successfully with ID: {}", savedDeal.getDealUniqueId());
+        deal.setCreatedAt(LocalDateTime.now());
+        importMetrics.recordStage(Stage.MAPPING, Path.SINGLE, started);
+        
+        started = System.nanoTime();
+        try {
+            dealBatchRepository.insert(deal);
+        } catch (DuplicateKeyException e) {
+            log.debug("Duplicate deal detected with ID: {}", dealRequest.getDealUniqueId());
+            dealIdIndex.add(dealRequest.getDealUniqueId());
+            throw duplicate(dealRequest.getDealUniqueId());
+        }
+        dealIdIndex.add(deal.getDealUniqueId());
+        dealAggregates.record(deal);
+        importMetrics.recordStage(Stage.PERSIST, Path.SINGLE, started);
+        log.debug("Deal imported successfully with ID: {}", deal.getDealUniqueId());
         
-        return dealMapper.toResponse(savedDeal);
+        importMetrics.recordOutcome(Outcome.IMPORTED, dealRequest);
+        return dealMapper.toResponse(deal);
     }
     
-
-    
     @Override
-    public BatchImportResponse importDeals(List<DealRequest> dealRequests) {
-        log.info("Importing {} deals in batch", dealRequests.size());
+    public BatchImportResponse importDeals(List<DealRequest> dealRequests, boolean includeSuccessfulImports) {
+        long startedAt = System.nanoTime();
+        int total = dealRequests.size();
+        boolean[] succeeded = new boolean[total];
+        DealResponse[] imported = includeSuccessfulImports ? new DealResponse[total] : null;
+        RuntimeException[] failures = new RuntimeException[total];
+        int partitions = importAll(dealRequests, succeeded, imported, failures, positions -> { });
         
-        List<DealResponse> successfulImports = new ArrayList<>();
+        List<DealResponse> successfulImports = includeSuccessfulImports ? new ArrayList<>() : null;
         List<BatchImportResponse.DealError> errors = new ArrayList<>();
-        
-        for (DealRequest dealRequest : dealRequests) {
-            try {
-                DealResponse response = importDeal(dealRequest);
-                successfulImports.add(response);
-            } catch (Exception e) {
-                log.warn("Failed to import deal {}: {}", dealRequest.getDealUniqueId(), e.getMessage());
-                errors.add(BatchImportResponse.DealError.builder()
-                    .dealUniqueId(dealRequest.getDealUniqueId())
-                    .errorMessage(e.getMessage())
-                    .build());
+        int successful = 0;
+        int maxLoggedFailures = importProperties.getMaxLoggedFailures();
+        for (int i = 0; i < total; i++) {
+            if (succeeded[i]) {
+                successful++;
+                if (includeSuccessfulImports) {
+                    successfulImports.add(imported[i]);
+                }
+            } else {
+                BatchImportResponse.DealError error = error(dealRequests.get(i), failures[i]);
+                // Only the first few failures of a batch are logged; the rest are in the response and metrics.
+                if (errors.size() < maxLoggedFailures) {
+                    log.warn("Failed to import deal {}: {}", error.getDealUniqueId(), error.getErrorMessage());
+                }
+                errors.add(error);
             }
         }
+        if (errors.size() > maxLoggedFailures) {
+            log.warn("{} more failed deals in this batch were not logged", errors.size() - maxLoggedFailures);
+        }
         
-        log.info("Batch import completed: {} successful, {} failed", successfulImports.size(), errors.size());
+        logCompleted(successful, errors.size(), startedAt, partitions);
         
         return BatchImportResponse.builder()
-            .totalDeals(dealRequests.size())
-            .successfulDeals(successfulImports.size())
+            .totalDeals(total)
+            .successfulDeals(successful)
             .failedDeals(errors.size())
             .successfulImports(successfulImports)
             .errors(errors)
             .build();
     }
     
-
-}
\ No newline at end of file
+    @Override
+    public ImportSummary importDeals(List<DealRequest> dealRequests, Consumer<BatchImportResponse.DealError> errorSink) {
+        long startedAt = System.nanoTime();
+        int total = dealRequests.size();
+        boolean[] succeeded = new boolean[total];
+        RuntimeException[] failures = new RuntimeException[total];
+        ImportSummary summary = new ImportSummary(total, 0, 0);
+        int maxLoggedFailures = importProperties.getMaxLoggedFailures();
+        // Chunks finish on the import threads; the sink gets their failures one chunk at a time.
+        int partitions = importAll(dealRequests, succeeded, null, failures, positions -> {
+            synchronized (summary) {
+                for (int i : positions) {
+                    if (succeeded[i]) {
+                        summary.setSuccessfulDeals(summary.getSuccessfulDeals() + 1);
+                        continue;
+                    }
+                    BatchImportResponse.DealError error = error(dealRequests.get(i), failures[i]);
+                    summary.setFailedDeals(summary.getFailedDeals() + 1);
+                    if (summary.getFailedDeals() <= maxLoggedFailures) {
+                        log.warn("Failed to import deal {}: {}", error.getDealUniqueId(), error.getErrorMessage());
+                    }
+                    errorSink.accept(error);
+                }
+            }
+        });
+        if (summary.getFailedDeals() > maxLoggedFailures) {
+            log.warn("{} more failed deals in this batch were not logged", summary.getFailedDeals() - maxLoggedFailures);
+        }
+        logCompleted(summary.getSuccessfulDeals(), summary.getFailedDeals(), startedAt, partitions);
+        return summary;
+    }
+    
+    private void logCompleted(long successful, long failed, long startedAt, int partitions) {
+        long elapsedMillis = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+        log.info("Batch import completed: {} successful, {} failed in {} ms ({} deals/s, {} partitions, parallelism {})",
+            successful, failed, elapsedMillis, (successful + failed) * 1000L / elapsedMillis,
+            partitions, partitionedImportExecutor.getParallelism());
+    }
+    
+    @Override
+    public void importGroup(List<DealRequest> dealRequests, DealResponse[] imported, RuntimeException[] failures) {
+        importAll(dealRequests, new boolean[dealRequests.size()], imported, failures, positions -> { });
+    }
+    
+    /**
+     * Imports the deals and reports each outcome by position. {@code settled} is called with the positions whose
+     * outcome is final: first the deals rejected by validation, then each chunk once it is done.
+     */
+    private int importAll(List<DealRequest> dealRequests, boolean[] succeeded, DealResponse[] imported,
+                          RuntimeException[] failures, Consumer<List<Integer>> settled) {
+        log.debug("Importing {} deals in batch", dealRequests.size());
+        long startedAt = System.nanoTime();
+        importMetrics.recordBatchSize(dealRequests.size());
+        
+        int total = dealRequests.size();
+        List<Integer> candidates = new ArrayList<>(total);
+        List<Integer> rejected = new ArrayList<>();
+        Set<String> seenIds = new HashSet<>();
+        for (int i = 0; i < total; i++) {
+            DealRequest dealRequest = dealRequests.get(i);
+            try {
+                validate(dealRequest);
+                if (!seenIds.add(dealRequest.getDealUniqueId())) {
+                    throw duplicate(dealRequest.getDealUniqueId());
+                }
+                candidates.add(i);
+            } catch (RuntimeException e) {
+                importMetrics.recordOutcome(DealImportMetrics.outcomeOf(e), dealRequest);
+                failures[i] = e;
+                rejected.add(i);
+            }
+        }
+        importMetrics.recordStage(Stage.VALIDATION, Path.BATCH, startedAt);
+        if (!rejected.isEmpty()) {
+            settled.accept(rejected);
+        }
+        
+        int batchSize = Math.max(1, importProperties.getBatchSize());
+        List<List<Runnable>> partitionsByShard = new ArrayList<>();
+        int partitionCount = 0;
+        for (List<Integer> shardCandidates : groupByShard(dealRequests, candidates)) {
+            List<Runnable> shardPartitions = new ArrayList<>();
+            for (int from = 0; from < shardCandidates.size(); from += batchSize) {
+                List<Integer> positions = shardCandidates.subList(from,
+                    Math.min(from + batchSize, shardCandidates.size()));
+                shardPartitions.add(() -> {
+                    importChunk(dealRequests, positions, succeeded, imported, failures);
+                    settled.accept(positions);
+                });
+            }
+            partitionsByShard.add(shardPartitions);
+            partitionCount += shardPartitions.size();
+        }
+        // Round-robin over the shards so every shard is written to from the start of the batch.
+        List<Runnable> partitions = new ArrayList<>(partitionCount);
+        for (int round = 0; partitions.size() < partitionCount; round++) {
+            for (List<Runnable> shardPartitions : partitionsByShard) {
+                if (round < shardPartitions.size()) {
+                    partitions.add(shardPartitions.get(round));
+                }
+            }
+        }
+        partitionedImportExecutor.runAll(partitions);
+        return partitions.size();
+    }
+    
+    /**
+     * Splits the candidates by the shard owning each deal, so every chunk is inserted in a single shard transaction.
+     */
+    private List<List<Integer>> groupByShard(List<DealRequest> dealRequests, List<Integer> candidates) {
+        int shards = dealBatchRepository.shardCount();
+        if (shards <= 1) {
+            return List.of(candidates);
+        }
+        List<List<Integer>> candidatesByShard = new ArrayList<>(shards);
+        for (int shard = 0; shard < shards; shard++) {
+            candidatesByShard.add(new ArrayList<>());
+        }
+        for (int i : candidates) {
+            candidatesByShard.get(dealBatchRepository.shardOf(dealRequests.get(i).getDealUniqueId())).add(i);
+        }
+        candidatesByShard.removeIf(List::isEmpty);
+        return candidatesByShard;
+    }
+    
+    // A chunk the database cannot take fails on its own; other chunks may already have committed, so the
+    // batch is still reported deal by deal.
+    private void importChunk(List<DealRequest> dealRequests, List<Integer> positions,
+                             boolean[] succeeded, DealResponse[] imported, RuntimeException[] failures) {
+        try {
+            persistChunk(dealRequests, positions, succeeded, imported, failures);
+        } catch (DataAccessException e) {
+            log.warn("Import of a chunk of {} deals failed: {}", positions.size(), e.getMessage());
+            for (int i : positions) {
+                if (!succeeded[i] && failures[i] == null) {
+                    importMetrics.recordOutcome(Outcome.FAILED, dealRequests.get(i));
+                    failures[i] = e;
+                }
+            }
+        }
+    }
+    
+    private void persistChunk(List<DealRequest> dealRequests, List<Integer> positions,
+                              boolean[] succeeded, DealResponse[] imported, RuntimeException[] failures) {
+        long started = System.nanoTime();
+        boolean insertFirst = importProperties.getDuplicateStrategy() == DuplicateStrategy.INSERT_FIRST;
+        Set<String> existingIds = insertFirst
+            ? Set.of()
+            : findExistingIds(dealRequests, positions);
+        importMetrics.recordStage(Stage.DUPLICATE_CHECK, Path.BATCH, started);
+        
+        started = System.nanoTime();
+        ChunkRows rows = newRows(positions.size(), imported);
+        for (int i : positions) {
+            DealRequest dealRequest = dealRequests.get(i);
+            if (existingIds.contains(dealRequest.getDealUniqueId())) {
+                importMetrics.recordOutcome(Outcome.DUPLICATE, dealRequest);
+                failures[i] = duplicate(dealRequest.getDealUniqueId());
+                continue;
+            }
+            rows.add(i, dealRequest);
+        }
+        importMetrics.recordStage(Stage.MAPPING, Path.BATCH, started);
+        if (rows.size() == 0) {
+            return;
+        }
+        
+        started = System.nanoTime();
+        if (!insertBatch(rows, dealRequests, succeeded)) {
+            if (insertFirst) {
+                // One lookup finds the duplicates that broke the batch; the rest go in again as one batch.
+                rows = withoutExisting(rows, dealRequests, imported, failures);
+                if (rows.size() == 0 || insertBatch(rows, dealRequests, succeeded)) {
+                    importMetrics.recordStage(Stage.PERSIST, Path.BATCH, started);
+                    return;
+                }
+            }
+            insertOneByOne(rows, dealRequests, succeeded, failures);
+        }
+        importMetrics.recordStage(Stage.PERSIST, Path.BATCH, started);
+    }
+    
+    // A rejected batch rolls back as a whole, so false means none of its rows were inserted.
+    private boolean insertBatch(ChunkRows rows, List<DealRequest> dealRequests, boolean[] succeeded) {
+        try {
+            rows.insertAll();
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Batch insert of {} deals rejected: {}", rows.size(), e.getMessage());
+            return false;
+        }
+        for (int row = 0; row < rows.size(); row++) {
+            markImported(rows, row, dealRequests, succeeded);
+        }
+        return true;
+    }
+    
+    private ChunkRows withoutExisting(ChunkRows rows, List<DealRequest> dealRequests, DealResponse[] imported,
+                                      RuntimeException[] failures) {
+        List<String> dealUniqueIds = new ArrayList<>(rows.size());
+        for (int row = 0; row < rows.size(); row++) {
+            dealUniqueIds.add(dealRequests.get(rows.position(row)).getDealUniqueId());
+        }
+        Set<String> existingIds = dealBatchRepository.findExistingIds(dealUniqueIds);
+        ChunkRows remaining = newRows(rows.size() - existingIds.size(), imported);
+        for (int row = 0; row < rows.size(); row++) {
+            int i = rows.position(row);
+            DealRequest dealRequest = dealRequests.get(i);
+            if (existingIds.contains(dealRequest.getDealUniqueId())) {
+                dealIdIndex.add(dealRequest.getDealUniqueId());
+                importMetrics.recordOutcome(Outcome.DUPLICATE, dealRequest);
+                failures[i] = duplicate(dealRequest.getDealUniqueId());
+            } else {
+                remaining.add(i, dealRequest);
+            }
+        }
+        return remaining;
+    }
+    
+    private void insertOneByOne(ChunkRows rows, List<DealRequest> dealRequests, boolean[] succeeded,
+                                RuntimeException[] failures) {
+        log.debug("Retrying {} deals one by one", rows.size());
+        for (int row = 0; row < rows.size(); row++) {
+            int i = rows.position(row);
+            DealRequest dealRequest = dealRequests.get(i);
+            try {
+                rows.insert(row);
+                markImported(rows, row, dealRequests, succeeded);
+            } catch (DuplicateKeyException e) {
+                dealIdIndex.add(dealRequest.getDealUniqueId());
+                importMetrics.recordOutcome(Outcome.DUPLICATE, dealRequest);
+                failures[i] = duplicate(dealRequest.getDealUniqueId());
+            } catch (RuntimeException e) {
+                importMetrics.recordOutcome(Outcome.FAILED, dealRequest);
+                failures[i] = e;
+            }
+        }
+    }
+    
+    private ChunkRows newRows(int capacity, DealResponse[] imported) {
+        return imported == null ? new ColumnarRows(capacity) : new EntityRows(capacity, imported);
+    }
+    
+    private void markImported(ChunkRows rows, int row, List<DealRequest> dealRequests, boolean[] succeeded) {
+        int i = rows.position(row);
+        DealRequest dealRequest = dealRequests.get(i);
+        dealIdIndex.add(dealRequest.getDealUniqueId());
+        rows.imported(row, dealRequest);
+        importMetrics.recordOutcome(Outcome.IMPORTED, dealRequest);
+        succeeded[i] = true;
+    }
+    
+    /**
+     * The deals of a chunk that survived the duplicate check, in the shape they are inserted in, each row
+     * remembering its position in the request.
+     */
+    private abstract class ChunkRows {
+        
+        final LocalDateTime createdAt = LocalDateTime.now();
+        private final int[] positions;
+        private int size;
+        
+        ChunkRows(int capacity) {
+            positions = new int[capacity];
+        }
+        
+        void add(int position, DealRequest dealRequest) {
+            positions[size++] = position;
+            append(dealRequest);
+        }
+        
+        int size() {
+            return size;
+        }
+        
+        int position(int row) {
+            return positions[row];
+        }
+        
+        abstract void append(DealRequest dealRequest);
+        
+        abstract void insertAll();
+        
+        abstract void insert(int row);
+        
+        abstract void imported(int row, DealRequest dealRequest);
+    }
+    
+    // One entity per deal, kept to build the responses.
+    private final class EntityRows extends ChunkRows {
+        
+        private final List<Deal> deals;
+        private final DealResponse[] imported;
+        
+        EntityRows(int capacity, DealResponse[] imported) {
+            super(capacity);
+            this.deals = new ArrayList<>(capacity);
+            this.imported = imported;
+        }
+        
+        @Override
+        void append(DealRequest dealRequest) {
+            Deal deal = dealMapper.toEntity(dealRequest);
+            deal.setCreatedAt(createdAt);
+            deals.add(deal);
+        }
+        
+        @Override
+        void insertAll() {
+            dealBatchRepository.insertAll(deals);
+        }
+        
+        @Override
+        void insert(int row) {
+            dealBatchRepository.insert(deals.get(row));
+        }
+        
+        @Override
+        void imported(int row, DealRequest dealRequest) {
+            dealAggregates.record(deals.get(row));
+            imported[position(row)] = dealMapper.toResponse(deals.get(row));
+        }
+    }
+    
+    // Compact mode builds no responses, so the deals go straight into a columnar batch.
+    private final class ColumnarRows extends ChunkRows {
+        
+        private final DealBatch batch;
+        
+        ColumnarRows(int capacity) {
+            super(capacity);
+            this.batch = new DealBatch(capacity, createdAt);
+        }
+        
+        @Override
+        void append(DealRequest dealRequest) {
+            batch.add(dealRequest);
+        }
+        
+        @Override
+        void insertAll() {
+            dealBatchRepository.insertAll(batch);
+        }
+        
+        @Override
+        void insert(int row) {
+            dealBatchRepository.insert(batch, row);
+        }
+        
+        @Override
+        void imported(int row, DealRequest dealRequest) {
+            dealAggregates.record(dealRequest, createdAt);
+        }
+    }
+    
+    private Set<String> findExistingIds(List<DealRequest> dealRequests, List<Integer> positions) {
+        List<String> possibleDuplicates = new ArrayList<>();
+        for (int i : positions) {
+            String dealUniqueId = dealRequests.get(i).getDealUniqueId();
+            if (dealIdIndex.mightContain(dealUniqueId)) {
+                possibleDuplicates.add(dealUniqueId);
+            }
+        }
+        if (possibleDuplicates.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> existingIds = dealBatchRepository.findExistingIds(possibleDuplicates);
+        dealIdIndex.recordFalsePositives(possibleDuplicates.size() - existingIds.size());
+        return existingIds;
+    }
+    
+    private void validate(DealRequest dealRequest) {
+        if (dealRequest == null) {
+            throw new InvalidDealException("Deal request cannot be null");
+        }
+        
+        currencyValidationService.validateDealRequest(dealRequest);
+        currencyValidationService.validateCurrencies(
+            dealRequest.getFromCurrencyIsoCode(), 
+            dealRequest.getToCurrencyIsoCode()
+        );
+    }
+    
+    private static DuplicateDealException duplicate(String dealUniqueId) {
+        return new DuplicateDealException("Deal with ID " + dealUniqueId + " already exists");
+    }
+    
+    private static BatchImportResponse.DealError error(DealRequest dealRequest, RuntimeException e) {
+        return BatchImportResponse.DealError.builder()
+            .dealUniqueId(dealRequest != null ? dealRequest.getDealUniqueId() : null)
+            .errorMessage(e.getMessage())
+            .retriable(DealImportMetrics.outcomeOf(e) == Outcome.FAILED)
+            .build();
+    }
+}
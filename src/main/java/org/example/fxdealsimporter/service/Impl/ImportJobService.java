@@ -0,0 +1,307 @@
+package org.example.fxdealsimporter.service.Impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.fxdealsimporter.config.DealImportProperties;
+import org.example.fxdealsimporter.dto.BatchImportResponse;
+import org.example.fxdealsimporter.dto.DealRequest;
+import org.example.fxdealsimporter.dto.DealResponse;
+import org.example.fxdealsimporter.dto.ImportJobResponse;
+import org.example.fxdealsimporter.entity.Deal;
+import org.example.fxdealsimporter.entity.ImportJob;
+import org.example.fxdealsimporter.entity.ImportJobChunk;
+import org.example.fxdealsimporter.entity.ImportJobStatus;
+import org.example.fxdealsimporter.exception.ImportCapacityExceededException;
+import org.example.fxdealsimporter.exception.ImportJobNotFoundException;
+import org.example.fxdealsimporter.mapper.DealMapper;
+import org.example.fxdealsimporter.repository.DealBatchRepository;
+import org.example.fxdealsimporter.repository.ImportJobChunkRepository;
+import org.example.fxdealsimporter.repository.ImportJobRepository;
+import org.example.fxdealsimporter.service.IDealService;
+import org.example.fxdealsimporter.service.IImportJobService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImportJobService implements IImportJobService {
+
+    private static final List<ImportJobStatus> PENDING_STATUSES = List.of(ImportJobStatus.QUEUED, ImportJobStatus.RUNNING);
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 1024;
+
+    private final ImportJobRepository importJobRepository;
+    private final ImportJobChunkRepository importJobChunkRepository;
+    private final DealBatchRepository dealBatchRepository;
+    private final DealMapper dealMapper;
+    private final IDealService dealService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final DealImportProperties importProperties;
+
+    private final Set<String> scheduledJobIds = ConcurrentHashMap.newKeySet();
+    private ThreadPoolTaskExecutor executor;
+
+    @PostConstruct
+    void startWorkers() {
+        DealImportProperties.Jobs jobs = importProperties.getJobs();
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(jobs.getWorkerThreads());
+        executor.setMaxPoolSize(jobs.getWorkerThreads());
+        executor.setQueueCapacity(jobs.getQueueCapacity());
+        executor.setThreadNamePrefix("import-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+    }
+
+    @PreDestroy
+    void stopWorkers() {
+        executor.shutdown();
+    }
+
+    @Override
+    public ImportJobResponse submit(List<DealRequest> dealRequests) {
+        ImportJob job = importJobRepository.save(ImportJob.builder()
+            .jobId(UUID.randomUUID().toString())
+            .status(ImportJobStatus.QUEUED)
+            .totalDeals(dealRequests.size())
+            .requestPayload(write(dealRequests))
+            .build());
+
+        if (!schedule(job.getJobId())) {
+            importJobRepository.delete(job);
+            throw new ImportCapacityExceededException("Import job queue is full, retry later");
+        }
+        log.info("Import job {} queued with {} deals", job.getJobId(), job.getTotalDeals());
+        return toResponse(job);
+    }
+
+    @Override
+    public ImportJobResponse getJob(String jobId) {
+        return importJobRepository.findById(jobId)
+            .map(this::toResponse)
+            .orElseThrow(() -> new ImportJobNotFoundException("Import job " + jobId + " not found"));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingJobs() {
+        for (ImportJob job : importJobRepository.findByStatusInOrderByCreatedAt(PENDING_STATUSES)) {
+            if (scheduledJobIds.contains(job.getJobId())) {
+                continue;
+            }
+            if (schedule(job.getJobId())) {
+                log.info("Resuming import job {} at deal {} of {}", job.getJobId(), job.getProcessedDeals(), job.getTotalDeals());
+            } else {
+                log.warn("Import job queue is full, job {} stays queued until next restart", job.getJobId());
+            }
+        }
+    }
+
+    private boolean schedule(String jobId) {
+        scheduledJobIds.add(jobId);
+        try {
+            executor.execute(() -> {
+                try {
+                    run(jobId);
+                } finally {
+                    scheduledJobIds.remove(jobId);
+                }
+            });
+            return true;
+        } catch (TaskRejectedException e) {
+            scheduledJobIds.remove(jobId);
+            return false;
+        }
+    }
+
+    private void run(String jobId) {
+        ImportJob job = importJobRepository.findById(jobId).orElse(null);
+        if (job == null || !PENDING_STATUSES.contains(job.getStatus())) {
+            return;
+        }
+
+        try {
+            job.setStatus(ImportJobStatus.RUNNING);
+            job = importJobRepository.save(job);
+
+            List<DealRequest> dealRequests = objectMapper.readValue(job.getRequestPayload(), new TypeReference<>() {});
+            Map<Integer, ImportJobChunk> interrupted = new HashMap<>();
+            for (ImportJobChunk chunk : importJobChunkRepository.findByJobIdOrderByFirstDeal(jobId)) {
+                if (chunk.getResultPayload() == null) {
+                    interrupted.put(chunk.getFirstDeal(), chunk);
+                }
+            }
+            int batchSize = Math.max(1, importProperties.getBatchSize());
+
+            for (int from = job.getProcessedDeals(); from < dealRequests.size(); ) {
+                ImportJobChunk chunk = interrupted.get(from);
+                BatchImportResponse result;
+                if (chunk == null) {
+                    int dealCount = Math.min(batchSize, dealRequests.size() - from);
+                    List<DealRequest> chunkRequests = dealRequests.subList(from, from + dealCount);
+                    chunk = importJobChunkRepository.save(ImportJobChunk.builder()
+                        .jobId(jobId)
+                        .firstDeal(from)
+                        .dealCount(dealCount)
+                        .existingIds(write(dealBatchRepository.findExistingIds(dealUniqueIds(chunkRequests))))
+                        .build());
+                    result = dealService.importDeals(chunkRequests);
+                } else {
+                    log.info("Import job {} resumes interrupted chunk at deal {}", jobId, from);
+                    result = resumeChunk(dealRequests.subList(from, from + chunk.getDealCount()),
+                        objectMapper.readValue(chunk.getExistingIds(), new TypeReference<Set<String>>() {}));
+                }
+                job = recordChunk(job, chunk, result);
+                from += chunk.getDealCount();
+            }
+
+            List<DealResponse> successfulImports = new ArrayList<>();
+            List<BatchImportResponse.DealError> errors = new ArrayList<>();
+            for (ImportJobChunk chunk : importJobChunkRepository.findByJobIdOrderByFirstDeal(jobId)) {
+                BatchImportResponse result = read(chunk.getResultPayload());
+                successfulImports.addAll(result.getSuccessfulImports());
+                errors.addAll(result.getErrors());
+            }
+            job.setResultPayload(write(BatchImportResponse.builder()
+                .totalDeals(job.getTotalDeals())
+                .successfulDeals(job.getSuccessfulDeals())
+                .failedDeals(job.getFailedDeals())
+                .successfulImports(successfulImports)
+                .errors(errors)
+                .build()));
+            job.setStatus(ImportJobStatus.COMPLETED);
+            ImportJob completed = job;
+            transactionTemplate.executeWithoutResult(status -> {
+                importJobRepository.save(completed);
+                importJobChunkRepository.deleteByJobId(jobId);
+            });
+            log.info("Import job {} completed: {} successful, {} failed", jobId, job.getSuccessfulDeals(), job.getFailedDeals());
+        } catch (Exception e) {
+            log.error("Import job {} failed: {}", jobId, e.getMessage(), e);
+            job.setStatus(ImportJobStatus.FAILED);
+            String message = String.valueOf(e.getMessage());
+            job.setErrorMessage(message.length() > MAX_ERROR_MESSAGE_LENGTH ? message.substring(0, MAX_ERROR_MESSAGE_LENGTH) : message);
+            importJobRepository.save(job);
+        }
+    }
+
+    private ImportJob recordChunk(ImportJob job, ImportJobChunk chunk, BatchImportResponse result) {
+        chunk.setResultPayload(write(result));
+        job.setProcessedDeals(chunk.getFirstDeal() + chunk.getDealCount());
+        job.setSuccessfulDeals(job.getSuccessfulDeals() + result.getSuccessfulDeals());
+        job.setFailedDeals(job.getFailedDeals() + result.getFailedDeals());
+        return transactionTemplate.execute(status -> {
+            importJobChunkRepository.save(chunk);
+            return importJobRepository.save(job);
+        });
+    }
+
+    /**
+     * Imports a chunk whose first attempt was cut off by a restart. Deals of the chunk stored now but not when the
+     * chunk was claimed are its own inserts and count as imported; the rest are imported again.
+     */
+    private BatchImportResponse resumeChunk(List<DealRequest> dealRequests, Set<String> existingIds) {
+        Map<String, Deal> committed = new HashMap<>();
+        for (Deal deal : dealBatchRepository.findDeals(dealUniqueIds(dealRequests))) {
+            if (!existingIds.contains(deal.getDealUniqueId())) {
+                committed.put(deal.getDealUniqueId(), deal);
+            }
+        }
+
+        DealResponse[] recovered = new DealResponse[dealRequests.size()];
+        List<DealRequest> remaining = new ArrayList<>();
+        for (int i = 0; i < dealRequests.size(); i++) {
+            DealRequest dealRequest = dealRequests.get(i);
+            // Only the first occurrence of an ID was inserted; later ones are imported again and fail as duplicates.
+            Deal deal = dealRequest != null ? committed.remove(dealRequest.getDealUniqueId()) : null;
+            if (deal != null) {
+                recovered[i] = dealMapper.toResponse(deal);
+            } else {
+                remaining.add(dealRequest);
+            }
+        }
+        BatchImportResponse rest = dealService.importDeals(remaining);
+
+        List<DealResponse> successfulImports = new ArrayList<>();
+        Iterator<DealResponse> imported = rest.getSuccessfulImports().iterator();
+        DealResponse next = imported.hasNext() ? imported.next() : null;
+        int recoveredDeals = 0;
+        for (int i = 0; i < dealRequests.size(); i++) {
+            if (recovered[i] != null) {
+                successfulImports.add(recovered[i]);
+                recoveredDeals++;
+            } else if (next != null && dealRequests.get(i) != null
+                    && next.getDealUniqueId().equals(dealRequests.get(i).getDealUniqueId())) {
+                successfulImports.add(next);
+                next = imported.hasNext() ? imported.next() : null;
+            }
+        }
+        return BatchImportResponse.builder()
+            .totalDeals(dealRequests.size())
+            .successfulDeals(recoveredDeals + rest.getSuccessfulDeals())
+            .failedDeals(rest.getFailedDeals())
+            .successfulImports(successfulImports)
+            .errors(rest.getErrors())
+            .build();
+    }
+
+    private static Set<String> dealUniqueIds(List<DealRequest> dealRequests) {
+        Set<String> ids = new HashSet<>();
+        for (DealRequest dealRequest : dealRequests) {
+            if (dealRequest != null && dealRequest.getDealUniqueId() != null) {
+                ids.add(dealRequest.getDealUniqueId());
+            }
+        }
+        return ids;
+    }
+
+    private ImportJobResponse toResponse(ImportJob job) {
+        return ImportJobResponse.builder()
+            .jobId(job.getJobId())
+            .status(job.getStatus())
+            .totalDeals(job.getTotalDeals())
+            .processedDeals(job.getProcessedDeals())
+            .successfulDeals(job.getSuccessfulDeals())
+            .failedDeals(job.getFailedDeals())
+            .errorMessage(job.getErrorMessage())
+            .createdAt(job.getCreatedAt())
+            .updatedAt(job.getUpdatedAt())
+            .result(job.getResultPayload() != null ? read(job.getResultPayload()) : null)
+            .build();
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise import job state", e);
+        }
+    }
+
+    private BatchImportResponse read(String payload) {
+        try {
+            return objectMapper.readValue(payload, BatchImportResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read import job result", e);
+        }
+    }
+}
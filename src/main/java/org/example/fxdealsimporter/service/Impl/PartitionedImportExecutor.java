@@ -0,0 +1,103 @@
+package org.example.fxdealsimporter.service.Impl;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.fxdealsimporter.config.DealImportProperties;
+import org.example.fxdealsimporter.sharding.DealShards;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@Component
+@Slf4j
+public class PartitionedImportExecutor {
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    private final int parallelism;
+    private final ExecutorService executor;
+
+    @Autowired
+    public PartitionedImportExecutor(DealImportProperties importProperties, DataSource dataSource,
+                                     DealShards dealShards) {
+        this(importProperties.getParallelism(), maximumPoolSize(dataSource), dealShards.count());
+    }
+
+    public PartitionedImportExecutor(int requestedParallelism, int connectionPoolSize) {
+        this(requestedParallelism, connectionPoolSize, 1);
+    }
+
+    /**
+     * With several shards the requested parallelism applies per shard, since each shard has its own pool.
+     */
+    public PartitionedImportExecutor(int requestedParallelism, int connectionPoolSize, int shards) {
+        int connectionLimit = Math.max(1, connectionPoolSize - 1);
+        int perShard = Math.max(1, Math.min(requestedParallelism, connectionLimit));
+        if (perShard < requestedParallelism) {
+            log.warn("Import parallelism capped at {} to fit a connection pool of {}", perShard, connectionPoolSize);
+        }
+        this.parallelism = perShard * Math.max(1, shards);
+        this.executor = parallelism > 1
+            ? Executors.newFixedThreadPool(parallelism, new CustomizableThreadFactory("deal-import-"))
+            : null;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void runAll(List<Runnable> partitions) {
+        if (executor == null || partitions.size() < 2) {
+            partitions.forEach(Runnable::run);
+            return;
+        }
+
+        List<Future<?>> futures = new ArrayList<>(partitions.size());
+        for (Runnable partition : partitions) {
+            futures.add(executor.submit(partition));
+        }
+
+        RuntimeException failure = null;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException runtime
+                        ? runtime
+                        : new IllegalStateException(e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(f -> f.cancel(true));
+                throw new IllegalStateException("Interrupted while importing deals", e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private static int maximumPoolSize(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikari) {
+            return hikari.getMaximumPoolSize();
+        }
+        return DEFAULT_POOL_SIZE;
+    }
+}
@@ -0,0 +1,159 @@
+package org.example.fxdealsimporter.service.Impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.fxdealsimporter.config.DealImportProperties;
+import org.example.fxdealsimporter.config.DealImportProperties.IngestionMode;
+import org.example.fxdealsimporter.dto.DealRequest;
+import org.example.fxdealsimporter.dto.DealResponse;
+import org.example.fxdealsimporter.exception.ImportCapacityExceededException;
+import org.example.fxdealsimporter.service.IDealService;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffers single deals in a bounded queue and writes them in group commits from one writer thread.
+ * Each caller's future completes once the transaction holding its deal has committed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WriteBehindDealWriter {
+
+    private final IDealService dealService;
+    private final DealImportProperties importProperties;
+
+    private BlockingQueue<PendingDeal> queue;
+    private Thread writer;
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() {
+        if (importProperties.getIngestionMode() != IngestionMode.WRITE_BEHIND) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(importProperties.getWriteBehind().getQueueCapacity());
+        running = true;
+        writer = new Thread(this::drain, "deal-write-behind");
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        // The writer flushes whatever is still queued before exiting.
+        running = false;
+        writer.join();
+        failQueued();
+    }
+    
+    // Once the writer is gone nothing completes these futures, so their callers would wait for nothing.
+    private void failQueued() {
+        PendingDeal pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result.completeExceptionally(new ImportCapacityExceededException("Deal ingestion is shutting down"));
+        }
+    }
+
+    public CompletableFuture<DealResponse> submit(DealRequest dealRequest) {
+        if (!running) {
+            throw new IllegalStateException("Write-behind ingestion is not running");
+        }
+        PendingDeal pending = new PendingDeal(dealRequest);
+        if (!queue.offer(pending)) {
+            throw new ImportCapacityExceededException("Deal ingestion queue is full, retry later");
+        }
+        return pending.result;
+    }
+
+    private void drain() {
+        DealImportProperties.WriteBehind settings = importProperties.getWriteBehind();
+        int maxGroupSize = Math.max(1, settings.getMaxGroupSize());
+        long maxGroupDelayNanos = settings.getMaxGroupDelay().toNanos();
+        List<PendingDeal> group = new ArrayList<>(maxGroupSize);
+
+        try {
+            drain(group, maxGroupSize, maxGroupDelayNanos);
+        } finally {
+            running = false;
+            failQueued();
+        }
+    }
+
+    private void drain(List<PendingDeal> group, int maxGroupSize, long maxGroupDelayNanos) {
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingDeal first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                long deadline = System.nanoTime() + maxGroupDelayNanos;
+                while (group.size() < maxGroupSize) {
+                    queue.drainTo(group, maxGroupSize - group.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (group.size() >= maxGroupSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingDeal next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                }
+                write(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingDeal> group) {
+        int size = group.size();
+        List<DealRequest> dealRequests = new ArrayList<>(size);
+        for (PendingDeal pending : group) {
+            dealRequests.add(pending.dealRequest);
+        }
+        DealResponse[] imported = new DealResponse[size];
+        RuntimeException[] failures = new RuntimeException[size];
+        try {
+            dealService.importGroup(dealRequests, imported, failures);
+        } catch (Throwable e) {
+            log.error("Write-behind group of {} deals failed: {}", size, e.getMessage(), e);
+            group.forEach(pending -> pending.result.completeExceptionally(e));
+            if (e instanceof Error error) {
+                throw error;
+            }
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            if (imported[i] != null) {
+                group.get(i).result.complete(imported[i]);
+            } else {
+                group.get(i).result.completeExceptionally(failures[i]);
+            }
+        }
+    }
+
+    private static final class PendingDeal {
+        private final DealRequest dealRequest;
+        private final CompletableFuture<DealResponse> result = new CompletableFuture<>();
+
+        private PendingDeal(DealRequest dealRequest) {
+            this.dealRequest = dealRequest;
+        }
+    }
+}
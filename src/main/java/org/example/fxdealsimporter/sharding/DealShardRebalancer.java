@@ -0,0 +1,123 @@
+package org.example.fxdealsimporter.sharding;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.fxdealsimporter.config.DealShardingProperties;
+import org.example.fxdealsimporter.dto.ShardRebalanceReport;
+import org.example.fxdealsimporter.entity.Deal;
+import org.example.fxdealsimporter.exception.ShardRebalanceInProgressException;
+import org.example.fxdealsimporter.repository.DealBatchRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves every deal to the shard that owns it under the current shard count. After appending shards, set
+ * {@code deals.sharding.previous-shard-count} to the old count, restart, run the rebalance, then set it back to 0.
+ * <p>
+ * Each page is copied to its owners before it is deleted from the shard it was read from, so an interrupted run
+ * leaves deals on both shards and the next run finishes the move. Deals already on the owning shard are not copied
+ * again.
+ * <p>
+ * Pages come from {@link DealBatchRepository#findIdsAfter}, which reads the deal_ids registry on a partitioned
+ * table. The registry also holds the IDs of retired partitions; those have no row in deals and are moved as registry
+ * entries only, so they stay duplicates once the previous shard count is no longer consulted.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DealShardRebalancer {
+
+    private final DealShards dealShards;
+    private final DealBatchRepository dealBatchRepository;
+    private final DealShardingProperties shardingProperties;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public ShardRebalanceReport rebalance() {
+        if (!running.compareAndSet(false, true)) {
+            throw new ShardRebalanceInProgressException("A shard rebalance is already running");
+        }
+        try {
+            return rebalanceAll();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private ShardRebalanceReport rebalanceAll() {
+        long started = System.currentTimeMillis();
+        int pageSize = Math.max(1, shardingProperties.getRebalanceBatchSize());
+        long scanned = 0;
+        long moved = 0;
+        for (int source = 0; source < dealShards.count(); source++) {
+            long movedFromSource = 0;
+            String lastId = null;
+            List<String> page;
+            do {
+                page = dealBatchRepository.findIdsAfter(source, lastId, pageSize);
+                scanned += page.size();
+                movedFromSource += move(source, page);
+                if (!page.isEmpty()) {
+                    lastId = page.get(page.size() - 1);
+                }
+            } while (page.size() == pageSize);
+            if (movedFromSource > 0) {
+                log.info("Moved {} deals off shard {}", movedFromSource, source);
+            }
+            moved += movedFromSource;
+        }
+
+        List<Long> dealsPerShard = new ArrayList<>(dealShards.count());
+        for (int shard = 0; shard < dealShards.count(); shard++) {
+            dealsPerShard.add(dealBatchRepository.count(shard));
+        }
+        long elapsed = System.currentTimeMillis() - started;
+        log.info("Shard rebalance scanned {} deals and moved {} in {} ms, deals per shard: {}",
+            scanned, moved, elapsed, dealsPerShard);
+        return ShardRebalanceReport.builder()
+            .shardCount(dealShards.count())
+            .scannedDeals(scanned)
+            .movedDeals(moved)
+            .dealsPerShard(dealsPerShard)
+            .durationMillis(elapsed)
+            .build();
+    }
+
+    private int move(int source, List<String> page) {
+        Map<Integer, List<String>> misplaced = new TreeMap<>();
+        for (String dealUniqueId : page) {
+            int owner = dealShards.shardOf(dealUniqueId);
+            if (owner != source) {
+                misplaced.computeIfAbsent(owner, shard -> new ArrayList<>()).add(dealUniqueId);
+            }
+        }
+        int moved = 0;
+        for (Map.Entry<Integer, List<String>> entry : misplaced.entrySet()) {
+            int owner = entry.getKey();
+            List<String> ids = entry.getValue();
+            Set<String> alreadyCopied = dealBatchRepository.findExistingIds(owner, ids);
+            List<String> toCopy = ids.stream().filter(id -> !alreadyCopied.contains(id)).toList();
+            if (!toCopy.isEmpty()) {
+                List<Deal> deals = dealBatchRepository.findDeals(source, toCopy);
+                if (!deals.isEmpty()) {
+                    dealBatchRepository.insertAll(owner, deals);
+                }
+                if (dealBatchRepository.isPartitioned() && deals.size() < toCopy.size()) {
+                    Map<String, LocalDateTime> retired = dealBatchRepository.findRegisteredIds(source, toCopy);
+                    deals.forEach(deal -> retired.remove(deal.getDealUniqueId()));
+                    dealBatchRepository.registerIds(owner, retired);
+                }
+            }
+            dealBatchRepository.deleteAll(source, ids);
+            moved += ids.size();
+        }
+        return moved;
+    }
+}
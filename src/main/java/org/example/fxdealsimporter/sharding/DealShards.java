@@ -0,0 +1,160 @@
+package org.example.fxdealsimporter.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import liquibase.integration.spring.SpringLiquibase;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.example.fxdealsimporter.config.DealShardingProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseProperties;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The datasources holding the deals table. Shard 0 is the primary datasource; the shards from
+ * {@code deals.sharding.shards} get their own connection pools, which are not Spring beans so the primary stays
+ * the only {@link DataSource} the rest of the application sees. Each deal lives on
+ * {@link JumpConsistentHash#bucket(String, int)} of its ID.
+ */
+@Component
+@Slf4j
+public class DealShards {
+
+    private final List<Shard> shards;
+    private final int previousShardCount;
+    private final List<HikariDataSource> shardDataSources = new ArrayList<>();
+
+    @Autowired
+    public DealShards(DataSource dataSource, PlatformTransactionManager transactionManager,
+                      DealShardingProperties shardingProperties,
+                      ObjectProvider<LiquibaseProperties> liquibaseProperties) {
+        List<Shard> shards = new ArrayList<>();
+        shards.add(new Shard(0, dataSource, transactionManager));
+        if (shardingProperties.isEnabled()) {
+            for (DealShardingProperties.Shard config : shardingProperties.getShards()) {
+                HikariDataSource shardDataSource = createDataSource(shards.size(), config);
+                shardDataSources.add(shardDataSource);
+                migrate(shardDataSource, liquibaseProperties.getIfAvailable());
+                shards.add(new Shard(shards.size(), shardDataSource, new DataSourceTransactionManager(shardDataSource)));
+            }
+        }
+        this.shards = List.copyOf(shards);
+
+        this.previousShardCount = shardingProperties.isEnabled() ? shardingProperties.getPreviousShardCount() : 0;
+        if (previousShardCount < 0 || previousShardCount > this.shards.size()) {
+            throw new IllegalStateException("deals.sharding.previous-shard-count must be between 0 and "
+                + this.shards.size() + " but was " + previousShardCount);
+        }
+        if (this.shards.size() > 1) {
+            log.info("Deals are sharded over {} datasources{}", this.shards.size(),
+                previousShardCount > 0 ? ", rebalancing from " + previousShardCount : "");
+        }
+    }
+
+    /**
+     * A single unsharded datasource.
+     */
+    public DealShards(DataSource dataSource, PlatformTransactionManager transactionManager) {
+        this.shards = List.of(new Shard(0, dataSource, transactionManager));
+        this.previousShardCount = 0;
+    }
+
+    public int count() {
+        return shards.size();
+    }
+
+    public boolean isSharded() {
+        return shards.size() > 1;
+    }
+
+    public Shard get(int index) {
+        return shards.get(index);
+    }
+
+    public List<Shard> all() {
+        return shards;
+    }
+
+    public int shardOf(String dealUniqueId) {
+        return shards.size() == 1 ? 0 : JumpConsistentHash.bucket(dealUniqueId, shards.size());
+    }
+
+    /**
+     * The shard the deal lived on before the last shards were added, or -1 if no rebalance is pending or the deal
+     * has not moved.
+     */
+    public int formerShardOf(String dealUniqueId) {
+        if (previousShardCount == 0 || previousShardCount == shards.size()) {
+            return -1;
+        }
+        int former = JumpConsistentHash.bucket(dealUniqueId, previousShardCount);
+        return former == shardOf(dealUniqueId) ? -1 : former;
+    }
+
+    public int getPreviousShardCount() {
+        return previousShardCount;
+    }
+
+    @PreDestroy
+    void close() {
+        shardDataSources.forEach(HikariDataSource::close);
+    }
+
+    private static HikariDataSource createDataSource(int index, DealShardingProperties.Shard config) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("deal-shard-" + index);
+        dataSource.setJdbcUrl(config.getUrl());
+        dataSource.setUsername(config.getUsername());
+        dataSource.setPassword(config.getPassword());
+        if (config.getDriverClassName() != null) {
+            dataSource.setDriverClassName(config.getDriverClassName());
+        }
+        dataSource.setMaximumPoolSize(config.getMaximumPoolSize());
+        return dataSource;
+    }
+
+    // Shards get the same changelog as the primary datasource, unless migrations run as a separate step.
+    private static void migrate(DataSource dataSource, LiquibaseProperties liquibaseProperties) {
+        if (liquibaseProperties == null || !liquibaseProperties.isEnabled()) {
+            return;
+        }
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog(liquibaseProperties.getChangeLog());
+        liquibase.setChangeLogParameters(liquibaseProperties.getParameters());
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        try {
+            liquibase.afterPropertiesSet();
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to migrate deal shard", e);
+        }
+    }
+
+    @Getter
+    public static final class Shard {
+        private final int index;
+        private final DataSource dataSource;
+        private final JdbcTemplate jdbcTemplate;
+        private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+        private final TransactionTemplate transactionTemplate;
+
+        Shard(int index, DataSource dataSource, PlatformTransactionManager transactionManager) {
+            this.index = index;
+            this.dataSource = dataSource;
+            this.jdbcTemplate = new JdbcTemplate(dataSource);
+            this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+            this.transactionTemplate = new TransactionTemplate(transactionManager);
+        }
+    }
+}
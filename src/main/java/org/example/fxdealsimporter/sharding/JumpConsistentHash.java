@@ -0,0 +1,46 @@
+package org.example.fxdealsimporter.sharding;
+
+/**
+ * Jump consistent hash (Lamping and Veach, 2014): maps a key to one of {@code buckets} buckets so that growing from
+ * n to n + 1 buckets moves only about 1/(n + 1) of the keys, all of them into the new bucket.
+ * <p>
+ * Both functions are part of the storage layout. Changing either one moves deals between shards.
+ */
+public final class JumpConsistentHash {
+
+    private JumpConsistentHash() {
+    }
+
+    public static int bucket(String dealUniqueId, int buckets) {
+        return bucket(hash(dealUniqueId), buckets);
+    }
+
+    public static int bucket(long key, int buckets) {
+        if (buckets <= 0) {
+            throw new IllegalArgumentException("buckets must be positive: " + buckets);
+        }
+        long b = -1;
+        long j = 0;
+        while (j < buckets) {
+            b = j;
+            key = key * 2862933555777941757L + 1;
+            j = (long) ((b + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) b;
+    }
+
+    // 64-bit FNV-1a over the UTF-16 code units, then the MurmurHash3 finalizer so similar IDs spread out.
+    public static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
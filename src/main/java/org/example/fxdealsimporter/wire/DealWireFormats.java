@@ -0,0 +1,82 @@
+package org.example.fxdealsimporter.wire;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * CBOR and Smile encodings of deal requests and import responses, using {@link DealWireModule} for amounts and
+ * timestamps. JSON stays the default; a binary format is used when the request's {@code Content-Type} or
+ * {@code Accept} names it.
+ */
+@Component
+public class DealWireFormats {
+
+    public static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+    public static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    private final ObjectMapper cborMapper = CBORMapper.builder()
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+        .addModule(new DealWireModule())
+        .build();
+
+    private final ObjectMapper smileMapper = SmileMapper.builder()
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+        .addModule(new DealWireModule())
+        .build();
+
+    public ObjectMapper getCborMapper() {
+        return cborMapper;
+    }
+
+    public ObjectMapper getSmileMapper() {
+        return smileMapper;
+    }
+
+    /**
+     * Message converters reading and writing both formats, replacing Spring's defaults for these media types.
+     */
+    public List<HttpMessageConverter<?>> messageConverters() {
+        return List.of(
+            new MappingJackson2CborHttpMessageConverter(cborMapper),
+            new MappingJackson2SmileHttpMessageConverter(smileMapper));
+    }
+
+    /**
+     * The binary format an {@code Accept} header asks for, or null when JSON (or anything else) comes first.
+     */
+    public MediaType negotiate(String accept) {
+        if (accept == null) {
+            return null;
+        }
+        try {
+            for (MediaType type : MediaType.parseMediaTypes(accept)) {
+                if (type.equalsTypeAndSubtype(CBOR)) {
+                    return CBOR;
+                }
+                if (type.equalsTypeAndSubtype(SMILE)) {
+                    return SMILE;
+                }
+                if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                    return null;
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+        return null;
+    }
+
+    public ObjectMapper mapperFor(MediaType format) {
+        return CBOR.equals(format) ? cborMapper : smileMapper;
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.fxdealsimporter.wire;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Field encodings of the binary wire formats: amounts are integers in hundredths (1000.50 is 100050) and timestamps
+ * are epoch milliseconds of the local date-time read as UTC. Both decode without parsing text.
+ */
+public class DealWireModule extends SimpleModule {
+
+    static final int AMOUNT_SCALE = 2;
+
+    public DealWireModule() {
+        super("DealWireModule");
+        addSerializer(BigDecimal.class, new ScaledAmountSerializer());
+        addDeserializer(BigDecimal.class, new ScaledAmountDeserializer());
+        addSerializer(LocalDateTime.class, new EpochMillisSerializer());
+        addDeserializer(LocalDateTime.class, new EpochMillisDeserializer());
+    }
+
+    static final class ScaledAmountSerializer extends StdScalarSerializer<BigDecimal> {
+        ScaledAmountSerializer() {
+            super(BigDecimal.class);
+        }
+
+        @Override
+        public void serialize(BigDecimal value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            try {
+                gen.writeNumber(value.setScale(AMOUNT_SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+            } catch (ArithmeticException e) {
+                provider.reportMappingProblem(e, "Amount %s does not fit a scaled integer with %d decimals",
+                    value, AMOUNT_SCALE);
+            }
+        }
+    }
+
+    static final class ScaledAmountDeserializer extends StdScalarDeserializer<BigDecimal> {
+        ScaledAmountDeserializer() {
+            super(BigDecimal.class);
+        }
+
+        @Override
+        public BigDecimal deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.currentToken() != JsonToken.VALUE_NUMBER_INT) {
+                return (BigDecimal) ctxt.handleUnexpectedToken(BigDecimal.class, p);
+            }
+            return BigDecimal.valueOf(p.getLongValue(), AMOUNT_SCALE);
+        }
+    }
+
+    static final class EpochMillisSerializer extends StdScalarSerializer<LocalDateTime> {
+        EpochMillisSerializer() {
+            super(LocalDateTime.class);
+        }
+
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeNumber(value.toInstant(ZoneOffset.UTC).toEpochMilli());
+        }
+    }
+
+    static final class EpochMillisDeserializer extends StdScalarDeserializer<LocalDateTime> {
+        EpochMillisDeserializer() {
+            super(LocalDateTime.class);
+        }
+
+        @Override
+        public LocalDateTime deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.currentToken() != JsonToken.VALUE_NUMBER_INT) {
+                return (LocalDateTime) ctxt.handleUnexpectedToken(LocalDateTime.class, p);
+            }
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(p.getLongValue()), ZoneOffset.UTC);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+--liquibase formatted sql
+
+--changeset abdellatif:002
+CREATE TABLE import_jobs (
+    job_id VARCHAR(36) PRIMARY KEY,
+    status VARCHAR(20) NOT NULL,
+    total_deals INT NOT NULL,
+    processed_deals INT NOT NULL,
+    successful_deals INT NOT NULL,
+    failed_deals INT NOT NULL,
+    request_payload LONGTEXT NOT NULL,
+    result_payload LONGTEXT,
+    error_message VARCHAR(1024),
+    created_at DATETIME NOT NULL,
+    updated_at DATETIME NOT NULL
+);
+CREATE INDEX idx_import_jobs_status ON import_jobs (status);
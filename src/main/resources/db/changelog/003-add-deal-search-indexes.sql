@@ -0,0 +1,5 @@
+--liquibase formatted sql
+
+--changeset abdellatif:003
+CREATE INDEX idx_deals_timestamp ON deals (deal_timestamp, deal_unique_id);
+CREATE INDEX idx_deals_pair_timestamp ON deals (from_currency_iso_code, to_currency_iso_code, deal_timestamp, deal_unique_id);
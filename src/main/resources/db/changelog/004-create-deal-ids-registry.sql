@@ -0,0 +1,24 @@
+--liquibase formatted sql
+-- Only applied with deals.partitioning.enabled=true (passed in as the partitioning-enabled changelog parameter).
+-- CONTINUE leaves the changesets pending, so they run on the first startup after partitioning is enabled.
+
+--changeset abdellatif:004 dbms:mysql
+--preconditions onFail:CONTINUE
+--precondition-sql-check expectedResult:1 SELECT CASE WHEN '${partitioning-enabled}' = 'true' THEN 1 ELSE 0 END
+CREATE TABLE deal_ids (
+    deal_unique_id VARCHAR(255) PRIMARY KEY,
+    deal_timestamp DATETIME NOT NULL
+);
+
+--changeset abdellatif:004-trigger dbms:mysql splitStatements:false
+--preconditions onFail:CONTINUE
+--precondition-sql-check expectedResult:1 SELECT CASE WHEN '${partitioning-enabled}' = 'true' THEN 1 ELSE 0 END
+CREATE TRIGGER deals_register_id BEFORE INSERT ON deals
+FOR EACH ROW
+    INSERT INTO deal_ids (deal_unique_id, deal_timestamp) VALUES (NEW.deal_unique_id, NEW.deal_timestamp);
+
+--changeset abdellatif:004-backfill dbms:mysql
+--preconditions onFail:CONTINUE
+--precondition-sql-check expectedResult:1 SELECT CASE WHEN '${partitioning-enabled}' = 'true' THEN 1 ELSE 0 END
+INSERT IGNORE INTO deal_ids (deal_unique_id, deal_timestamp)
+SELECT deal_unique_id, deal_timestamp FROM deals;
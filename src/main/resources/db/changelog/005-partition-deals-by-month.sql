@@ -0,0 +1,11 @@
+--liquibase formatted sql
+-- Only applied with deals.partitioning.enabled=true, see 004-create-deal-ids-registry.sql.
+
+--changeset abdellatif:005 dbms:mysql
+--preconditions onFail:CONTINUE
+--precondition-sql-check expectedResult:1 SELECT CASE WHEN '${partitioning-enabled}' = 'true' THEN 1 ELSE 0 END
+ALTER TABLE deals DROP PRIMARY KEY, ADD PRIMARY KEY (deal_unique_id, deal_timestamp);
+ALTER TABLE deals PARTITION BY RANGE COLUMNS (deal_timestamp) (
+    PARTITION p_history VALUES LESS THAN ('2025-01-01'),
+    PARTITION p_future VALUES LESS THAN (MAXVALUE)
+);
@@ -0,0 +1,11 @@
+--liquibase formatted sql
+
+--changeset abdellatif:006
+CREATE TABLE import_job_chunks (
+    job_id VARCHAR(36) NOT NULL,
+    first_deal INT NOT NULL,
+    deal_count INT NOT NULL,
+    existing_ids LONGTEXT NOT NULL,
+    result_payload LONGTEXT,
+    PRIMARY KEY (job_id, first_deal)
+);
@@ -0,0 +1,199 @@
+package org.example.fxdealsimporter.reactive;
+
+import org.example.fxdealsimporter.dto.BatchImportResponse;
+import org.example.fxdealsimporter.dto.DealRequest;
+import org.example.fxdealsimporter.dto.DealResponse;
+import org.example.fxdealsimporter.wire.DealWireFormats;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = ReactiveDealsImporterApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        "spring.main.web-application-type=reactive",
+        "spring.datasource.url=jdbc:h2:mem:deals-reactive;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.url=r2dbc:h2:mem:///deals-reactive?options=MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "deals.import.batch-size=7",
+        "deals.import.parallelism=2"
+    })
+class ReactiveDealControllerTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 15, 10, 0);
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DealWireFormats dealWireFormats;
+
+    @Test
+    void importDeal_ShouldReturnCreatedAndRejectTheSameIdAgain() {
+        DealRequest request = request("SINGLE-1");
+
+        webTestClient.post().uri("/api/deals")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(request)
+            .exchange()
+            .expectStatus().isCreated()
+            .expectBody(DealResponse.class)
+            .value(response -> {
+                assertEquals("SINGLE-1", response.getDealUniqueId());
+                assertNotNull(response.getCreatedAt());
+            });
+
+        webTestClient.post().uri("/api/deals")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(request)
+            .exchange()
+            .expectStatus().isEqualTo(409)
+            .expectBody()
+            .jsonPath("$.error").isEqualTo("Duplicate Deal");
+    }
+
+    @Test
+    void importDeal_InvalidCurrency_ShouldReturnBadRequest() {
+        DealRequest request = request("SINGLE-BAD");
+        request.setToCurrencyIsoCode("USD");
+
+        webTestClient.post().uri("/api/deals")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(request)
+            .exchange()
+            .expectStatus().isBadRequest()
+            .expectBody()
+            .jsonPath("$.error").isEqualTo("Invalid Currency");
+    }
+
+    @Test
+    void importDeals_ShouldReportFailuresInRequestOrderAcrossChunks() {
+        List<DealRequest> requests = new ArrayList<>(requests("BATCH-", 30));
+        requests.get(3).setDealAmount(BigDecimal.ZERO);
+        requests.add(10, request("BATCH-5"));
+        requests.add(request("BATCH-29"));
+
+        BatchImportResponse response = webTestClient.post().uri("/api/deals/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(requests)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(BatchImportResponse.class)
+            .returnResult()
+            .getResponseBody();
+
+        assertEquals(32, response.getTotalDeals());
+        assertEquals(29, response.getSuccessfulDeals());
+        assertEquals(29, response.getSuccessfulImports().size());
+        assertEquals(List.of("BATCH-3", "BATCH-5", "BATCH-29"),
+            response.getErrors().stream().map(BatchImportResponse.DealError::getDealUniqueId).toList());
+        assertTrue(response.getErrors().get(1).getErrorMessage().contains("already exists"));
+    }
+
+    @Test
+    void importDeals_Compact_ShouldRejectDealsImportedByAnEarlierBatch() {
+        List<DealRequest> requests = requests("AGAIN-", 20);
+        webTestClient.post().uri("/api/deals/batch?response=compact")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(requests)
+            .exchange()
+            .expectStatus().isOk();
+
+        webTestClient.post().uri("/api/deals/batch?response=COMPACT")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(requests)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.successfulDeals").isEqualTo(0)
+            .jsonPath("$.failedDeals").isEqualTo(20)
+            .jsonPath("$.successfulImports").doesNotExist();
+    }
+
+    @Test
+    void importDeals_Ndjson_ShouldStreamErrorsThenSummary() {
+        List<DealRequest> requests = new ArrayList<>(requests("NDJSON-", 5));
+        requests.get(2).setFromCurrencyIsoCode("XXX");
+
+        String body = webTestClient.post().uri("/api/deals/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .accept(MediaType.APPLICATION_NDJSON)
+            .bodyValue(requests)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .expectBody(String.class)
+            .returnResult()
+            .getResponseBody();
+
+        String[] lines = body.trim().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("NDJSON-2"));
+        assertTrue(lines[1].contains("\"successfulDeals\":4"));
+    }
+
+    @Test
+    void importDeals_SmileRequestCborResponse_ShouldUseTheDealWireSchema() throws Exception {
+        byte[] body = dealWireFormats.getSmileMapper().writeValueAsBytes(requests("BINARY-", 3));
+
+        byte[] result = webTestClient.post().uri("/api/deals/batch")
+            .contentType(DealWireFormats.SMILE)
+            .accept(DealWireFormats.CBOR)
+            .bodyValue(body)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentType(DealWireFormats.CBOR)
+            .expectBody(byte[].class)
+            .returnResult()
+            .getResponseBody();
+
+        BatchImportResponse response = dealWireFormats.getCborMapper().readValue(result, BatchImportResponse.class);
+        assertEquals(3, response.getSuccessfulDeals());
+        assertEquals(new BigDecimal("1000.50"), response.getSuccessfulImports().get(0).getDealAmount());
+    }
+
+    @Test
+    void importDeals_CborRequest_ShouldBeUnsupported() throws Exception {
+        byte[] body = dealWireFormats.getCborMapper().writeValueAsBytes(requests("CBOR-", 1));
+
+        webTestClient.post().uri("/api/deals/batch")
+            .contentType(DealWireFormats.CBOR)
+            .bodyValue(body)
+            .exchange()
+            .expectStatus().isEqualTo(415)
+            .expectBody()
+            .jsonPath("$.error").isEqualTo("Unsupported Media Type");
+    }
+
+    @Test
+    void importDeals_UnknownResponseMode_ShouldReturnBadRequest() {
+        webTestClient.post().uri("/api/deals/batch?response=verbose")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(requests("MODE-", 1))
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    private static List<DealRequest> requests(String prefix, int count) {
+        return IntStream.range(0, count).mapToObj(i -> request(prefix + i)).toList();
+    }
+
+    private static DealRequest request(String dealUniqueId) {
+        return DealRequest.builder()
+            .dealUniqueId(dealUniqueId)
+            .fromCurrencyIsoCode("USD")
+            .toCurrencyIsoCode("EUR")
+            .dealTimestamp(T0)
+            .dealAmount(new BigDecimal("1000.50"))
+            .build();
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.fxdealsimporter.service;
+
+import org.example.fxdealsimporter.dto.BatchImportResponse;
+import org.example.fxdealsimporter.dto.DealRequest;
+import org.example.fxdealsimporter.exception.DuplicateDealException;
+import org.example.fxdealsimporter.reactive.ReactiveDealsImporterApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = ReactiveDealsImporterApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        "spring.main.web-application-type=reactive",
+        "spring.datasource.url=jdbc:h2:mem:deals-reactive;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.url=r2dbc:h2:mem:///deals-reactive?options=MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "deals.import.batch-size=7",
+        "deals.import.parallelism=2"
+    })
+class R2dbcDealServiceTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 15, 10, 0);
+
+    @Autowired
+    private IReactiveDealService dealService;
+
+    @Test
+    void importDeals_ShouldRequestDealsAChunkAtATime() {
+        List<Long> requests = new CopyOnWriteArrayList<>();
+        AtomicLong emitted = new AtomicLong();
+        AtomicLong maxOutstanding = new AtomicLong();
+        AtomicLong requested = new AtomicLong();
+        Flux<DealRequest> deals = Flux.range(0, 100)
+            .map(i -> request("STREAM-" + i))
+            .doOnRequest(n -> {
+                requests.add(n);
+                maxOutstanding.accumulateAndGet(requested.addAndGet(n) - emitted.get(), Math::max);
+            })
+            .doOnNext(deal -> emitted.incrementAndGet());
+
+        StepVerifier.create(dealService.importDeals(deals, false))
+            .assertNext(response -> {
+                assertEquals(100, response.getTotalDeals());
+                assertEquals(100, response.getSuccessfulDeals());
+                assertNull(response.getSuccessfulImports());
+            })
+            .verifyComplete();
+
+        assertTrue(requests.stream().allMatch(n -> n < Long.MAX_VALUE), "demand must be bounded: " + requests);
+        // Two chunks of 7 being written plus one prefetched.
+        assertTrue(maxOutstanding.get() <= 3 * 7, "outstanding demand " + maxOutstanding.get());
+    }
+
+    @Test
+    void importDeals_EmptyStream_ShouldReturnEmptyResponse() {
+        StepVerifier.create(dealService.importDeals(Flux.empty(), true))
+            .assertNext(response -> {
+                assertEquals(0, response.getTotalDeals());
+                assertTrue(response.getSuccessfulImports().isEmpty());
+                assertTrue(response.getErrors().isEmpty());
+            })
+            .verifyComplete();
+    }
+
+    @Test
+    void importDeal_ShouldRejectADealImportedInABatch() {
+        BatchImportResponse batch = dealService.importDeals(Flux.just(request("MIXED-1")), true).block();
+        assertEquals(1, batch.getSuccessfulDeals());
+
+        StepVerifier.create(dealService.importDeal(request("MIXED-1")))
+            .expectError(DuplicateDealException.class)
+            .verify();
+    }
+
+    private static DealRequest request(String dealUniqueId) {
+        return DealRequest.builder()
+            .dealUniqueId(dealUniqueId)
+            .fromCurrencyIsoCode("GBP")
+            .toCurrencyIsoCode("JPY")
+            .dealTimestamp(T0)
+            .dealAmount(new BigDecimal("250.00"))
+            .build();
+    }
+}
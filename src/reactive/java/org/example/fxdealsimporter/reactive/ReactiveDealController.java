@@ -0,0 +1,73 @@
+package org.example.fxdealsimporter.reactive;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.fxdealsimporter.dto.BatchImportResponse;
+import org.example.fxdealsimporter.dto.BatchResponseMode;
+import org.example.fxdealsimporter.dto.DealRequest;
+import org.example.fxdealsimporter.dto.ImportSummary;
+import org.example.fxdealsimporter.service.IReactiveDealService;
+import org.example.fxdealsimporter.wire.DealWireFormats;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The {@code /api/deals} import contract of the servlet application on WebFlux. The batch body is decoded as a
+ * stream of deals, so a batch is imported while it is still being received.
+ */
+@RestController
+@RequestMapping("/api/deals")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveDealController {
+
+    private final IReactiveDealService dealService;
+    private final DealWireFormats dealWireFormats;
+
+    @PostMapping
+    public Mono<ResponseEntity<?>> importDeal(@RequestBody DealRequest dealRequest,
+                                              @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        log.debug("Received deal import request");
+        return dealService.importDeal(dealRequest)
+            .flatMap(response -> respond(HttpStatus.CREATED, response, accept));
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<?>> importDeals(@RequestBody Flux<DealRequest> dealRequests,
+                                               @RequestParam(name = "response", required = false) BatchResponseMode responseMode,
+                                               @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        log.info("Received streaming batch deal import request");
+        BatchResponseMode mode = responseMode != null ? responseMode
+            : accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE) ? BatchResponseMode.NDJSON
+            : BatchResponseMode.FULL;
+        Mono<BatchImportResponse> result = dealService.importDeals(dealRequests, mode == BatchResponseMode.FULL);
+
+        if (mode != BatchResponseMode.NDJSON) {
+            return result.flatMap(response -> respond(HttpStatus.OK, response, accept));
+        }
+        return result.map(response -> ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(Flux.concat(
+                Flux.fromIterable(response.getErrors()),
+                Mono.just(new ImportSummary(response.getTotalDeals(), response.getSuccessfulDeals(),
+                    response.getFailedDeals())))));
+    }
+
+    // JSON goes through the codecs; Spring's CBOR encoder cannot write a response, so binary formats are
+    // serialized here with the deal wire schema, as the servlet controller does.
+    private Mono<ResponseEntity<?>> respond(HttpStatus status, Object body, String accept) {
+        MediaType binaryFormat = dealWireFormats.negotiate(accept);
+        if (binaryFormat == null) {
+            return Mono.just(ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(body));
+        }
+        return Mono.fromCallable(() -> dealWireFormats.mapperFor(binaryFormat).writeValueAsBytes(body))
+            .map(bytes -> ResponseEntity.status(status).contentType(binaryFormat).body(bytes));
+    }
+}
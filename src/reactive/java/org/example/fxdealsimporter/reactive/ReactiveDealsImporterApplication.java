@@ -0,0 +1,65 @@
+package org.example.fxdealsimporter.reactive;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.example.fxdealsimporter.FxDealsImporterApplication;
+import org.example.fxdealsimporter.config.WebConfig;
+import org.example.fxdealsimporter.metrics.DealRequestDeserializationTimer;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+
+/**
+ * The deal importer on WebFlux and R2DBC, built with {@code -Preactive}. It serves the import endpoints of
+ * {@code /api/deals} from {@link ReactiveDealController}; the servlet controllers and filters are left out, and
+ * JDBC stays for Liquibase and the startup and background work that shares services with the servlet application.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+// Entities and JPA repositories are found from the application package, not from this one.
+@AutoConfigurationPackage(basePackages = "org.example.fxdealsimporter")
+@ConfigurationPropertiesScan("org.example.fxdealsimporter")
+@ComponentScan(basePackages = "org.example.fxdealsimporter", excludeFilters = {
+    @ComponentScan.Filter(type = FilterType.REGEX,
+        pattern = "org\\.example\\.fxdealsimporter\\.(controller|filter)\\..*"),
+    @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+        classes = {FxDealsImporterApplication.class, WebConfig.class, DealRequestDeserializationTimer.class})
+})
+public class ReactiveDealsImporterApplication {
+
+    public static void main(String[] args) {
+        SpringApplication application = new SpringApplication(ReactiveDealsImporterApplication.class);
+        // Spring MVC is on the classpath too, which would otherwise make this a servlet application.
+        application.setWebApplicationType(WebApplicationType.REACTIVE);
+        application.setAdditionalProfiles("reactive");
+        application.run(args);
+    }
+
+    // Boot backs off its own DataSource as soon as there is an R2DBC ConnectionFactory, so declare the same one here.
+    @Bean
+    @ConfigurationProperties("spring.datasource")
+    DataSourceProperties dataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource dataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    // Tomcat is on the classpath for the servlet application and would otherwise be chosen over Reactor Netty.
+    @Bean
+    NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+}
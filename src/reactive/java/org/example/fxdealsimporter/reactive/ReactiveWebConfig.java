@@ -0,0 +1,36 @@
+package org.example.fxdealsimporter.reactive;
+
+import lombok.RequiredArgsConstructor;
+import org.example.fxdealsimporter.wire.DealWireFormats;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * WebFlux equivalent of {@link org.example.fxdealsimporter.config.WebConfig}.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveWebConfig implements WebFluxConfigurer {
+
+    private final DealWireFormats dealWireFormats;
+
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        // Case-insensitive enum request parameters, e.g. ?response=compact
+        ApplicationConversionService.addApplicationConverters(registry);
+    }
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        // Smile request bodies use the deal wire schema. Jackson has no non-blocking CBOR parser, so a CBOR batch
+        // cannot be decoded as a stream and is not accepted; binary responses are written by the controller.
+        configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(dealWireFormats.getSmileMapper(),
+            DealWireFormats.SMILE));
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.fxdealsimporter.service;
+
+import org.example.fxdealsimporter.dto.BatchImportResponse;
+import org.example.fxdealsimporter.dto.DealRequest;
+import org.example.fxdealsimporter.dto.DealResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link IDealService}: same validation, duplicate rules and responses, but batches
+ * arrive as a stream and are imported in chunks while the rest of the request body is still being read.
+ */
+public interface IReactiveDealService {
+    Mono<DealResponse> importDeal(DealRequest dealRequest);
+    Mono<BatchImportResponse> importDeals(Flux<DealRequest> dealRequests, boolean includeSuccessfulImports);
+}
@@ -0,0 +1,380 @@
+package org.example.fxdealsimporter.service.Impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.fxdealsimporter.aggregation.DealAggregates;
+import org.example.fxdealsimporter.config.DealImportProperties;
+import org.example.fxdealsimporter.config.DealImportProperties.DuplicateStrategy;
+import org.example.fxdealsimporter.config.DealPartitionProperties;
+import org.example.fxdealsimporter.config.DealShardingProperties;
+import org.example.fxdealsimporter.dedup.DealIdIndex;
+import org.example.fxdealsimporter.dto.BatchImportResponse;
+import org.example.fxdealsimporter.dto.DealRequest;
+import org.example.fxdealsimporter.dto.DealResponse;
+import org.example.fxdealsimporter.entity.Deal;
+import org.example.fxdealsimporter.exception.DuplicateDealException;
+import org.example.fxdealsimporter.exception.InvalidDealException;
+import org.example.fxdealsimporter.mapper.DealMapper;
+import org.example.fxdealsimporter.metrics.DealImportMetrics;
+import org.example.fxdealsimporter.metrics.DealImportMetrics.Outcome;
+import org.example.fxdealsimporter.service.ICurrencyValidationService;
+import org.example.fxdealsimporter.service.IReactiveDealService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports deals over R2DBC. A batch is read as a stream, cut into chunks of {@code deals.import.batch-size} and
+ * at most {@code deals.import.parallelism} chunks are written at a time; the decoder is only asked for more deals
+ * as chunks complete, so a large request body is read no faster than the database takes it.
+ * <p>
+ * Writes go to the single R2DBC connection factory: sharding is not supported on this stack.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Slf4j
+public class R2dbcDealService implements IReactiveDealService {
+
+    private static final String INSERT_SQL = "INSERT INTO deals (deal_unique_id, from_currency_iso_code, " +
+        "to_currency_iso_code, deal_timestamp, deal_amount, created_at) VALUES ";
+
+    private final DatabaseClient databaseClient;
+    private final DealMapper dealMapper;
+    private final ICurrencyValidationService currencyValidationService;
+    private final DealImportProperties importProperties;
+    private final DealIdIndex dealIdIndex;
+    private final DealAggregates dealAggregates;
+    private final DealImportMetrics importMetrics;
+    private final String existsSql;
+    private final String findExistingSql;
+
+    public R2dbcDealService(DatabaseClient databaseClient, DealMapper dealMapper,
+                            ICurrencyValidationService currencyValidationService,
+                            DealImportProperties importProperties, DealIdIndex dealIdIndex,
+                            DealAggregates dealAggregates, DealImportMetrics importMetrics,
+                            DealPartitionProperties partitionProperties, DealShardingProperties shardingProperties) {
+        if (shardingProperties.isEnabled()) {
+            throw new IllegalStateException("The reactive import stack writes to a single database; "
+                + "disable deals.sharding or run the servlet application");
+        }
+        this.databaseClient = databaseClient;
+        this.dealMapper = dealMapper;
+        this.currencyValidationService = currencyValidationService;
+        this.importProperties = importProperties;
+        this.dealIdIndex = dealIdIndex;
+        this.dealAggregates = dealAggregates;
+        this.importMetrics = importMetrics;
+        // Same lookup table as DealBatchRepository: deal_unique_id is only unique in deal_ids on a partitioned table.
+        String idTable = partitionProperties.isEnabled() ? "deal_ids" : "deals";
+        this.existsSql = "SELECT COUNT(*) FROM " + idTable + " WHERE deal_unique_id = :id";
+        this.findExistingSql = "SELECT deal_unique_id FROM " + idTable + " WHERE deal_unique_id IN (:ids)";
+    }
+
+    @Override
+    public Mono<DealResponse> importDeal(DealRequest dealRequest) {
+        return Mono.defer(() -> {
+                validate(dealRequest);
+                String dealUniqueId = dealRequest.getDealUniqueId();
+                log.debug("Importing deal with ID: {}", dealUniqueId);
+                Deal deal = dealMapper.toEntity(dealRequest);
+                deal.setCreatedAt(LocalDateTime.now());
+                return findExistingIds(List.of(dealUniqueId))
+                    .flatMap(existingIds -> existingIds.isEmpty()
+                        ? insert(deal)
+                        : Mono.error(duplicate(dealUniqueId)));
+            })
+            .map(deal -> {
+                dealIdIndex.add(deal.getDealUniqueId());
+                dealAggregates.record(deal);
+                importMetrics.recordOutcome(Outcome.IMPORTED, dealRequest);
+                log.debug("Deal imported successfully with ID: {}", deal.getDealUniqueId());
+                return dealMapper.toResponse(deal);
+            })
+            .doOnError(RuntimeException.class,
+                e -> importMetrics.recordOutcome(DealImportMetrics.outcomeOf(e), dealRequest));
+    }
+
+    @Override
+    public Mono<BatchImportResponse> importDeals(Flux<DealRequest> dealRequests, boolean includeSuccessfulImports) {
+        int batchSize = Math.max(1, importProperties.getBatchSize());
+        int concurrency = Math.max(1, importProperties.getParallelism());
+        return Flux.defer(() -> {
+                Set<String> seenIds = new HashSet<>();
+                return dealRequests
+                    .buffer(batchSize)
+                    .map(chunk -> validate(chunk, seenIds));
+            })
+            // One chunk is prefetched beyond the ones being written, which bounds the deals held in memory.
+            .flatMapSequential(this::importChunk, concurrency, 1)
+            .reduceWith(() -> new BatchTally(includeSuccessfulImports), BatchTally::add)
+            .map(BatchTally::toResponse);
+    }
+
+    private Chunk validate(List<DealRequest> dealRequests, Set<String> seenIds) {
+        Chunk chunk = new Chunk(dealRequests);
+        for (int i = 0; i < dealRequests.size(); i++) {
+            DealRequest dealRequest = dealRequests.get(i);
+            try {
+                validate(dealRequest);
+                if (!seenIds.add(dealRequest.getDealUniqueId())) {
+                    throw duplicate(dealRequest.getDealUniqueId());
+                }
+            } catch (RuntimeException e) {
+                importMetrics.recordOutcome(DealImportMetrics.outcomeOf(e), dealRequest);
+                chunk.failures[i] = e;
+            }
+        }
+        return chunk;
+    }
+
+    private Mono<Chunk> importChunk(Chunk chunk) {
+        List<String> candidateIds = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            if (chunk.failures[i] == null) {
+                candidateIds.add(chunk.dealRequests.get(i).getDealUniqueId());
+            }
+        }
+        if (candidateIds.isEmpty()) {
+            return Mono.just(chunk);
+        }
+        return findExistingIds(candidateIds).flatMap(existingIds -> {
+            LocalDateTime createdAt = LocalDateTime.now();
+            List<Integer> survivors = new ArrayList<>(candidateIds.size());
+            List<Deal> deals = new ArrayList<>(candidateIds.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                DealRequest dealRequest = chunk.dealRequests.get(i);
+                if (chunk.failures[i] != null) {
+                    continue;
+                }
+                if (existingIds.contains(dealRequest.getDealUniqueId())) {
+                    importMetrics.recordOutcome(Outcome.DUPLICATE, dealRequest);
+                    chunk.failures[i] = duplicate(dealRequest.getDealUniqueId());
+                    continue;
+                }
+                Deal deal = dealMapper.toEntity(dealRequest);
+                deal.setCreatedAt(createdAt);
+                survivors.add(i);
+                deals.add(deal);
+            }
+            if (deals.isEmpty()) {
+                return Mono.just(chunk);
+            }
+            return insertAll(deals)
+                .doOnSuccess(rows -> {
+                    for (int k = 0; k < deals.size(); k++) {
+                        chunk.imported(survivors.get(k), deals.get(k));
+                    }
+                })
+                .thenReturn(chunk)
+                .onErrorResume(DataIntegrityViolationException.class, e -> {
+                    log.warn("Batch insert of {} deals rejected, retrying one by one: {}", deals.size(), e.getMessage());
+                    return Flux.range(0, deals.size())
+                        .concatMap(k -> insertOne(chunk, survivors.get(k), deals.get(k)))
+                        .then(Mono.just(chunk));
+                });
+        }).onErrorResume(DataAccessException.class, e -> {
+            // As on the servlet stack, a chunk the database cannot take fails on its own.
+            log.warn("Import of a chunk of {} deals failed: {}", chunk.size(), e.getMessage());
+            chunk.failPending(e);
+            return Mono.just(chunk);
+        });
+    }
+
+    private Mono<Void> insertOne(Chunk chunk, int position, Deal deal) {
+        return insertAll(List.of(deal))
+            .doOnSuccess(rows -> chunk.imported(position, deal))
+            .then()
+            .onErrorResume(RuntimeException.class, e -> {
+                DealRequest dealRequest = chunk.dealRequests.get(position);
+                if (e instanceof DuplicateKeyException) {
+                    dealIdIndex.add(deal.getDealUniqueId());
+                    importMetrics.recordOutcome(Outcome.DUPLICATE, dealRequest);
+                    chunk.failures[position] = duplicate(deal.getDealUniqueId());
+                } else {
+                    importMetrics.recordOutcome(Outcome.FAILED, dealRequest);
+                    chunk.failures[position] = e;
+                }
+                return Mono.empty();
+            });
+    }
+
+    // A concurrent import of the same ID gets past the lookup; the unique key then decides who was first.
+    private Mono<Deal> insert(Deal deal) {
+        return insertAll(List.of(deal))
+            .thenReturn(deal)
+            .onErrorResume(DataIntegrityViolationException.class, e -> exists(deal.getDealUniqueId())
+                .flatMap(exists -> {
+                    if (!exists) {
+                        return Mono.error(e);
+                    }
+                    log.debug("Concurrent duplicate deal detected with ID: {}", deal.getDealUniqueId());
+                    dealIdIndex.add(deal.getDealUniqueId());
+                    return Mono.error(duplicate(deal.getDealUniqueId()));
+                }));
+    }
+
+    // One multi-row INSERT per chunk: a single round trip and atomic without an explicit transaction.
+    private Mono<Long> insertAll(List<Deal> deals) {
+        StringBuilder sql = new StringBuilder(INSERT_SQL.length() + deals.size() * 64).append(INSERT_SQL);
+        for (int k = 0; k < deals.size(); k++) {
+            sql.append(k == 0 ? "(" : ", (")
+                .append(":id").append(k).append(", :from").append(k).append(", :to").append(k)
+                .append(", :timestamp").append(k).append(", :amount").append(k).append(", :createdAt").append(k)
+                .append(')');
+        }
+        DatabaseClient.GenericExecuteSpec statement = databaseClient.sql(sql.toString());
+        for (int k = 0; k < deals.size(); k++) {
+            Deal deal = deals.get(k);
+            statement = statement
+                .bind("id" + k, deal.getDealUniqueId())
+                .bind("from" + k, deal.getFromCurrencyIsoCode())
+                .bind("to" + k, deal.getToCurrencyIsoCode())
+                .bind("timestamp" + k, deal.getDealTimestamp())
+                .bind("amount" + k, deal.getDealAmount())
+                .bind("createdAt" + k, deal.getCreatedAt());
+        }
+        return statement.fetch().rowsUpdated();
+    }
+
+    private Mono<Set<String>> findExistingIds(List<String> dealUniqueIds) {
+        if (importProperties.getDuplicateStrategy() == DuplicateStrategy.INSERT_FIRST) {
+            return Mono.just(Set.of());
+        }
+        List<String> possibleDuplicates = dealUniqueIds.stream().filter(dealIdIndex::mightContain).toList();
+        if (possibleDuplicates.isEmpty()) {
+            return Mono.just(Set.of());
+        }
+        return databaseClient.sql(findExistingSql)
+            .bind("ids", possibleDuplicates)
+            .map(row -> row.get(0, String.class))
+            .all()
+            .collect(Collectors.toSet())
+            .doOnNext(existingIds -> dealIdIndex.recordFalsePositives(possibleDuplicates.size() - existingIds.size()));
+    }
+
+    private Mono<Boolean> exists(String dealUniqueId) {
+        return databaseClient.sql(existsSql)
+            .bind("id", dealUniqueId)
+            .map(row -> row.get(0, Long.class))
+            .one()
+            .map(count -> count > 0);
+    }
+
+    private void validate(DealRequest dealRequest) {
+        if (dealRequest == null) {
+            throw new InvalidDealException("Deal request cannot be null");
+        }
+
+        currencyValidationService.validateDealRequest(dealRequest);
+        currencyValidationService.validateCurrencies(
+            dealRequest.getFromCurrencyIsoCode(),
+            dealRequest.getToCurrencyIsoCode()
+        );
+    }
+
+    private static DuplicateDealException duplicate(String dealUniqueId) {
+        return new DuplicateDealException("Deal with ID " + dealUniqueId + " already exists");
+    }
+
+    private final class Chunk {
+        private final List<DealRequest> dealRequests;
+        private final Deal[] imported;
+        private final RuntimeException[] failures;
+
+        Chunk(List<DealRequest> dealRequests) {
+            this.dealRequests = dealRequests;
+            this.imported = new Deal[dealRequests.size()];
+            this.failures = new RuntimeException[dealRequests.size()];
+        }
+
+        int size() {
+            return dealRequests.size();
+        }
+
+        void imported(int position, Deal deal) {
+            imported[position] = deal;
+            dealIdIndex.add(deal.getDealUniqueId());
+            dealAggregates.record(deal);
+            importMetrics.recordOutcome(Outcome.IMPORTED, dealRequests.get(position));
+        }
+
+        void failPending(RuntimeException e) {
+            for (int i = 0; i < size(); i++) {
+                if (imported[i] == null && failures[i] == null) {
+                    importMetrics.recordOutcome(Outcome.FAILED, dealRequests.get(i));
+                    failures[i] = e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Folds the chunks of one request into its response, in request order.
+     */
+    private final class BatchTally {
+        private final long startedAt = System.nanoTime();
+        private final List<DealResponse> successfulImports;
+        private final List<BatchImportResponse.DealError> errors = new ArrayList<>();
+        private int total;
+        private int successful;
+
+        BatchTally(boolean includeSuccessfulImports) {
+            this.successfulImports = includeSuccessfulImports ? new ArrayList<>() : null;
+        }
+
+        BatchTally add(Chunk chunk) {
+            int maxLoggedFailures = importProperties.getMaxLoggedFailures();
+            for (int i = 0; i < chunk.size(); i++) {
+                total++;
+                if (chunk.imported[i] != null) {
+                    successful++;
+                    if (successfulImports != null) {
+                        successfulImports.add(dealMapper.toResponse(chunk.imported[i]));
+                    }
+                    continue;
+                }
+                DealRequest dealRequest = chunk.dealRequests.get(i);
+                BatchImportResponse.DealError error = BatchImportResponse.DealError.builder()
+                    .dealUniqueId(dealRequest != null ? dealRequest.getDealUniqueId() : null)
+                    .errorMessage(chunk.failures[i].getMessage())
+                    .retriable(DealImportMetrics.outcomeOf(chunk.failures[i]) == Outcome.FAILED)
+                    .build();
+                // Only the first few failures of a batch are logged; the rest are in the response and metrics.
+                if (errors.size() < maxLoggedFailures) {
+                    log.warn("Failed to import deal {}: {}", error.getDealUniqueId(), error.getErrorMessage());
+                }
+                errors.add(error);
+            }
+            return this;
+        }
+
+        BatchImportResponse toResponse() {
+            int maxLoggedFailures = importProperties.getMaxLoggedFailures();
+            if (errors.size() > maxLoggedFailures) {
+                log.warn("{} more failed deals in this batch were not logged", errors.size() - maxLoggedFailures);
+            }
+            importMetrics.recordBatchSize(total);
+            long elapsedMillis = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+            log.info("Batch import completed: {} successful, {} failed in {} ms ({} deals/s)",
+                successful, errors.size(), elapsedMillis, total * 1000L / elapsedMillis);
+            return BatchImportResponse.builder()
+                .totalDeals(total)
+                .successfulDeals(successful)
+                .failedDeals(errors.size())
+                .successfulImports(successfulImports)
+                .errors(errors)
+                .build();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package org.example.fxdealsimporter.aggregation;
+
+import org.example.fxdealsimporter.config.DealAggregationProperties;
+import org.example.fxdealsimporter.dto.DealRequest;
+import org.example.fxdealsimporter.dto.PairAggregate;
+import org.example.fxdealsimporter.entity.Deal;
+import org.example.fxdealsimporter.repository.DealQueryRepository;
+import org.example.fxdealsimporter.service.ICurrencyValidationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DealAggregatesTest {
+
+    @Mock
+    private DealQueryRepository dealQueryRepository;
+
+    @Mock
+    private ICurrencyValidationService currencyValidationService;
+
+    private DealAggregates dealAggregates;
+
+    @BeforeEach
+    void setUp() {
+        when(currencyValidationService.getSupportedCurrencies()).thenReturn(List.of("USD", "EUR", "GBP"));
+        dealAggregates = new DealAggregates(dealQueryRepository, new DealAggregationProperties(), currencyValidationService);
+    }
+
+    @Test
+    void rebuild_ShouldLoadTotalsAndRecentBuckets() {
+        LocalDateTime recent = LocalDateTime.now().minusHours(2);
+        when(dealQueryRepository.aggregateByPair(any())).thenReturn(List.of(
+            PairAggregate.builder().fromCurrencyIsoCode("USD").toCurrencyIsoCode("EUR")
+                .dealCount(3).notional(new BigDecimal("300.75")).build(),
+            PairAggregate.builder().fromCurrencyIsoCode("USD").toCurrencyIsoCode("JPY")
+                .dealCount(1).notional(BigDecimal.ONE).build()));
+        doAnswer(invocation -> {
+            Consumer<Deal> consumer = invocation.getArgument(2);
+            consumer.accept(deal("USD", "EUR", recent, "100.25"));
+            return null;
+        }).when(dealQueryRepository).forEachDealSince(any(), any(), any());
+
+        dealAggregates.rebuild();
+
+        assertTrue(dealAggregates.isReady());
+        assertEquals(1, dealAggregates.pairs().size());
+        PairAggregate pair = dealAggregates.pair("USD", "EUR");
+        assertEquals(3, pair.getDealCount());
+        assertEquals(new BigDecimal("300.75"), pair.getNotional());
+        assertEquals(1, pair.getBuckets().size());
+        assertEquals(recent.truncatedTo(ChronoUnit.HOURS), pair.getBuckets().get(0).getStart());
+        assertEquals(new BigDecimal("100.25"), pair.getBuckets().get(0).getNotional());
+    }
+
+    @Test
+    void record_ShouldUpdateTotalsAndBucketsWithoutQueryingDatabase() {
+        LocalDateTime now = LocalDateTime.now();
+
+        dealAggregates.record(request("USD", "EUR", now, "10.10"), now);
+        dealAggregates.record(request("USD", "EUR", now, "5"), now);
+        dealAggregates.record(request("USD", "EUR", now.minusDays(30), "1"), now);
+        dealAggregates.record(request("EUR", "USD", now, "2"), now);
+
+        PairAggregate pair = dealAggregates.pair("USD", "EUR");
+        assertEquals(3, pair.getDealCount());
+        assertEquals(new BigDecimal("16.10"), pair.getNotional());
+        assertEquals(1, pair.getBuckets().size());
+        assertEquals(2, pair.getBuckets().get(0).getDealCount());
+        assertEquals(new BigDecimal("15.10"), pair.getBuckets().get(0).getNotional());
+        assertEquals(2, dealAggregates.pairs().size());
+        verifyNoInteractions(dealQueryRepository);
+    }
+
+    @Test
+    void record_CreatedBeforeRebuild_ShouldBeLeftToRebuild() {
+        LocalDateTime createdBeforeRebuild = LocalDateTime.now().minusMinutes(1);
+        when(dealQueryRepository.aggregateByPair(any())).thenReturn(List.of());
+        dealAggregates.rebuild();
+
+        dealAggregates.record(request("USD", "EUR", LocalDateTime.now(), "10"), createdBeforeRebuild);
+
+        assertTrue(dealAggregates.pairs().isEmpty());
+    }
+
+    @Test
+    void pair_UnsupportedCurrency_ShouldReturnNull() {
+        assertNull(dealAggregates.pair("USD", "JPY"));
+        assertNull(dealAggregates.pair("usd", "EUR"));
+    }
+
+    @Test
+    void record_Concurrently_ShouldNotLoseUpdates() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        DealRequest request = request("GBP", "USD", now, "0.01");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        dealAggregates.record(request, now);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        PairAggregate pair = dealAggregates.pair("GBP", "USD");
+        assertEquals(40_000, pair.getDealCount());
+        assertEquals(new BigDecimal("400.00"), pair.getNotional());
+        assertEquals(40_000, pair.getBuckets().stream().mapToLong(PairAggregate.Bucket::getDealCount).sum());
+    }
+
+    private DealRequest request(String from, String to, LocalDateTime timestamp, String amount) {
+        return DealRequest.builder()
+            .dealUniqueId("DEAL001")
+            .fromCurrencyIsoCode(from)
+            .toCurrencyIsoCode(to)
+            .dealTimestamp(timestamp)
+            .dealAmount(new BigDecimal(amount))
+            .build();
+    }
+
+    private Deal deal(String from, String to, LocalDateTime timestamp, String amount) {
+        return Deal.builder()
+            .fromCurrencyIsoCode(from)
+            .toCurrencyIsoCode(to)
+            .dealTimestamp(timestamp)
+            .dealAmount(new BigDecimal(amount))
+            .build();
+    }
+}
@@ -1,10 +1,18 @@
 package org.example.fxdealsimporter.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.fxdealsimporter.config.DealImportProperties;
+import org.example.fxdealsimporter.config.WebConfig;
 import org.example.fxdealsimporter.dto.BatchImportResponse;
 import org.example.fxdealsimporter.dto.DealRequest;
 import org.example.fxdealsimporter.dto.DealResponse;
-import org.example.fxdealsimporter.service.Impl.DealService;
+import org.example.fxdealsimporter.dto.ImportSummary;
+import org.example.fxdealsimporter.exception.GlobalExceptionHandler;
+import org.example.fxdealsimporter.filter.GzipRequestFilter;
+import org.example.fxdealsimporter.idempotency.BatchResultCache;
+import org.example.fxdealsimporter.service.IDealIngestionService;
+import org.example.fxdealsimporter.service.IDealService;
+import org.example.fxdealsimporter.wire.DealWireFormats;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,37 +23,66 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.unit.DataSize;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(DealController.class)
-@ContextConfiguration(classes = {DealController.class, DealControllerTest.TestConfig.class})
+@ContextConfiguration(classes = {DealController.class, GlobalExceptionHandler.class, WebConfig.class,
+        BatchResultCache.class, DealImportProperties.class, DealWireFormats.class, GzipRequestFilter.class,
+        DealControllerTest.TestConfig.class})
 class DealControllerTest {
     
     @Autowired
     private MockMvc mockMvc;
     
     @Autowired
-    private DealService dealService;
+    private IDealService dealService;
+    
+    @Autowired
+    private IDealIngestionService dealIngestionService;
     
     @Autowired
     private ObjectMapper objectMapper;
     
+    @Autowired
+    private DealWireFormats dealWireFormats;
+    
+    @Autowired
+    private DealImportProperties importProperties;
+    
     @Configuration
     static class TestConfig {
         @Bean
         @Primary
-        public DealService dealService() {
-            return mock(DealService.class);
+        public IDealService dealService() {
+            return mock(IDealService.class);
+        }
+        
+        @Bean
+        public IDealIngestionService dealIngestionService() {
+            return mock(IDealIngestionService.class);
         }
     }
     
@@ -74,7 +111,7 @@ class DealControllerTest {
     
     @Test
     void importDeal_Success() throws Exception {
-        when(dealService.importDeal(any(DealRequest.class))).thenReturn(dealResponse);
+        when(dealIngestionService.ingest(any(DealRequest.class))).thenReturn(dealResponse);
         
         mockMvc.perform(post("/api/deals")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -95,7 +132,7 @@ class DealControllerTest {
                 .errors(List.of())
                 .build();
         
-        when(dealService.importDeals(any())).thenReturn(batchResponse);
+        when(dealService.importDeals(anyList(), eq(true))).thenReturn(batchResponse);
         
         mockMvc.perform(post("/api/deals/batch")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -107,19 +144,202 @@ class DealControllerTest {
     }
     
     @Test
-    void importDeal_ValidationError() throws Exception {
-        dealRequest = DealRequest.builder()
-                .dealUniqueId("TEST001")
-                .fromCurrencyIsoCode("INVALID")
+    void importDeals_CompactResponse_ShouldOmitSuccessfulImports() throws Exception {
+        BatchImportResponse batchResponse = BatchImportResponse.builder()
+                .totalDeals(2)
+                .successfulDeals(1)
+                .failedDeals(1)
+                .errors(List.of(BatchImportResponse.DealError.builder()
+                        .dealUniqueId("DEAL001")
+                        .errorMessage("Deal with ID DEAL001 already exists")
+                        .build()))
+                .build();
+        
+        when(dealService.importDeals(anyList(), eq(false))).thenReturn(batchResponse);
+        
+        mockMvc.perform(post("/api/deals/batch")
+                .param("response", "compact")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(dealRequest, dealRequest))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.successfulDeals").value(1))
+                .andExpect(jsonPath("$.errors[0].dealUniqueId").value("DEAL001"))
+                .andExpect(jsonPath("$.successfulImports").doesNotExist());
+        
+        mockMvc.perform(post("/api/deals/batch")
+                .accept("application/x-ndjson")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(dealRequest, dealRequest))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(
+                        "{\"dealUniqueId\":\"DEAL001\",\"errorMessage\":\"Deal with ID DEAL001 already exists\"}\n"
+                                + "{\"totalDeals\":2,\"successfulDeals\":1,\"failedDeals\":1}"));
+    }
+    
+    @Test
+    void importDeals_Ndjson_ShouldStreamErrorsFromTheImport() throws Exception {
+        when(dealService.importDeals(anyList(), any(Consumer.class))).thenAnswer(invocation -> {
+            Consumer<BatchImportResponse.DealError> errorSink = invocation.getArgument(1);
+            errorSink.accept(BatchImportResponse.DealError.builder()
+                    .dealUniqueId("DEAL002")
+                    .errorMessage("Deal with ID DEAL002 already exists")
+                    .build());
+            return new ImportSummary(2, 1, 1);
+        });
+        
+        mockMvc.perform(post("/api/deals/batch")
+                .param("response", "ndjson")
+                .header("Idempotency-Key", "ndjson-stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(dealRequest, dealRequest))))
+                .andExpect(status().isOk())
+                .andExpect(content().string(
+                        "{\"dealUniqueId\":\"DEAL002\",\"errorMessage\":\"Deal with ID DEAL002 already exists\"}\n"
+                                + "{\"totalDeals\":2,\"successfulDeals\":1,\"failedDeals\":1}"));
+    }
+    
+    @Test
+    void importDeals_ReusedIdempotencyKeyWithDifferentBody_ShouldReturnUnprocessableEntity() throws Exception {
+        when(dealService.importDeals(anyList(), eq(false))).thenReturn(BatchImportResponse.builder()
+                .totalDeals(1)
+                .successfulDeals(1)
+                .errors(List.of())
+                .build());
+        DealRequest otherDeal = DealRequest.builder()
+                .dealUniqueId("DEAL002")
+                .fromCurrencyIsoCode("USD")
                 .toCurrencyIsoCode("EUR")
                 .dealTimestamp(LocalDateTime.now())
                 .dealAmount(new BigDecimal("1000.50"))
                 .build();
         
+        mockMvc.perform(post("/api/deals/batch")
+                .param("response", "compact")
+                .header("Idempotency-Key", "reused-key")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(dealRequest))))
+                .andExpect(status().isOk());
+        
+        mockMvc.perform(post("/api/deals/batch")
+                .param("response", "compact")
+                .header("Idempotency-Key", "reused-key")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(otherDeal))))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.error").value("Idempotency Key Reused"));
+    }
+    
+    @Test
+    void importDeals_GzipBodyTooLarge_ShouldReturnPayloadTooLarge() throws Exception {
+        byte[] body = objectMapper.writeValueAsBytes(List.of(dealRequest));
+        importProperties.setMaxDecompressedRequestSize(DataSize.ofBytes(body.length - 1));
+        try {
+            mockMvc.perform(post("/api/deals/batch")
+                    .header("Content-Encoding", "gzip")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(gzip(body)))
+                    .andExpect(status().isPayloadTooLarge())
+                    .andExpect(jsonPath("$.error").value("Payload Too Large"));
+        } finally {
+            importProperties.setMaxDecompressedRequestSize(new DealImportProperties().getMaxDecompressedRequestSize());
+        }
+    }
+    
+    @Test
+    void importDeals_CorruptGzipBody_ShouldReturnBadRequest() throws Exception {
+        byte[] compressed = gzip(objectMapper.writeValueAsBytes(List.of(dealRequest)));
+        
+        mockMvc.perform(post("/api/deals/batch")
+                .header("Content-Encoding", "gzip")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(Arrays.copyOf(compressed, compressed.length / 2)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Malformed Request Body"));
+        
+        mockMvc.perform(post("/api/deals/batch")
+                .header("Content-Encoding", "gzip")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(List.of(dealRequest))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Malformed Request Body"));
+    }
+    
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        }
+        return compressed.toByteArray();
+    }
+    
+    @Test
+    void importDeal_UnreadableBody_ShouldReturnBadRequest() throws Exception {
+        clearInvocations(dealIngestionService);
+        
         mockMvc.perform(post("/api/deals")
                 .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(dealRequest)))
-                .andExpect(status().isBadRequest());
+                .content("{\"dealUniqueId\": \"TEST001\", \"dealAmount\": \"a lot\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.error").value("Malformed Request Body"))
+                .andExpect(jsonPath("$.message").value("Request body could not be read"));
+        
+        verify(dealIngestionService, never()).ingest(any(DealRequest.class));
     }
-
+    
+    @Test
+    void importDeals_Cbor_ShouldReadAndWriteScaledAmounts() throws Exception {
+        BatchImportResponse batchResponse = BatchImportResponse.builder()
+                .totalDeals(1)
+                .successfulDeals(1)
+                .failedDeals(0)
+                .successfulImports(List.of(dealResponse))
+                .errors(List.of())
+                .build();
+        when(dealService.importDeals(anyList(), eq(true))).thenReturn(batchResponse);
+        ObjectMapper cbor = dealWireFormats.getCborMapper();
+        
+        byte[] body = mockMvc.perform(post("/api/deals/batch")
+                .contentType(DealWireFormats.CBOR)
+                .accept(DealWireFormats.CBOR)
+                .content(cbor.writeValueAsBytes(List.of(dealRequest))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(DealWireFormats.CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        
+        DealRequest decoded = DealRequest.builder()
+                .dealUniqueId("DEAL001")
+                .fromCurrencyIsoCode("USD")
+                .toCurrencyIsoCode("EUR")
+                .dealTimestamp(dealRequest.getDealTimestamp().truncatedTo(ChronoUnit.MILLIS))
+                .dealAmount(new BigDecimal("1000.50"))
+                .build();
+        verify(dealService).importDeals(eq(List.of(decoded)), eq(true));
+        assertEquals(100050, cbor.readTree(body).at("/successfulImports/0/dealAmount").longValue());
+        assertEquals(batchResponse.getSuccessfulImports().get(0).getDealAmount(),
+                cbor.readValue(body, BatchImportResponse.class).getSuccessfulImports().get(0).getDealAmount());
+    }
+    
+    @Test
+    void importDeals_Smile_ShouldBeNegotiatedFromAccept() throws Exception {
+        BatchImportResponse batchResponse = BatchImportResponse.builder()
+                .totalDeals(1)
+                .successfulDeals(1)
+                .failedDeals(0)
+                .errors(List.of())
+                .build();
+        when(dealService.importDeals(anyList(), eq(false))).thenReturn(batchResponse);
+        
+        byte[] body = mockMvc.perform(post("/api/deals/batch?response=compact")
+                .contentType(DealWireFormats.SMILE)
+                .accept(DealWireFormats.SMILE)
+                .content(dealWireFormats.getSmileMapper().writeValueAsBytes(List.of(dealRequest))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(DealWireFormats.SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+        
+        assertEquals(batchResponse, dealWireFormats.getSmileMapper().readValue(body, BatchImportResponse.class));
+    }
+    
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package org.example.fxdealsimporter.controller;
+
+import org.example.fxdealsimporter.config.DealImportProperties;
+import org.example.fxdealsimporter.dto.DealResponse;
+import org.example.fxdealsimporter.dto.DealSearchCriteria;
+import org.example.fxdealsimporter.exception.GlobalExceptionHandler;
+import org.example.fxdealsimporter.exception.InvalidSearchException;
+import org.example.fxdealsimporter.service.IDealQueryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(DealQueryController.class)
+@ContextConfiguration(classes = {DealQueryController.class, GlobalExceptionHandler.class, DealImportProperties.class,
+        DealQueryControllerTest.TestConfig.class})
+class DealQueryControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IDealQueryService dealQueryService;
+
+    @Configuration
+    static class TestConfig {
+        @Bean
+        @Primary
+        public IDealQueryService dealQueryService() {
+            return mock(IDealQueryService.class);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void searchDeals_ShouldStreamPageAndNextCursor() throws Exception {
+        when(dealQueryService.searchDeals(argThat((DealSearchCriteria criteria) -> criteria != null
+                        && "USD".equals(criteria.getFromCurrencyIsoCode())
+                        && LocalDateTime.of(2024, 1, 15, 10, 0).equals(criteria.getFromTimestamp())
+                        && criteria.getLimit() == 1), any())).thenAnswer(invocation -> {
+            Consumer<DealResponse> consumer = invocation.getArgument(1);
+            consumer.accept(DealResponse.builder()
+                    .dealUniqueId("DEAL001")
+                    .fromCurrencyIsoCode("USD")
+                    .toCurrencyIsoCode("EUR")
+                    .dealAmount(new BigDecimal("1000.50"))
+                    .build());
+            return "next-page";
+        });
+
+        mockMvc.perform(get("/api/deals")
+                .param("fromCurrency", "USD")
+                .param("from", "2024-01-15T10:00:00")
+                .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deals[0].dealUniqueId").value("DEAL001"))
+                .andExpect(jsonPath("$.deals.length()").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("next-page"));
+    }
+
+    @Test
+    void searchDeals_InvalidCursor_ShouldReturnBadRequest() throws Exception {
+        when(dealQueryService.searchDeals(any(), any())).thenThrow(new InvalidSearchException("Invalid cursor: abc"));
+
+        mockMvc.perform(get("/api/deals").param("cursor", "abc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor: abc"));
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.fxdealsimporter.currency;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CurrencyCodesTest {
+
+    @Test
+    void code_ShouldRoundTripThreeUpperCaseLetters() {
+        assertEquals(0, CurrencyCodes.code("AAA"));
+        assertEquals(CurrencyCodes.CODE_SPACE - 1, CurrencyCodes.code("ZZZ"));
+        assertEquals("USD", CurrencyCodes.currency(CurrencyCodes.code("USD")));
+        assertSame(CurrencyCodes.currency(CurrencyCodes.code("XYZ")), CurrencyCodes.currency(CurrencyCodes.code("XYZ")));
+    }
+
+    @Test
+    void code_ShouldRejectAnythingElse() {
+        assertEquals(-1, CurrencyCodes.code(null));
+        assertEquals(-1, CurrencyCodes.code("US"));
+        assertEquals(-1, CurrencyCodes.code("USDX"));
+        assertEquals(-1, CurrencyCodes.code("usd"));
+        assertEquals(-1, CurrencyCodes.code("U1D"));
+    }
+}
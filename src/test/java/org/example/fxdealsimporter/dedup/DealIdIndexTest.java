@@ -0,0 +1,108 @@
+package org.example.fxdealsimporter.dedup;
+
+import org.example.fxdealsimporter.config.DealDedupProperties;
+import org.example.fxdealsimporter.dto.DedupIndexStats;
+import org.example.fxdealsimporter.repository.DealBatchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DealIdIndexTest {
+
+    @Mock
+    private DealBatchRepository dealBatchRepository;
+
+    private DealDedupProperties dedupProperties;
+    private DealIdIndex dealIdIndex;
+
+    @BeforeEach
+    void setUp() {
+        dedupProperties = new DealDedupProperties();
+        dedupProperties.setExpectedInsertions(10_000);
+        dedupProperties.setLoadPageSize(2);
+        dealIdIndex = new DealIdIndex(dealBatchRepository, dedupProperties);
+    }
+
+    @Test
+    void mightContain_BeforeBuild_ShouldFallThroughToDatabase() {
+        assertTrue(dealIdIndex.mightContain("DEAL001"));
+        assertFalse(dealIdIndex.stats().isReady());
+        assertEquals(0, dealIdIndex.stats().getPossibleHits());
+    }
+
+    @Test
+    void build_ShouldLoadExistingIdsPageByPage() {
+        when(dealBatchRepository.count()).thenReturn(3L);
+        when(dealBatchRepository.shardCount()).thenReturn(1);
+        when(dealBatchRepository.findIdsAfter(0, null, 2)).thenReturn(List.of("DEAL001", "DEAL002"));
+        when(dealBatchRepository.findIdsAfter(0, "DEAL002", 2)).thenReturn(List.of("DEAL003"));
+
+        dealIdIndex.build();
+
+        assertTrue(dealIdIndex.mightContain("DEAL001"));
+        assertTrue(dealIdIndex.mightContain("DEAL002"));
+        assertTrue(dealIdIndex.mightContain("DEAL003"));
+        DedupIndexStats stats = dealIdIndex.stats();
+        assertTrue(stats.isReady());
+        assertEquals(3, stats.getInsertions());
+        assertEquals(3, stats.getPossibleHits());
+    }
+
+    @Test
+    void build_ShouldLoadIdsFromEveryShard() {
+        when(dealBatchRepository.count()).thenReturn(3L);
+        when(dealBatchRepository.shardCount()).thenReturn(2);
+        when(dealBatchRepository.findIdsAfter(0, null, 2)).thenReturn(List.of("DEAL001"));
+        when(dealBatchRepository.findIdsAfter(1, null, 2)).thenReturn(List.of("DEAL002", "DEAL003"));
+        when(dealBatchRepository.findIdsAfter(1, "DEAL003", 2)).thenReturn(List.of());
+
+        dealIdIndex.build();
+
+        assertTrue(dealIdIndex.mightContain("DEAL001"));
+        assertTrue(dealIdIndex.mightContain("DEAL002"));
+        assertTrue(dealIdIndex.mightContain("DEAL003"));
+        assertEquals(3, dealIdIndex.stats().getInsertions());
+    }
+
+    @Test
+    void add_ShouldKeepIndexCurrentAndCountMisses() {
+        when(dealBatchRepository.count()).thenReturn(0L);
+        when(dealBatchRepository.shardCount()).thenReturn(1);
+        when(dealBatchRepository.findIdsAfter(0, null, 2)).thenReturn(List.of());
+        dealIdIndex.build();
+
+        int misses = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (!dealIdIndex.mightContain("NEW" + i)) {
+                misses++;
+            }
+        }
+        dealIdIndex.add("NEW0");
+        dealIdIndex.recordFalsePositives(1000 - misses);
+
+        assertTrue(dealIdIndex.mightContain("NEW0"));
+        DedupIndexStats stats = dealIdIndex.stats();
+        assertTrue(misses > 980, "false positive rate should stay near the configured 1%");
+        assertEquals(misses, stats.getDefiniteMisses());
+        assertEquals(1000 - misses + 1, stats.getPossibleHits());
+        assertEquals(1000 - misses, stats.getFalsePositives());
+    }
+
+    @Test
+    void build_Disabled_ShouldNeverSkipDatabase() {
+        dedupProperties.setEnabled(false);
+
+        dealIdIndex.build();
+
+        assertTrue(dealIdIndex.mightContain("DEAL001"));
+        verifyNoInteractions(dealBatchRepository);
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.fxdealsimporter.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.example.fxdealsimporter.config.DealImportProperties;
+import org.example.fxdealsimporter.exception.MalformedRequestBodyException;
+import org.example.fxdealsimporter.exception.RequestBodyTooLargeException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GzipRequestFilterTest {
+
+    private final DealImportProperties importProperties = new DealImportProperties();
+    private final GzipRequestFilter filter = new GzipRequestFilter(importProperties);
+
+    @Test
+    void gzipBody_ShouldBeDecompressed() throws Exception {
+        MockHttpServletRequest request = gzipRequest("[{\"dealUniqueId\":\"DEAL001\"}]");
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        HttpServletRequest filtered = (HttpServletRequest) chain.getRequest();
+        assertNull(filtered.getHeader("Content-Encoding"));
+        assertEquals("[{\"dealUniqueId\":\"DEAL001\"}]",
+                new String(filtered.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void gzipBody_ShouldBeDecompressedThroughReader() throws Exception {
+        MockHttpServletRequest request = gzipRequest("[{\"dealUniqueId\":\"DÉAL001\"}]");
+        request.setCharacterEncoding("UTF-8");
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        HttpServletRequest filtered = (HttpServletRequest) chain.getRequest();
+        assertEquals("[{\"dealUniqueId\":\"DÉAL001\"}]", filtered.getReader().readLine());
+        assertSame(filtered.getReader(), filtered.getReader());
+    }
+
+    @Test
+    void oversizedBody_ShouldFailWhileReading() throws Exception {
+        importProperties.setMaxDecompressedRequestSize(DataSize.ofBytes(10));
+        MockHttpServletRequest request = gzipRequest("[{\"dealUniqueId\":\"DEAL001\"}]");
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThrows(RequestBodyTooLargeException.class, () -> chain.getRequest().getInputStream().readAllBytes());
+    }
+
+    @Test
+    void truncatedBody_ShouldFailAsMalformed() throws Exception {
+        MockHttpServletRequest request = gzipRequest("[{\"dealUniqueId\":\"DEAL001\"}]");
+        request.setContent(Arrays.copyOf(request.getContentAsByteArray(), request.getContentLength() - 4));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThrows(MalformedRequestBodyException.class, () -> chain.getRequest().getInputStream().readAllBytes());
+    }
+
+    @Test
+    void unsupportedEncoding_ShouldBeRejected() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/deals/batch");
+        request.addHeader("Content-Encoding", "br");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(415, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    private MockHttpServletRequest gzipRequest(String body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/deals/batch");
+        request.addHeader("Content-Encoding", "gzip");
+        request.setContent(compressed.toByteArray());
+        return request;
+    }
+}
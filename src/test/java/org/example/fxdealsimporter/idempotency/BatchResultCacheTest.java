@@ -0,0 +1,160 @@
+package org.example.fxdealsimporter.idempotency;
+
+import org.example.fxdealsimporter.config.DealImportProperties;
+import org.example.fxdealsimporter.dto.BatchImportResponse;
+import org.example.fxdealsimporter.dto.DealRequest;
+import org.example.fxdealsimporter.exception.IdempotencyKeyReusedException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchResultCacheTest {
+
+    private final DealImportProperties importProperties = new DealImportProperties();
+    private final BatchResultCache cache = new BatchResultCache(importProperties);
+
+    @Test
+    void replayedBatch_ShouldReturnCachedResultWithoutImporting() {
+        AtomicInteger imports = new AtomicInteger();
+        BatchImportResponse first = cache.getOrImport("batch", "fp", () -> response(imports.incrementAndGet()));
+        BatchImportResponse replay = cache.getOrImport("batch", "fp", () -> response(imports.incrementAndGet()));
+
+        assertSame(first, replay);
+        assertEquals(1, imports.get());
+    }
+
+    @Test
+    void concurrentIdenticalBatches_ShouldImportOnce() throws Exception {
+        AtomicInteger imports = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<BatchImportResponse> first = CompletableFuture.supplyAsync(() ->
+                cache.getOrImport("batch", "fp", () -> {
+                    started.countDown();
+                    await(release);
+                    return response(imports.incrementAndGet());
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<BatchImportResponse> second = CompletableFuture.supplyAsync(() ->
+                cache.getOrImport("batch", "fp", () -> response(imports.incrementAndGet())));
+
+        release.countDown();
+
+        assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, imports.get());
+    }
+
+    @Test
+    void failedImport_ShouldNotBeCached() {
+        assertThrows(IllegalStateException.class, () -> cache.getOrImport("batch", "fp", () -> {
+            throw new IllegalStateException("Database unavailable");
+        }));
+
+        assertEquals(7, cache.getOrImport("batch", "fp", () -> response(7)).getTotalDeals());
+    }
+
+    @Test
+    void expiredAndEvictedEntries_ShouldBeImportedAgain() throws Exception {
+        importProperties.getIdempotency().setMaxEntries(1);
+        cache.getOrImport("first", "fp", () -> response(1));
+        cache.getOrImport("second", "fp", () -> response(2));
+        assertEquals(3, cache.getOrImport("first", "fp", () -> response(3)).getTotalDeals());
+
+        importProperties.getIdempotency().setTtl(Duration.ofMillis(1));
+        cache.getOrImport("third", "fp", () -> response(4));
+        Thread.sleep(5);
+        assertEquals(5, cache.getOrImport("third", "fp", () -> response(5)).getTotalDeals());
+    }
+
+    @Test
+    void resultWithRetriableFailure_ShouldNotBeCached() {
+        cache.getOrImport("batch", "fp", () -> BatchImportResponse.builder()
+                .totalDeals(1)
+                .failedDeals(1)
+                .errors(List.of(new BatchImportResponse.DealError("DEAL001", "Connection refused", true)))
+                .build());
+
+        assertEquals(2, cache.getOrImport("batch", "fp", () -> response(2)).getTotalDeals());
+    }
+
+    @Test
+    void reusedKeyWithDifferentBatch_ShouldBeRejected() {
+        cache.getOrImport("batch", "fp", () -> response(1));
+
+        assertThrows(IdempotencyKeyReusedException.class, () -> cache.getOrImport("batch", "other", () -> response(2)));
+    }
+
+    @Test
+    void reusedKeyWhileFirstBatchIsRunning_ShouldBeRejected() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<BatchImportResponse> first = CompletableFuture.supplyAsync(() ->
+                cache.getOrImport("batch", "fp", () -> {
+                    started.countDown();
+                    await(release);
+                    return response(1);
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(IdempotencyKeyReusedException.class, () -> cache.getOrImport("batch", "other", () -> response(2)));
+
+        release.countDown();
+        assertEquals(1, first.get(5, TimeUnit.SECONDS).getTotalDeals());
+    }
+
+    @Test
+    void cachedDeals_ShouldBeBoundedAcrossEntries() {
+        importProperties.getIdempotency().setMaxDeals(5);
+        cache.getOrImport("first", "fp", () -> responseWithErrors(3));
+        cache.getOrImport("second", "fp", () -> responseWithErrors(3));
+        assertEquals(10, cache.getOrImport("first", "fp", () -> response(10)).getTotalDeals());
+
+        cache.getOrImport("large", "fp", () -> responseWithErrors(6));
+        assertEquals(11, cache.getOrImport("large", "fp", () -> response(11)).getTotalDeals());
+    }
+
+    @Test
+    void fingerprint_ShouldDependOnContent() {
+        assertEquals(BatchFingerprint.of(List.of(deal("1000.50"))), BatchFingerprint.of(List.of(deal("1000.50"))));
+        assertNotEquals(BatchFingerprint.of(List.of(deal("1000.50"))), BatchFingerprint.of(List.of(deal("1000.51"))));
+    }
+
+    private static DealRequest deal(String amount) {
+        return DealRequest.builder()
+                .dealUniqueId("DEAL001")
+                .fromCurrencyIsoCode("USD")
+                .toCurrencyIsoCode("EUR")
+                .dealTimestamp(LocalDateTime.of(2024, 1, 15, 10, 30))
+                .dealAmount(new BigDecimal(amount))
+                .build();
+    }
+
+    private static BatchImportResponse response(int totalDeals) {
+        return BatchImportResponse.builder().totalDeals(totalDeals).build();
+    }
+
+    private static BatchImportResponse responseWithErrors(int failedDeals) {
+        List<BatchImportResponse.DealError> errors = IntStream.range(0, failedDeals)
+                .mapToObj(i -> new BatchImportResponse.DealError("DEAL" + i, "Deal amount must be positive", false))
+                .toList();
+        return BatchImportResponse.builder().totalDeals(failedDeals).failedDeals(failedDeals).errors(errors).build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package org.example.fxdealsimporter.ingestion;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.example.fxdealsimporter.config.DealImportProperties;
+import org.example.fxdealsimporter.dto.DealRequest;
+import org.example.fxdealsimporter.exception.InvalidDealException;
+import org.example.fxdealsimporter.service.IDealService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.condition.EmbeddedKafkaCondition;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@EmbeddedKafka(partitions = 2)
+class KafkaDealIngestionSourceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final IDealService dealService = mock(IDealService.class);
+    private final Set<String> importedIds = ConcurrentHashMap.newKeySet();
+
+    private EmbeddedKafkaBroker broker;
+    private DealImportProperties importProperties;
+    private KafkaDealIngestionSource source;
+    private String topic;
+
+    @BeforeEach
+    void setUp() {
+        broker = EmbeddedKafkaCondition.getBroker();
+        topic = "deals-" + UUID.randomUUID();
+        broker.addTopics(topic);
+
+        importProperties = new DealImportProperties();
+        importProperties.getKafka().setTopic(topic);
+        importProperties.getKafka().setGroupId("group-" + topic);
+        importProperties.getKafka().setMaxPollRecords(50);
+        importProperties.getKafka().setPollTimeout(Duration.ofMillis(100));
+        importProperties.getKafka().setRetryBackoff(Duration.ofMillis(50));
+
+        DefaultKafkaConsumerFactory<Object, Object> consumerFactory = new DefaultKafkaConsumerFactory<>(
+            Map.of(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString()));
+        source = new KafkaDealIngestionSource(consumerFactory, dealService, objectMapper, importProperties);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        source.stop();
+    }
+
+    @Test
+    void start_ShouldImportBatchesAndCommitOffsets() throws Exception {
+        acceptAll();
+        send(120);
+
+        source.start();
+
+        awaitTrue(() -> source.getImportedDeals() == 120);
+        assertEquals(120, importedIds.size());
+        awaitTrue(() -> committedOffsets() == 120);
+        verify(dealService, atLeast(3)).importGroup(anyList(), isNull(), any());
+    }
+
+    @Test
+    void start_ImportFails_ShouldRedeliverBatchWithoutCommitting() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (calls.getAndIncrement() == 0) {
+                throw new DataAccessResourceFailureException("database down");
+            }
+            return importAll(invocation);
+        }).when(dealService).importGroup(anyList(), isNull(), any());
+        send(10);
+
+        source.start();
+
+        awaitTrue(() -> importedIds.size() == 10);
+        awaitTrue(() -> committedOffsets() == 10);
+        assertTrue(calls.get() >= 2);
+    }
+
+    @Test
+    void start_TransientDealFailure_ShouldRedeliverBatchWithoutCommitting() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (calls.getAndIncrement() == 0) {
+                List<DealRequest> deals = invocation.getArgument(0);
+                RuntimeException[] failures = invocation.getArgument(2);
+                failures[0] = new QueryTimeoutException("lock wait timeout");
+                deals.subList(1, deals.size()).forEach(deal -> importedIds.add(deal.getDealUniqueId()));
+                return null;
+            }
+            return importAll(invocation);
+        }).when(dealService).importGroup(anyList(), isNull(), any());
+        try (KafkaProducer<String, String> producer = producer()) {
+            for (int i = 0; i < 5; i++) {
+                String id = "DEAL-" + i;
+                producer.send(new ProducerRecord<>(topic, 0, id, objectMapper.writeValueAsString(deal(id)))).get();
+            }
+        }
+
+        source.start();
+
+        awaitTrue(() -> importedIds.size() == 5);
+        awaitTrue(() -> committedOffsets() == 5);
+        assertTrue(calls.get() >= 2);
+        assertEquals(0, source.getRejectedDeals());
+    }
+
+    @Test
+    void start_InvalidDeal_ShouldRejectItAndCommit() throws Exception {
+        doAnswer(invocation -> {
+            RuntimeException[] failures = invocation.getArgument(2);
+            failures[0] = new InvalidDealException("Deal amount must be positive");
+            return null;
+        }).when(dealService).importGroup(anyList(), isNull(), any());
+        try (KafkaProducer<String, String> producer = producer()) {
+            producer.send(new ProducerRecord<>(topic, 0, "DEAL-0", objectMapper.writeValueAsString(deal("DEAL-0")))).get();
+        }
+
+        source.start();
+
+        awaitTrue(() -> committedOffsets() == 1);
+        assertEquals(1, source.getRejectedDeals());
+        verify(dealService, times(1)).importGroup(anyList(), isNull(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void start_PollFails_ShouldBackOffAndKeepConsuming() throws Exception {
+        acceptAll();
+        TopicPartition partition = new TopicPartition(topic, 0);
+        MockConsumer<String, String> mockConsumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        mockConsumer.schedulePollTask(() -> {
+            mockConsumer.updateBeginningOffsets(Map.of(partition, 0L));
+            mockConsumer.rebalance(List.of(partition));
+            mockConsumer.setPollException(new TimeoutException("broker unavailable"));
+        });
+        mockConsumer.schedulePollTask(() -> mockConsumer.addRecord(
+            new ConsumerRecord<>(topic, 0, 0L, "DEAL-0", serialize(deal("DEAL-0")))));
+        ConsumerFactory<Object, Object> consumerFactory = mock(ConsumerFactory.class);
+        doReturn(mockConsumer).when(consumerFactory).createConsumer(any(), any(), any(), any(Properties.class));
+        source = new KafkaDealIngestionSource(consumerFactory, dealService, objectMapper, importProperties);
+
+        source.start();
+
+        awaitTrue(() -> source.getImportedDeals() == 1);
+        awaitTrue(() -> {
+            OffsetAndMetadata committed = mockConsumer.committed(Set.of(partition)).get(partition);
+            return committed != null && committed.offset() == 1;
+        });
+        assertTrue(source.isRunning());
+    }
+
+    @Test
+    void start_MalformedMessage_ShouldSkipItAndCommit() throws Exception {
+        acceptAll();
+        try (KafkaProducer<String, String> producer = producer()) {
+            producer.send(new ProducerRecord<>(topic, 0, "bad", "{not json")).get();
+            producer.send(new ProducerRecord<>(topic, 0, "DEAL-0", objectMapper.writeValueAsString(deal("DEAL-0")))).get();
+        }
+
+        source.start();
+
+        awaitTrue(() -> source.getImportedDeals() == 1);
+        awaitTrue(() -> committedOffsets() == 2);
+        assertEquals(1, source.getMalformedMessages());
+    }
+
+    @Test
+    void stop_ShouldEndConsumerThread() throws Exception {
+        source.start();
+        awaitTrue(source::isRunning);
+
+        source.stop();
+
+        assertFalse(source.isRunning());
+    }
+
+    private void acceptAll() {
+        doAnswer(this::importAll).when(dealService).importGroup(anyList(), isNull(), any());
+    }
+
+    private Object importAll(InvocationOnMock invocation) {
+        List<DealRequest> deals = invocation.getArgument(0);
+        deals.forEach(deal -> importedIds.add(deal.getDealUniqueId()));
+        return null;
+    }
+
+    private String serialize(DealRequest deal) {
+        try {
+            return objectMapper.writeValueAsString(deal);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void send(int count) throws Exception {
+        try (KafkaProducer<String, String> producer = producer()) {
+            for (int i = 0; i < count; i++) {
+                String id = "DEAL-" + i;
+                producer.send(new ProducerRecord<>(topic, id, objectMapper.writeValueAsString(deal(id))));
+            }
+            producer.flush();
+        }
+    }
+
+    private KafkaProducer<String, String> producer() {
+        return new KafkaProducer<>(Map.of(
+            ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+            ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+            ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class));
+    }
+
+    private long committedOffsets() {
+        DefaultKafkaConsumerFactory<String, String> factory = new DefaultKafkaConsumerFactory<>(Map.of(
+            ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+            ConsumerConfig.GROUP_ID_CONFIG, importProperties.getKafka().getGroupId()),
+            new StringDeserializer(),
+            new StringDeserializer());
+        try (Consumer<String, String> consumer = factory.createConsumer()) {
+            Map<TopicPartition, OffsetAndMetadata> committed = consumer.committed(
+                Set.of(new TopicPartition(topic, 0), new TopicPartition(topic, 1)));
+            return committed.values().stream().filter(Objects::nonNull).mapToLong(OffsetAndMetadata::offset).sum();
+        }
+    }
+
+    private DealRequest deal(String id) {
+        return DealRequest.builder()
+            .dealUniqueId(id)
+            .fromCurrencyIsoCode("USD")
+            .toCurrencyIsoCode("EUR")
+            .dealTimestamp(LocalDateTime.of(2024, 1, 15, 10, 30))
+            .dealAmount(new BigDecimal("100.00"))
+            .build();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("condition not met within 30s");
+            }
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package org.example.fxdealsimporter.journal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.fxdealsimporter.config.DealImportProperties;
+import org.example.fxdealsimporter.dto.DealRequest;
+import org.example.fxdealsimporter.exception.DuplicateDealException;
+import org.example.fxdealsimporter.service.IDealService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class DealJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private DealImportProperties importProperties;
+    private DealJournal journal;
+
+    @BeforeEach
+    void setUp() {
+        importProperties = new DealImportProperties();
+        importProperties.setIngestionMode(DealImportProperties.IngestionMode.JOURNAL);
+        importProperties.getJournal().setDirectory(directory.toString());
+        journal = open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(journal, "close");
+    }
+
+    @Test
+    void appendedDeals_ShouldSurviveRestart() {
+        journal.append(deal("DEAL001"));
+        journal.append(deal("DEAL002"));
+
+        restart();
+        JournalBatch batch = journal.read(10);
+
+        assertEquals(List.of("DEAL001", "DEAL002"), batch.getDeals().stream().map(DealRequest::getDealUniqueId).toList());
+        assertEquals(new BigDecimal("1000.50"), batch.getDeals().get(0).getDealAmount());
+    }
+
+    @Test
+    void tornTail_ShouldBeTruncatedOnRecovery() throws Exception {
+        journal.append(deal("DEAL001"));
+        Path file = directory.resolve("deals-00000000000000000000.journal");
+        long validSize = Files.size(file);
+        Files.write(file, new byte[]{0, 0, 0, 100, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        restart();
+
+        assertEquals(validSize, Files.size(file));
+        assertEquals(1, journal.read(10).getDeals().size());
+    }
+
+    @Test
+    void commit_ShouldDeleteReplayedSegments() throws Exception {
+        importProperties.getJournal().setSegmentSize(DataSize.ofBytes(1));
+        restart();
+        journal.append(deal("DEAL001"));
+        journal.append(deal("DEAL002"));
+        journal.append(deal("DEAL003"));
+        assertEquals(3, segmentFiles().size());
+
+        JournalBatch batch = journal.read(2);
+        journal.commit(batch.getEndPosition());
+
+        assertEquals(1, segmentFiles().size());
+        restart();
+        assertEquals(List.of("DEAL003"), journal.read(10).getDeals().stream().map(DealRequest::getDealUniqueId).toList());
+    }
+
+    @Test
+    void replay_WhileWritersKeepAppending_ShouldKeepJournalBounded() throws Exception {
+        importProperties.getJournal().setSegmentSize(DataSize.ofKilobytes(1));
+        importProperties.getJournal().setReplayBatchSize(7);
+        restart();
+        IDealService dealService = mock(IDealService.class);
+        List<String> replayed = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            List<DealRequest> deals = invocation.getArgument(0);
+            deals.forEach(deal -> replayed.add(deal.getDealUniqueId()));
+            return null;
+        }).when(dealService).importGroup(anyList(), any(), any());
+        DealJournalReplayer replayer = new DealJournalReplayer(journal, dealService, importProperties);
+        AtomicBoolean appending = new AtomicBoolean(true);
+        AtomicInteger appended = new AtomicInteger();
+        Thread writer = new Thread(() -> {
+            while (appending.get()) {
+                journal.append(deal("DEAL" + appended.get()));
+                appended.incrementAndGet();
+            }
+        });
+
+        writer.start();
+        while (replayed.size() < 500) {
+            replayer.replayOnce();
+        }
+        // The writer never paused, yet the segments already replayed are gone.
+        assertTrue(writer.isAlive());
+        assertFalse(Files.exists(directory.resolve("deals-00000000000000000000.journal")));
+        appending.set(false);
+        writer.join();
+        while (replayer.replayOnce()) {
+            // drain the rest
+        }
+
+        assertEquals(IntStream.range(0, appended.get()).mapToObj(i -> "DEAL" + i).toList(), replayed);
+        assertEquals(1, segmentFiles().size());
+    }
+
+    @Test
+    void replayOnce_DatabaseDown_ShouldKeepCheckpoint() {
+        IDealService dealService = mock(IDealService.class);
+        DealJournalReplayer replayer = new DealJournalReplayer(journal, dealService, importProperties);
+        journal.append(deal("DEAL001"));
+        journal.append(deal("DEAL002"));
+        doThrow(new DataAccessResourceFailureException("Connection refused"))
+                .doNothing()
+                .when(dealService).importGroup(anyList(), any(), any());
+
+        assertFalse(replayer.replayOnce());
+        assertEquals(2, journal.read(10).getDeals().size());
+
+        assertTrue(replayer.replayOnce());
+        assertTrue(journal.read(10).getDeals().isEmpty());
+        verify(dealService, times(2)).importGroup(anyList(), any(), any());
+    }
+
+    @Test
+    void replayOnce_TransientFailureInOneByOneRetry_ShouldNotCheckpointPastIt() {
+        IDealService dealService = mock(IDealService.class);
+        DealJournalReplayer replayer = new DealJournalReplayer(journal, dealService, importProperties);
+        journal.append(deal("DEAL001"));
+        journal.append(deal("DEAL002"));
+        journal.append(deal("DEAL003"));
+        journal.append(deal("DEAL004"));
+        // The chunk hit a duplicate, and the one-by-one retry then lost the database at DEAL003.
+        doAnswer(invocation -> {
+            RuntimeException[] failures = invocation.getArgument(2);
+            failures[1] = new DuplicateDealException("Deal with ID DEAL002 already exists");
+            failures[2] = new QueryTimeoutException("Timeout trying to lock table DEALS");
+            return null;
+        }).doNothing().when(dealService).importGroup(anyList(), any(), any());
+
+        assertFalse(replayer.replayOnce());
+        assertEquals(List.of("DEAL003", "DEAL004"),
+                journal.read(10).getDeals().stream().map(DealRequest::getDealUniqueId).toList());
+
+        restart();
+        replayer = new DealJournalReplayer(journal, dealService, importProperties);
+        assertTrue(replayer.replayOnce());
+        assertTrue(journal.read(10).getDeals().isEmpty());
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".journal")).toList();
+        }
+    }
+
+    private void restart() {
+        ReflectionTestUtils.invokeMethod(journal, "close");
+        journal = open();
+    }
+
+    private DealJournal open() {
+        DealJournal dealJournal = new DealJournal(importProperties, objectMapper);
+        ReflectionTestUtils.invokeMethod(dealJournal, "open");
+        return dealJournal;
+    }
+
+    private DealRequest deal(String dealUniqueId) {
+        return DealRequest.builder()
+                .dealUniqueId(dealUniqueId)
+                .fromCurrencyIsoCode("USD")
+                .toCurrencyIsoCode("EUR")
+                .dealTimestamp(LocalDateTime.of(2024, 1, 15, 10, 30))
+                .dealAmount(new BigDecimal("1000.50"))
+                .build();
+    }
+}
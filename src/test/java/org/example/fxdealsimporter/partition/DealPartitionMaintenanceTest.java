@@ -0,0 +1,179 @@
+package org.example.fxdealsimporter.partition;
+
+import org.example.fxdealsimporter.config.DealPartitionProperties;
+import org.example.fxdealsimporter.sharding.DealShards;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DealPartitionMaintenanceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private DealShards dealShards;
+
+    private DealPartitionProperties partitionProperties;
+    private DealPartitionMaintenance maintenance;
+
+    @BeforeEach
+    void setUp() {
+        partitionProperties = new DealPartitionProperties();
+        partitionProperties.setPremakeMonths(2);
+        partitionProperties.setRetentionMonths(24);
+        List<DealShards.Shard> shards = List.of(shard(0, jdbcTemplate));
+        lenient().when(dealShards.all()).thenReturn(shards);
+        maintenance = new DealPartitionMaintenance(dealShards, partitionProperties);
+    }
+
+    @Test
+    void maintain_ShouldSplitFuturePartitionUpToPremakeMonths() {
+        partitions(partition("p_history", "'2025-01-01 00:00:00'"), partition("p_future", "MAXVALUE"));
+
+        maintenance.maintain(LocalDate.of(2025, 1, 10));
+
+        verify(jdbcTemplate).execute("ALTER TABLE deals REORGANIZE PARTITION p_future INTO ("
+            + "PARTITION p202501 VALUES LESS THAN ('2025-02-01'), "
+            + "PARTITION p202502 VALUES LESS THAN ('2025-03-01'), "
+            + "PARTITION p202503 VALUES LESS THAN ('2025-04-01'), "
+            + "PARTITION p_future VALUES LESS THAN (MAXVALUE))");
+        verify(jdbcTemplate, times(1)).execute(anyString());
+    }
+
+    @Test
+    void maintain_WhenPartitionsAlreadyExist_ShouldNotAlterTable() {
+        partitions(partition("p202501", "'2025-02-01 00:00:00'"), partition("p202502", "'2025-03-01 00:00:00'"),
+            partition("p202503", "'2025-04-01 00:00:00'"), partition("p_future", "MAXVALUE"));
+
+        maintenance.maintain(LocalDate.of(2025, 1, 31));
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void maintain_ShouldArchiveAndDropPartitionsOlderThanRetention() {
+        partitions(partition("p_history", "'2023-02-01 00:00:00'"), partition("p202302", "'2023-03-01 00:00:00'"),
+            partition("p202303", "'2023-04-01 00:00:00'"), partition("p202506", "'2025-07-01 00:00:00'"),
+            partition("p_future", "MAXVALUE"));
+        newArchiveTables();
+
+        maintenance.maintain(LocalDate.of(2025, 3, 5));
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS deals_archive_p_history LIKE deals");
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE deals_archive_p_history REMOVE PARTITIONING");
+        inOrder.verify(jdbcTemplate)
+            .execute("ALTER TABLE deals EXCHANGE PARTITION p_history WITH TABLE deals_archive_p_history");
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE deals DROP PARTITION p_history");
+        inOrder.verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS deals_archive_p202302 LIKE deals");
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE deals DROP PARTITION p202302");
+        verify(jdbcTemplate, never()).execute("ALTER TABLE deals DROP PARTITION p202303");
+    }
+
+    @Test
+    void maintain_AfterExchangeWithoutDrop_ShouldOnlyDropThePartition() {
+        partitions(partition("p202302", "'2023-03-01 00:00:00'"), partition("p202506", "'2025-07-01 00:00:00'"));
+        when(jdbcTemplate.queryForObject(startsWith("SELECT COUNT(*) FROM information_schema"), eq(Integer.class),
+            eq("deals_archive_p202302"))).thenReturn(0);
+        rows("deals_archive_p202302", 1);
+        rows("deals PARTITION (p202302)", 0);
+
+        maintenance.maintain(LocalDate.of(2025, 3, 5));
+
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS deals_archive_p202302 LIKE deals");
+        verify(jdbcTemplate, never()).execute(contains("REMOVE PARTITIONING"));
+        verify(jdbcTemplate, never()).execute(contains("EXCHANGE PARTITION"));
+        verify(jdbcTemplate).execute("ALTER TABLE deals DROP PARTITION p202302");
+    }
+
+    @Test
+    void maintain_WhenPartitionAndArchiveBothHoldDeals_ShouldKeepThePartition() {
+        partitions(partition("p202302", "'2023-03-01 00:00:00'"), partition("p202506", "'2025-07-01 00:00:00'"));
+        when(jdbcTemplate.queryForObject(startsWith("SELECT COUNT(*) FROM information_schema"), eq(Integer.class),
+            eq("deals_archive_p202302"))).thenReturn(0);
+        rows("deals_archive_p202302", 1);
+        rows("deals PARTITION (p202302)", 1);
+
+        maintenance.maintain(LocalDate.of(2025, 3, 5));
+
+        verify(jdbcTemplate, never()).execute(contains("EXCHANGE PARTITION"));
+        verify(jdbcTemplate, never()).execute(startsWith("ALTER TABLE deals DROP PARTITION"));
+    }
+
+    @Test
+    void maintain_ShouldMaintainEveryShard() {
+        JdbcTemplate secondShard = mock(JdbcTemplate.class);
+        List<DealShards.Shard> shards = List.of(shard(0, jdbcTemplate), shard(1, secondShard));
+        when(dealShards.all()).thenReturn(shards);
+        when(jdbcTemplate.queryForList(anyString())).thenThrow(new QueryTimeoutException("shard 0 unavailable"));
+        when(secondShard.queryForList(anyString())).thenReturn(List.of(
+            partition("p_history", "'2025-01-01 00:00:00'"), partition("p_future", "MAXVALUE")));
+
+        maintenance.maintain(LocalDate.of(2025, 1, 10));
+
+        verify(secondShard).execute(startsWith("ALTER TABLE deals REORGANIZE PARTITION p_future"));
+    }
+
+    @Test
+    void maintain_WithoutArchive_ShouldOnlyDropExpiredPartitions() {
+        partitionProperties.setArchive(false);
+        partitions(partition("p202302", "'2023-03-01 00:00:00'"), partition("p202506", "'2025-07-01 00:00:00'"));
+
+        maintenance.maintain(LocalDate.of(2025, 3, 5));
+
+        verify(jdbcTemplate).execute("ALTER TABLE deals DROP PARTITION p202302");
+        verify(jdbcTemplate, never()).execute(startsWith("CREATE TABLE"));
+    }
+
+    @Test
+    void maintain_WhenTableIsNotPartitioned_ShouldDoNothing() {
+        when(jdbcTemplate.queryForList(anyString())).thenReturn(List.of());
+
+        maintenance.maintain(LocalDate.of(2025, 1, 10));
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    private void newArchiveTables() {
+        when(jdbcTemplate.queryForObject(startsWith("SELECT COUNT(*) FROM information_schema"), eq(Integer.class),
+            anyString())).thenReturn(1);
+        when(jdbcTemplate.queryForObject(contains("FROM deals_archive_"), eq(Integer.class))).thenReturn(0);
+    }
+
+    private void rows(String table, int rows) {
+        when(jdbcTemplate.queryForObject(contains("FROM " + table + " LIMIT 1"), eq(Integer.class))).thenReturn(rows);
+    }
+
+    private static DealShards.Shard shard(int index, JdbcTemplate jdbcTemplate) {
+        DealShards.Shard shard = mock(DealShards.Shard.class);
+        lenient().when(shard.getIndex()).thenReturn(index);
+        lenient().when(shard.getJdbcTemplate()).thenReturn(jdbcTemplate);
+        return shard;
+    }
+
+    @SafeVarargs
+    private void partitions(Map<String, Object>... partitions) {
+        when(jdbcTemplate.queryForList(anyString())).thenReturn(List.of(partitions));
+    }
+
+    private Map<String, Object> partition(String name, String upperBound) {
+        return Map.of("name", name, "upper_bound", upperBound);
+    }
+}
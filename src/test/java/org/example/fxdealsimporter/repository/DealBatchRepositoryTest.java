@@ -0,0 +1,128 @@
+package org.example.fxdealsimporter.repository;
+
+import org.example.fxdealsimporter.config.DealPartitionProperties;
+import org.example.fxdealsimporter.config.DealShardingProperties;
+import org.example.fxdealsimporter.dto.DealRequest;
+import org.example.fxdealsimporter.entity.Deal;
+import org.example.fxdealsimporter.sharding.DealShards;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@JdbcTest
+@Import({DealBatchRepository.class, DealShards.class, DealPartitionProperties.class, DealShardingProperties.class})
+class DealBatchRepositoryTest {
+
+    @Autowired
+    private DealBatchRepository dealBatchRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void insertAll_ShouldPersistEveryDeal() {
+        dealBatchRepository.insertAll(List.of(deal("DEAL001"), deal("DEAL002"), deal("DEAL003")));
+
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM deals", Integer.class));
+    }
+
+    @Test
+    void insertAll_ColumnarBatch_ShouldRoundTripEveryColumn() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 16, 8, 0);
+        DealBatch batch = new DealBatch(1, createdAt);
+        batch.add(request("DEAL001", "USD", "EUR", new BigDecimal("1000.5"), LocalDateTime.of(2024, 1, 15, 10, 30, 15)));
+        batch.add(request("DEAL-000000002", "EUR", "USD", new BigDecimal("0.01"), LocalDateTime.of(1969, 12, 31, 23, 59, 59)));
+        batch.add(request("D3", "USD", "JPY", new BigDecimal("999999999999999.99"), LocalDateTime.of(2024, 2, 29, 0, 0)));
+
+        dealBatchRepository.insertAll(batch);
+
+        List<Deal> deals = jdbcTemplate.query(
+            "SELECT * FROM deals ORDER BY deal_unique_id",
+            (rs, rowNum) -> Deal.builder()
+                .dealUniqueId(rs.getString("deal_unique_id"))
+                .fromCurrencyIsoCode(rs.getString("from_currency_iso_code"))
+                .toCurrencyIsoCode(rs.getString("to_currency_iso_code"))
+                .dealTimestamp(rs.getTimestamp("deal_timestamp").toLocalDateTime())
+                .dealAmount(rs.getBigDecimal("deal_amount"))
+                .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                .build());
+        assertEquals(3, deals.size());
+        assertEquals("D3", deals.get(0).getDealUniqueId());
+        assertEquals("JPY", deals.get(0).getToCurrencyIsoCode());
+        assertEquals(new BigDecimal("999999999999999.99"), deals.get(0).getDealAmount());
+        assertEquals("DEAL-000000002", deals.get(1).getDealUniqueId());
+        assertEquals("EUR", deals.get(1).getFromCurrencyIsoCode());
+        assertEquals(LocalDateTime.of(1969, 12, 31, 23, 59, 59), deals.get(1).getDealTimestamp());
+        assertEquals(new BigDecimal("0.01"), deals.get(1).getDealAmount());
+        assertEquals(LocalDateTime.of(2024, 1, 15, 10, 30, 15), deals.get(2).getDealTimestamp());
+        assertEquals(new BigDecimal("1000.50"), deals.get(2).getDealAmount());
+        assertEquals(createdAt, deals.get(2).getCreatedAt());
+    }
+
+    @Test
+    void insert_ColumnarBatchRow_ShouldPersistOnlyThatRow() {
+        DealBatch batch = new DealBatch(2, LocalDateTime.now());
+        batch.add(request("DEAL001", "USD", "EUR", BigDecimal.TEN, LocalDateTime.of(2024, 1, 15, 10, 30)));
+        batch.add(request("DEAL002", "USD", "EUR", BigDecimal.TEN, LocalDateTime.of(2024, 1, 15, 10, 30)));
+
+        dealBatchRepository.insert(batch, 1);
+
+        assertEquals(Set.of("DEAL002"), dealBatchRepository.findExistingIds(List.of("DEAL001", "DEAL002")));
+    }
+
+    @Test
+    void findExistingIds_ShouldReturnOnlyPersistedIds() {
+        dealBatchRepository.insertAll(List.of(deal("DEAL001"), deal("DEAL002")));
+
+        Set<String> existing = dealBatchRepository.findExistingIds(List.of("DEAL001", "DEAL002", "DEAL003"));
+
+        assertEquals(Set.of("DEAL001", "DEAL002"), existing);
+        assertTrue(dealBatchRepository.findExistingIds(List.of()).isEmpty());
+    }
+
+    @Test
+    void exists_ShouldReflectPersistedIds() {
+        dealBatchRepository.insert(deal("DEAL001"));
+
+        assertTrue(dealBatchRepository.exists("DEAL001"));
+        assertFalse(dealBatchRepository.exists("DEAL002"));
+    }
+
+    @Test
+    void insert_DuplicateId_ShouldThrowDuplicateKeyException() {
+        dealBatchRepository.insert(deal("DEAL001"));
+
+        assertThrows(DuplicateKeyException.class, () -> dealBatchRepository.insert(deal("DEAL001")));
+    }
+
+    private DealRequest request(String dealUniqueId, String from, String to, BigDecimal amount, LocalDateTime timestamp) {
+        return DealRequest.builder()
+                .dealUniqueId(dealUniqueId)
+                .fromCurrencyIsoCode(from)
+                .toCurrencyIsoCode(to)
+                .dealTimestamp(timestamp)
+                .dealAmount(amount)
+                .build();
+    }
+
+    private Deal deal(String dealUniqueId) {
+        return Deal.builder()
+                .dealUniqueId(dealUniqueId)
+                .fromCurrencyIsoCode("USD")
+                .toCurrencyIsoCode("EUR")
+                .dealTimestamp(LocalDateTime.of(2024, 1, 15, 10, 30))
+                .dealAmount(new BigDecimal("1000.50"))
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
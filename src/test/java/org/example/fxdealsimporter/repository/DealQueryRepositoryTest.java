@@ -0,0 +1,121 @@
+package org.example.fxdealsimporter.repository;
+
+import org.example.fxdealsimporter.config.DealPartitionProperties;
+import org.example.fxdealsimporter.config.DealQueryProperties;
+import org.example.fxdealsimporter.config.DealShardingProperties;
+import org.example.fxdealsimporter.dto.DealSearchCriteria;
+import org.example.fxdealsimporter.dto.DealSearchCursor;
+import org.example.fxdealsimporter.dto.PairAggregate;
+import org.example.fxdealsimporter.entity.Deal;
+import org.example.fxdealsimporter.sharding.DealShards;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@JdbcTest
+@Import({DealQueryRepository.class, DealBatchRepository.class, DealShards.class, DealQueryProperties.class,
+    DealPartitionProperties.class, DealShardingProperties.class})
+class DealQueryRepositoryTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 15, 10, 0);
+
+    @Autowired
+    private DealQueryRepository dealQueryRepository;
+
+    @Autowired
+    private DealBatchRepository dealBatchRepository;
+
+    @BeforeEach
+    void setUp() {
+        dealBatchRepository.insertAll(List.of(
+                deal("DEAL003", "USD", "EUR", T0, "100.00"),
+                deal("DEAL001", "USD", "EUR", T0, "200.00"),
+                deal("DEAL002", "USD", "EUR", T0.plusMinutes(1), "300.00"),
+                deal("DEAL004", "GBP", "JPY", T0.plusMinutes(2), "400.00"),
+                deal("DEAL005", "USD", "EUR", T0.plusMinutes(3), "500.00")));
+    }
+
+    @Test
+    void search_ShouldPageInTimestampThenIdOrder() {
+        DealSearchCriteria criteria = new DealSearchCriteria();
+        List<String> ids = new ArrayList<>();
+        DealSearchCursor cursor = null;
+        do {
+            List<Deal> page = search(criteria, cursor, 2);
+            page.forEach(deal -> ids.add(deal.getDealUniqueId()));
+            Deal last = page.isEmpty() ? null : page.get(page.size() - 1);
+            cursor = page.size() < 2 ? null : DealSearchCursor.decode(
+                    new DealSearchCursor(last.getDealTimestamp(), last.getDealUniqueId()).encode());
+        } while (cursor != null);
+
+        assertEquals(List.of("DEAL001", "DEAL003", "DEAL002", "DEAL004", "DEAL005"), ids);
+    }
+
+    @Test
+    void search_ShouldApplyPairTimestampAndAmountFilters() {
+        DealSearchCriteria criteria = DealSearchCriteria.builder()
+                .fromCurrencyIsoCode("USD")
+                .toCurrencyIsoCode("EUR")
+                .fromTimestamp(T0)
+                .toTimestamp(T0.plusMinutes(3))
+                .minAmount(new BigDecimal("150.00"))
+                .build();
+
+        List<Deal> deals = search(criteria, null, 10);
+
+        assertEquals(List.of("DEAL001", "DEAL002"), deals.stream().map(Deal::getDealUniqueId).toList());
+        assertEquals(new BigDecimal("200.00"), deals.get(0).getDealAmount());
+        assertFalse(deals.get(0).isNew());
+    }
+
+    @Test
+    void aggregateByPair_ShouldSumDealsCreatedBeforeCutoff() {
+        List<PairAggregate> pairs = new ArrayList<>(dealQueryRepository.aggregateByPair(LocalDateTime.now().plusMinutes(1)));
+        pairs.sort(Comparator.comparing(PairAggregate::getFromCurrencyIsoCode));
+
+        assertEquals(2, pairs.size());
+        assertEquals("GBP", pairs.get(0).getFromCurrencyIsoCode());
+        assertEquals(1, pairs.get(0).getDealCount());
+        assertEquals("EUR", pairs.get(1).getToCurrencyIsoCode());
+        assertEquals(4, pairs.get(1).getDealCount());
+        assertEquals(new BigDecimal("1100.00"), pairs.get(1).getNotional());
+        assertTrue(dealQueryRepository.aggregateByPair(LocalDateTime.now().minusDays(1)).isEmpty());
+    }
+
+    @Test
+    void forEachDealSince_ShouldStreamDealsFromTimestamp() {
+        List<Deal> deals = new ArrayList<>();
+
+        dealQueryRepository.forEachDealSince(T0.plusMinutes(2), LocalDateTime.now().plusMinutes(1), deals::add);
+
+        assertEquals(2, deals.size());
+        assertTrue(deals.stream().allMatch(deal -> !deal.getDealTimestamp().isBefore(T0.plusMinutes(2))));
+    }
+
+    private List<Deal> search(DealSearchCriteria criteria, DealSearchCursor after, int limit) {
+        List<Deal> deals = new ArrayList<>();
+        dealQueryRepository.search(criteria, after, limit, deals::add);
+        return deals;
+    }
+
+    private Deal deal(String dealUniqueId, String from, String to, LocalDateTime timestamp, String amount) {
+        return Deal.builder()
+                .dealUniqueId(dealUniqueId)
+                .fromCurrencyIsoCode(from)
+                .toCurrencyIsoCode(to)
+                .dealTimestamp(timestamp)
+                .dealAmount(new BigDecimal(amount))
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
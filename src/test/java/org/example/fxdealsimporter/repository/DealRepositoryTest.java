@@ -0,0 +1,71 @@
+package org.example.fxdealsimporter.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.fxdealsimporter.entity.Deal;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class DealRepositoryTest {
+
+    @Autowired
+    private DealRepository dealRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void save_NewDeal_ShouldIssueOneInsertAndNoSelect() {
+        dealRepository.saveAll(List.of(deal("DEAL001"), deal("DEAL002"), deal("DEAL003")));
+        dealRepository.flush();
+
+        assertEquals(3, statistics.getEntityInsertCount());
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void loadedDeal_ShouldNotBeNew() {
+        Deal saved = dealRepository.saveAndFlush(deal("DEAL001"));
+        entityManager.clear();
+
+        Deal loaded = dealRepository.findById("DEAL001").orElseThrow();
+
+        assertNotSame(saved, loaded);
+        assertEquals(1, statistics.getEntityLoadCount());
+        assertFalse(loaded.isNew());
+        assertTrue(deal("DEAL002").isNew());
+    }
+
+    private Deal deal(String dealUniqueId) {
+        return Deal.builder()
+                .dealUniqueId(dealUniqueId)
+                .fromCurrencyIsoCode("USD")
+                .toCurrencyIsoCode("EUR")
+                .dealTimestamp(LocalDateTime.of(2024, 1, 15, 10, 30))
+                .dealAmount(new BigDecimal("1000.50"))
+                .build();
+    }
+}
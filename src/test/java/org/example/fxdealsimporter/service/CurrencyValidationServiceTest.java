@@ -1,10 +1,15 @@
 package org.example.fxdealsimporter.service;
 
+import org.example.fxdealsimporter.dto.DealRequest;
 import org.example.fxdealsimporter.exception.InvalidCurrencyException;
+import org.example.fxdealsimporter.exception.InvalidDealException;
 import org.example.fxdealsimporter.service.Impl.CurrencyValidationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class CurrencyValidationServiceTest {
@@ -48,4 +53,71 @@ class CurrencyValidationServiceTest {
         assertEquals("Unsupported to currency: XYZ", exception.getMessage());
     }
 
+    @Test
+    void validateCurrencies_LowercaseCurrency_ShouldThrowException() {
+        InvalidCurrencyException exception = assertThrows(
+            InvalidCurrencyException.class,
+            () -> currencyValidationService.validateCurrencies("usd", "EUR")
+        );
+        assertEquals("Unsupported from currency: usd", exception.getMessage());
+    }
+
+    @Test
+    void validateDealRequest_ValidRequest_ShouldPass() {
+        assertDoesNotThrow(() -> currencyValidationService.validateDealRequest(validRequest().build()));
+    }
+
+    @Test
+    void validateDealRequest_InvalidCurrencyFormat_ShouldThrowException() {
+        InvalidDealException exception = assertThrows(
+            InvalidDealException.class,
+            () -> currencyValidationService.validateDealRequest(validRequest().fromCurrencyIsoCode("US1").build())
+        );
+        assertEquals("From currency must be 3 uppercase letters", exception.getMessage());
+    }
+
+    @Test
+    void validateDealRequest_AmountWithTooManyDecimals_ShouldThrowException() {
+        InvalidDealException exception = assertThrows(
+            InvalidDealException.class,
+            () -> currencyValidationService.validateDealRequest(validRequest().dealAmount(new BigDecimal("10.123")).build())
+        );
+        assertEquals("Deal amount format is invalid", exception.getMessage());
+    }
+
+    @Test
+    void validateDealRequest_AmountWithTooManyIntegerDigits_ShouldThrowException() {
+        InvalidDealException exception = assertThrows(
+            InvalidDealException.class,
+            () -> currencyValidationService.validateDealRequest(validRequest().dealAmount(new BigDecimal("1234567890123456.00")).build())
+        );
+        assertEquals("Deal amount format is invalid", exception.getMessage());
+    }
+
+    @Test
+    void validateDealRequest_MultipleViolations_ShouldReportAllInOnePass() {
+        DealRequest request = DealRequest.builder()
+            .dealUniqueId(" ")
+            .fromCurrencyIsoCode("USD")
+            .toCurrencyIsoCode("eur")
+            .dealAmount(new BigDecimal("-5"))
+            .build();
+
+        InvalidDealException exception = assertThrows(
+            InvalidDealException.class,
+            () -> currencyValidationService.validateDealRequest(request)
+        );
+        assertEquals("Deal unique ID is required; To currency must be 3 uppercase letters; "
+            + "Deal timestamp is required; Deal amount must be positive", exception.getMessage());
+    }
+
+    private DealRequest.DealRequestBuilder validRequest() {
+        return DealRequest.builder()
+            .dealUniqueId("DEAL001")
+            .fromCurrencyIsoCode("USD")
+            .toCurrencyIsoCode("EUR")
+            .dealTimestamp(LocalDateTime.of(2024, 1, 15, 10, 30))
+            .dealAmount(new BigDecimal("1000.50"));
+    }
+
 }
\ No newline at end of file
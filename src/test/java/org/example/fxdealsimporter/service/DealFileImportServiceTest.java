@@ -0,0 +1,162 @@
+package org.example.fxdealsimporter.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.example.fxdealsimporter.config.DealImportProperties;
+import org.example.fxdealsimporter.dto.BatchImportResponse;
+import org.example.fxdealsimporter.dto.DealRequest;
+import org.example.fxdealsimporter.dto.ImportSummary;
+import org.example.fxdealsimporter.parser.DealFileFormat;
+import org.example.fxdealsimporter.service.Impl.DealFileImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DealFileImportServiceTest {
+
+    @Mock
+    private IDealService dealService;
+
+    private DealImportProperties importProperties;
+    private DealFileImportService dealFileImportService;
+    private List<List<DealRequest>> importedChunks;
+
+    @BeforeEach
+    void setUp() {
+        importProperties = new DealImportProperties();
+        importProperties.setBatchSize(2);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        dealFileImportService = new DealFileImportService(dealService, objectMapper, importProperties);
+        importedChunks = new ArrayList<>();
+
+        when(dealService.importDeals(anyList(), eq(false))).thenAnswer(invocation -> {
+            List<DealRequest> chunk = List.copyOf(invocation.getArgument(0));
+            importedChunks.add(chunk);
+            return BatchImportResponse.builder()
+                .totalDeals(chunk.size())
+                .successfulDeals(chunk.size())
+                .failedDeals(0)
+                .successfulImports(List.of())
+                .errors(List.of())
+                .build();
+        });
+    }
+
+    @Test
+    void importFile_Csv_ShouldImportInBoundedChunks() throws Exception {
+        String csv = """
+            dealUniqueId,fromCurrencyIsoCode,toCurrencyIsoCode,dealTimestamp,dealAmount
+            DEAL001,USD,EUR,2024-01-15T10:30:00,1500.75
+            DEAL002,GBP,JPY,2024-01-15T11:00:00,2000.00
+            DEAL003,EUR,CHF,2024-01-15T11:30:00,300.10
+            """;
+        List<BatchImportResponse.DealError> errors = new ArrayList<>();
+
+        ImportSummary summary = dealFileImportService.importFile(stream(csv), DealFileFormat.CSV, errors::add);
+
+        assertEquals(3, summary.getTotalDeals());
+        assertEquals(3, summary.getSuccessfulDeals());
+        assertEquals(0, summary.getFailedDeals());
+        assertTrue(errors.isEmpty());
+        assertEquals(2, importedChunks.size());
+        assertEquals(2, importedChunks.get(0).size());
+        DealRequest first = importedChunks.get(0).get(0);
+        assertEquals("DEAL001", first.getDealUniqueId());
+        assertEquals("USD", first.getFromCurrencyIsoCode());
+        assertEquals(LocalDateTime.of(2024, 1, 15, 10, 30), first.getDealTimestamp());
+        assertEquals(new BigDecimal("1500.75"), first.getDealAmount());
+    }
+
+    @Test
+    void importFile_CsvWithByteOrderMarkAndLeadingBlankLines_ShouldStillDetectHeader() throws Exception {
+        String csv = "\uFEFF\n\n"
+            + "toCurrencyIsoCode,fromCurrencyIsoCode,dealUniqueId,dealTimestamp,dealAmount\n"
+            + "EUR,USD,DEAL001,2024-01-15T10:30:00,1500.75\n";
+
+        ImportSummary summary = dealFileImportService.importFile(stream(csv), DealFileFormat.CSV,
+            error -> fail(error.getErrorMessage()));
+
+        assertEquals(1, summary.getTotalDeals());
+        DealRequest request = importedChunks.get(0).get(0);
+        assertEquals("DEAL001", request.getDealUniqueId());
+        assertEquals("USD", request.getFromCurrencyIsoCode());
+        assertEquals("EUR", request.getToCurrencyIsoCode());
+    }
+
+    @Test
+    void importFile_CsvWithReorderedHeader_ShouldMapColumnsByName() throws Exception {
+        String csv = """
+            dealAmount,dealUniqueId,dealTimestamp,toCurrencyIsoCode,fromCurrencyIsoCode
+            1500.75,DEAL001,2024-01-15T10:30:00,EUR,USD
+            """;
+
+        dealFileImportService.importFile(stream(csv), DealFileFormat.CSV, error -> fail(error.getErrorMessage()));
+
+        DealRequest request = importedChunks.get(0).get(0);
+        assertEquals("DEAL001", request.getDealUniqueId());
+        assertEquals("USD", request.getFromCurrencyIsoCode());
+        assertEquals("EUR", request.getToCurrencyIsoCode());
+    }
+
+    @Test
+    void importFile_CsvWithQuotedFields_ShouldUnescapeThemAndReportBrokenQuoting() throws Exception {
+        String csv = "dealUniqueId,fromCurrencyIsoCode,toCurrencyIsoCode,dealTimestamp,dealAmount\n"
+            + "\"DEAL,\"\"001\"\"\", USD ,\"EUR\",2024-01-15T10:30:00,\"1500.75\"\n"
+            + "\"DEAL\n002\",GBP,JPY,2024-01-15T11:00:00,2000.00\n"
+            + "\"DEAL003\"x,GBP,JPY,2024-01-15T11:00:00,2000.00\n"
+            + "DEAL004,CHF,EUR,2024-01-15T12:00:00,\"10.00\n";
+        List<BatchImportResponse.DealError> errors = new ArrayList<>();
+
+        ImportSummary summary = dealFileImportService.importFile(stream(csv), DealFileFormat.CSV, errors::add);
+
+        assertEquals(4, summary.getTotalDeals());
+        assertEquals(2, summary.getSuccessfulDeals());
+        assertEquals(List.of("DEAL,\"001\"", "DEAL\n002"),
+            importedChunks.get(0).stream().map(DealRequest::getDealUniqueId).toList());
+        assertEquals("USD", importedChunks.get(0).get(0).getFromCurrencyIsoCode());
+        assertEquals(List.of("Line 5: Malformed CSV row: unexpected character after quoted field 1",
+                "Line 6: Malformed CSV row: unterminated quoted field"),
+            errors.stream().map(BatchImportResponse.DealError::getErrorMessage).toList());
+    }
+
+    @Test
+    void importFile_NdjsonWithMalformedLine_ShouldReportRowAndContinue() throws Exception {
+        String ndjson = """
+            {"dealUniqueId":"DEAL001","fromCurrencyIsoCode":"USD","toCurrencyIsoCode":"EUR","dealTimestamp":"2024-01-15T10:30:00","dealAmount":1500.75}
+            {"dealUniqueId":"DEAL002",
+            {"dealUniqueId":"DEAL003","fromCurrencyIsoCode":"GBP","toCurrencyIsoCode":"JPY","dealTimestamp":"2024-01-15T11:00:00","dealAmount":2000.00}
+            """;
+        List<BatchImportResponse.DealError> errors = new ArrayList<>();
+
+        ImportSummary summary = dealFileImportService.importFile(stream(ndjson), DealFileFormat.NDJSON, errors::add);
+
+        assertEquals(3, summary.getTotalDeals());
+        assertEquals(2, summary.getSuccessfulDeals());
+        assertEquals(1, summary.getFailedDeals());
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0).getErrorMessage().startsWith("Line 2: Malformed JSON"));
+        assertEquals(1, importedChunks.size());
+        assertEquals(List.of("DEAL001", "DEAL003"),
+            importedChunks.get(0).stream().map(DealRequest::getDealUniqueId).toList());
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
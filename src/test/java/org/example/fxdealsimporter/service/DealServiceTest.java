@@ -1,24 +1,42 @@
 package org.example.fxdealsimporter.service;
 
+import org.example.fxdealsimporter.aggregation.DealAggregates;
+import org.example.fxdealsimporter.config.DealDedupProperties;
+import org.example.fxdealsimporter.config.DealImportProperties;
+import org.example.fxdealsimporter.dedup.DealIdIndex;
 import org.example.fxdealsimporter.dto.BatchImportResponse;
 import org.example.fxdealsimporter.dto.DealRequest;
 import org.example.fxdealsimporter.dto.DealResponse;
+import org.example.fxdealsimporter.dto.ImportSummary;
 import org.example.fxdealsimporter.entity.Deal;
+import org.example.fxdealsimporter.exception.DuplicateDealException;
 import org.example.fxdealsimporter.exception.InvalidCurrencyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.example.fxdealsimporter.mapper.DealMapper;
+import org.example.fxdealsimporter.metrics.DealImportMetrics;
+import org.example.fxdealsimporter.repository.DealBatch;
+import org.example.fxdealsimporter.repository.DealBatchRepository;
 import org.example.fxdealsimporter.repository.DealRepository;
 import org.example.fxdealsimporter.service.Impl.DealService;
+import org.example.fxdealsimporter.service.Impl.PartitionedImportExecutor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -30,12 +48,32 @@ class DealServiceTest {
     @Mock
     private DealRepository dealRepository;
     
+    @Mock
+    private DealBatchRepository dealBatchRepository;
+    
     @Mock
     private DealMapper dealMapper;
     
     @Mock
     private ICurrencyValidationService currencyValidationService;
     
+    @Spy
+    private DealImportProperties importProperties = new DealImportProperties();
+    
+    @Spy
+    private PartitionedImportExecutor partitionedImportExecutor = new PartitionedImportExecutor(1, 10);
+    
+    @Spy
+    private DealIdIndex dealIdIndex = new DealIdIndex(null, new DealDedupProperties());
+    
+    @Mock
+    private DealAggregates dealAggregates;
+    
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    
+    @Spy
+    private DealImportMetrics importMetrics = new DealImportMetrics(meterRegistry);
+    
     @InjectMocks
     private DealService dealService;
     
@@ -74,7 +112,7 @@ class DealServiceTest {
                 .build();
         
         doNothing().when(currencyValidationService).validateCurrencies("USD", "EUR");
-        when(dealRepository.existsByDealUniqueId("DEAL001")).thenReturn(false);
+        when(dealBatchRepository.exists("DEAL001")).thenReturn(false);
         when(dealMapper.toEntity(dealRequest)).thenReturn(deal);
         when(dealRepository.save(deal)).thenReturn(deal);
         when(dealMapper.toResponse(deal)).thenReturn(expectedResponse);
@@ -88,10 +126,12 @@ class DealServiceTest {
         assertEquals(new BigDecimal("1000.50"), response.getDealAmount());
         
         verify(currencyValidationService).validateCurrencies("USD", "EUR");
-        verify(dealRepository).existsByDealUniqueId("DEAL001");
+        verify(dealBatchRepository).exists("DEAL001");
         verify(dealMapper).toEntity(dealRequest);
         verify(dealRepository).save(deal);
         verify(dealMapper).toResponse(deal);
+        verify(dealAggregates).record(deal);
+        assertEquals(1, meterRegistry.get("deals.import.stage").tags("stage", "persist", "path", "single").timer().count());
     }
     
     @Test
@@ -127,9 +167,8 @@ class DealServiceTest {
             .when(currencyValidationService).validateCurrencies("USD", "USD");
         doNothing().when(currencyValidationService).validateCurrencies("GBP", "JPY");
         
-        when(dealRepository.existsByDealUniqueId(anyString())).thenReturn(false);
+        when(dealBatchRepository.findExistingIds(List.of("DEAL001", "DEAL003"))).thenReturn(Set.of());
         when(dealMapper.toEntity(any())).thenReturn(deal);
-        when(dealRepository.save(any())).thenReturn(deal);
         when(dealMapper.toResponse(any())).thenReturn(DealResponse.builder().dealUniqueId("TEST").build());
         
         BatchImportResponse response = dealService.importDeals(requests);
@@ -141,6 +180,345 @@ class DealServiceTest {
         assertEquals(1, response.getErrors().size());
         assertEquals("DEAL002", response.getErrors().get(0).getDealUniqueId());
         assertEquals("From and to currencies cannot be the same: USD", response.getErrors().get(0).getErrorMessage());
+        verify(dealBatchRepository).insertAll(anyList());
+        verify(dealBatchRepository, never()).exists(anyString());
+        verify(dealRepository, never()).save(any());
+    }
+    
+    @Test
+    void importDeals_DuplicatesInBatchAndDatabase_ShouldBeReported() {
+        DealRequest existingRequest = DealRequest.builder()
+                .dealUniqueId("DEAL004")
+                .fromCurrencyIsoCode("USD")
+                .toCurrencyIsoCode("EUR")
+                .dealTimestamp(LocalDateTime.now())
+                .dealAmount(new BigDecimal("500.00"))
+                .build();
+        
+        List<DealRequest> requests = List.of(dealRequest, existingRequest, dealRequest);
+        importProperties.setBatchSize(2);
+        
+        when(dealBatchRepository.findExistingIds(List.of("DEAL001", "DEAL004"))).thenReturn(Set.of("DEAL004"));
+        when(dealMapper.toEntity(dealRequest)).thenReturn(deal);
+        when(dealMapper.toResponse(deal)).thenReturn(DealResponse.builder().dealUniqueId("DEAL001").build());
+        
+        BatchImportResponse response = dealService.importDeals(requests);
+        
+        assertEquals(3, response.getTotalDeals());
+        assertEquals(1, response.getSuccessfulDeals());
+        assertEquals(2, response.getFailedDeals());
+        assertEquals("DEAL001", response.getSuccessfulImports().get(0).getDealUniqueId());
+        assertEquals("DEAL004", response.getErrors().get(0).getDealUniqueId());
+        assertEquals("Deal with ID DEAL004 already exists", response.getErrors().get(0).getErrorMessage());
+        assertEquals("DEAL001", response.getErrors().get(1).getDealUniqueId());
+        assertEquals("Deal with ID DEAL001 already exists", response.getErrors().get(1).getErrorMessage());
+        verify(dealBatchRepository).insertAll(List.of(deal));
+        verify(dealBatchRepository, times(1)).findExistingIds(anyCollection());
+        assertEquals(1.0, meterRegistry.get("deals.import.deals")
+                .tags("outcome", "imported", "from", "USD", "to", "EUR").counter().count());
+        assertEquals(2.0, meterRegistry.get("deals.import.deals")
+                .tags("outcome", "duplicate", "from", "USD", "to", "EUR").counter().count());
+        assertEquals(3.0, meterRegistry.get("deals.import.batch.size").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("deals.import.stage").tags("stage", "persist", "path", "batch").timer().count());
+        assertEquals(0, meterRegistry.get("deals.import.stage").tags("stage", "persist", "path", "single").timer().count());
+    }
+    
+    @Test
+    void importDeals_DefiniteIndexMisses_ShouldSkipDuplicateQuery() {
+        doReturn(false).when(dealIdIndex).mightContain(anyString());
+        when(dealMapper.toEntity(dealRequest)).thenReturn(deal);
+        when(dealMapper.toResponse(deal)).thenReturn(DealResponse.builder().dealUniqueId("DEAL001").build());
+        
+        BatchImportResponse response = dealService.importDeals(List.of(dealRequest));
+        
+        assertEquals(1, response.getSuccessfulDeals());
+        verify(dealBatchRepository, never()).findExistingIds(anyCollection());
+        verify(dealBatchRepository).insertAll(List.of(deal));
+        verify(dealIdIndex).add("DEAL001");
+    }
+    
+    @Test
+    void importDeals_WithoutSuccessfulImports_ShouldInsertColumnarBatch() {
+        doReturn(false).when(dealIdIndex).mightContain(anyString());
+        
+        BatchImportResponse response = dealService.importDeals(List.of(dealRequest), false);
+        
+        assertEquals(1, response.getSuccessfulDeals());
+        assertNull(response.getSuccessfulImports());
+        verify(dealBatchRepository).insertAll(argThat((DealBatch batch) ->
+            batch.size() == 1 && batch.getDealUniqueId(0).equals("DEAL001")));
+        verify(dealMapper, never()).toEntity(any());
+        verify(dealMapper, never()).toResponse(any());
+        verify(dealIdIndex).add("DEAL001");
+        verify(dealAggregates).record(eq(dealRequest), any(LocalDateTime.class));
+    }
+    
+    @Test
+    void importDeals_WithoutSuccessfulImports_BatchRejected_ShouldRetryRowsFromBatch() {
+        DealRequest second = DealRequest.builder()
+                .dealUniqueId("DEAL002")
+                .fromCurrencyIsoCode("USD")
+                .toCurrencyIsoCode("EUR")
+                .dealTimestamp(LocalDateTime.now())
+                .dealAmount(new BigDecimal("250"))
+                .build();
+        doReturn(false).when(dealIdIndex).mightContain(anyString());
+        doThrow(new DuplicateKeyException("Duplicate entry 'DEAL002'"))
+            .when(dealBatchRepository).insertAll(any(DealBatch.class));
+        doAnswer(invocation -> {
+            DealBatch batch = invocation.getArgument(0);
+            if (batch.getDealUniqueId(invocation.getArgument(1)).equals("DEAL002")) {
+                throw new DuplicateKeyException("Duplicate entry 'DEAL002'");
+            }
+            return null;
+        }).when(dealBatchRepository).insert(any(DealBatch.class), anyInt());
+        
+        BatchImportResponse response = dealService.importDeals(List.of(dealRequest, second), false);
+        
+        assertEquals(1, response.getSuccessfulDeals());
+        assertEquals(1, response.getFailedDeals());
+        assertEquals("DEAL002", response.getErrors().get(0).getDealUniqueId());
+        verify(dealBatchRepository, times(2)).insert(any(DealBatch.class), anyInt());
+        verify(dealIdIndex).add("DEAL001");
+    }
+    
+    @Test
+    void importDeals_ChunkLosesDatabase_ShouldFailOnlyThatChunk() {
+        DealRequest second = DealRequest.builder()
+                .dealUniqueId("DEAL002")
+                .fromCurrencyIsoCode("USD")
+                .toCurrencyIsoCode("EUR")
+                .dealTimestamp(LocalDateTime.now())
+                .dealAmount(new BigDecimal("250"))
+                .build();
+        importProperties.setBatchSize(1);
+        when(dealBatchRepository.findExistingIds(List.of("DEAL001"))).thenReturn(Set.of());
+        when(dealBatchRepository.findExistingIds(List.of("DEAL002")))
+            .thenThrow(new QueryTimeoutException("Timeout trying to lock table DEALS"));
+        when(dealMapper.toEntity(dealRequest)).thenReturn(deal);
+        when(dealMapper.toResponse(deal)).thenReturn(DealResponse.builder().dealUniqueId("DEAL001").build());
+        
+        BatchImportResponse response = dealService.importDeals(List.of(dealRequest, second));
+        
+        assertEquals(1, response.getSuccessfulDeals());
+        assertEquals(1, response.getFailedDeals());
+        assertEquals("DEAL002", response.getErrors().get(0).getDealUniqueId());
+        assertEquals("Timeout trying to lock table DEALS", response.getErrors().get(0).getErrorMessage());
+        assertTrue(response.getErrors().get(0).isRetriable());
+        verify(dealBatchRepository).insertAll(List.of(deal));
+        assertEquals(1.0, meterRegistry.get("deals.import.deals")
+                .tags("outcome", "failed", "from", "USD", "to", "EUR").counter().count());
+    }
+    
+    @Test
+    void importDeals_ErrorSink_ShouldReceiveEveryFailureAndNoResponses() {
+        DealRequest invalid = DealRequest.builder().dealUniqueId("DEAL009").fromCurrencyIsoCode("USD")
+                .toCurrencyIsoCode("USD").build();
+        doNothing().when(currencyValidationService).validateCurrencies("USD", "EUR");
+        doThrow(new InvalidCurrencyException("From and to currencies cannot be the same: USD"))
+            .when(currencyValidationService).validateCurrencies("USD", "USD");
+        doReturn(false).when(dealIdIndex).mightContain(anyString());
+        List<BatchImportResponse.DealError> errors = new ArrayList<>();
+        
+        ImportSummary summary = dealService.importDeals(List.of(dealRequest, invalid, dealRequest), errors::add);
+        
+        assertEquals(new ImportSummary(3, 1, 2), summary);
+        assertEquals(List.of("DEAL009", "DEAL001"), errors.stream().map(BatchImportResponse.DealError::getDealUniqueId).toList());
+        verify(dealBatchRepository).insertAll(any(DealBatch.class));
+        verify(dealMapper, never()).toResponse(any());
+    }
+    
+    @Test
+    void importGroup_DuplicateInGroup_ShouldFailLaterOccurrence() {
+        doReturn(false).when(dealIdIndex).mightContain(anyString());
+        when(dealMapper.toEntity(dealRequest)).thenReturn(deal);
+        when(dealMapper.toResponse(deal)).thenReturn(DealResponse.builder().dealUniqueId("DEAL001").build());
+        DealResponse[] imported = new DealResponse[2];
+        RuntimeException[] failures = new RuntimeException[2];
+        
+        dealService.importGroup(List.of(dealRequest, dealRequest), imported, failures);
+        
+        assertEquals("DEAL001", imported[0].getDealUniqueId());
+        assertNull(failures[0]);
+        assertNull(imported[1]);
+        assertInstanceOf(DuplicateDealException.class, failures[1]);
+        verify(dealBatchRepository).insertAll(List.of(deal));
+    }
+    
+    @Test
+    void importDeal_DefiniteIndexMiss_ShouldSkipExistsQuery() {
+        doReturn(false).when(dealIdIndex).mightContain("DEAL001");
+        when(dealMapper.toEntity(dealRequest)).thenReturn(deal);
+        when(dealRepository.save(deal)).thenReturn(deal);
+        when(dealMapper.toResponse(deal)).thenReturn(DealResponse.builder().dealUniqueId("DEAL001").build());
+        
+        dealService.importDeal(dealRequest);
+        
+        verify(dealBatchRepository, never()).exists(anyString());
+        verify(dealRepository).save(deal);
+        verify(dealIdIndex).add("DEAL001");
+    }
+    
+    @Test
+    void importDeal_ConcurrentDuplicate_ShouldReportDuplicate() {
+        when(dealBatchRepository.exists("DEAL001")).thenReturn(false, true);
+        when(dealMapper.toEntity(dealRequest)).thenReturn(deal);
+        when(dealRepository.save(deal)).thenThrow(new DataIntegrityViolationException("Duplicate entry 'DEAL001'"));
+        
+        DuplicateDealException exception = assertThrows(
+            DuplicateDealException.class,
+            () -> dealService.importDeal(dealRequest)
+        );
+        
+        assertEquals("Deal with ID DEAL001 already exists", exception.getMessage());
+    }
+    
+    @Test
+    void importDeal_InsertFirst_ShouldSkipExistsQuery() {
+        importProperties.setDuplicateStrategy(DealImportProperties.DuplicateStrategy.INSERT_FIRST);
+        when(dealMapper.toEntity(dealRequest)).thenReturn(deal);
+        when(dealMapper.toResponse(deal)).thenReturn(DealResponse.builder().dealUniqueId("DEAL001").build());
+        
+        DealResponse response = dealService.importDeal(dealRequest);
+        
+        assertEquals("DEAL001", response.getDealUniqueId());
+        verify(dealBatchRepository).insert(deal);
+        verify(dealBatchRepository, never()).exists(anyString());
+        verify(dealRepository, never()).save(any());
+    }
+    
+    @Test
+    void importDeal_InsertFirst_DuplicateKey_ShouldThrowDuplicate() {
+        importProperties.setDuplicateStrategy(DealImportProperties.DuplicateStrategy.INSERT_FIRST);
+        when(dealMapper.toEntity(dealRequest)).thenReturn(deal);
+        doThrow(new DuplicateKeyException("Duplicate entry 'DEAL001'")).when(dealBatchRepository).insert(deal);
+        
+        DuplicateDealException exception = assertThrows(
+            DuplicateDealException.class,
+            () -> dealService.importDeal(dealRequest)
+        );
+        
+        assertEquals("Deal with ID DEAL001 already exists", exception.getMessage());
+        verify(dealBatchRepository, never()).exists(anyString());
+    }
+    
+    @Test
+    void importDeals_InsertFirst_ShouldSkipDuplicateQuery() {
+        importProperties.setDuplicateStrategy(DealImportProperties.DuplicateStrategy.INSERT_FIRST);
+        when(dealMapper.toEntity(dealRequest)).thenReturn(deal);
+        when(dealMapper.toResponse(deal)).thenReturn(DealResponse.builder().dealUniqueId("DEAL001").build());
+        
+        BatchImportResponse response = dealService.importDeals(List.of(dealRequest));
+        
+        assertEquals(1, response.getSuccessfulDeals());
+        verify(dealBatchRepository, never()).findExistingIds(anyCollection());
+        verify(dealBatchRepository).insertAll(List.of(deal));
+    }
+    
+    @Test
+    void importDeals_InsertFirst_RejectedBatch_ShouldLookUpDuplicatesOnceAndRebatch() {
+        importProperties.setDuplicateStrategy(DealImportProperties.DuplicateStrategy.INSERT_FIRST);
+        Deal existing = Deal.builder().dealUniqueId("DEAL004").build();
+        DealRequest existingRequest = DealRequest.builder().dealUniqueId("DEAL004").build();
+        when(dealMapper.toEntity(dealRequest)).thenReturn(deal);
+        when(dealMapper.toEntity(existingRequest)).thenReturn(existing);
+        when(dealMapper.toResponse(deal)).thenReturn(DealResponse.builder().dealUniqueId("DEAL001").build());
+        doThrow(new DuplicateKeyException("Duplicate entry 'DEAL004'"))
+            .when(dealBatchRepository).insertAll(List.of(deal, existing));
+        when(dealBatchRepository.findExistingIds(List.of("DEAL001", "DEAL004"))).thenReturn(Set.of("DEAL004"));
+        
+        BatchImportResponse response = dealService.importDeals(List.of(dealRequest, existingRequest));
+        
+        assertEquals(1, response.getSuccessfulDeals());
+        assertEquals("Deal with ID DEAL004 already exists", response.getErrors().get(0).getErrorMessage());
+        verify(dealBatchRepository).insertAll(List.of(deal));
+        verify(dealBatchRepository, never()).insert(any());
+        verify(dealIdIndex).add("DEAL004");
+    }
+    
+    @Test
+    void importDeals_InsertFirst_RebatchRejected_ShouldInsertOneByOne() {
+        importProperties.setDuplicateStrategy(DealImportProperties.DuplicateStrategy.INSERT_FIRST);
+        Deal concurrent = Deal.builder().dealUniqueId("DEAL004").build();
+        DealRequest concurrentRequest = DealRequest.builder().dealUniqueId("DEAL004").build();
+        when(dealMapper.toEntity(dealRequest)).thenReturn(deal);
+        when(dealMapper.toEntity(concurrentRequest)).thenReturn(concurrent);
+        when(dealMapper.toResponse(deal)).thenReturn(DealResponse.builder().dealUniqueId("DEAL001").build());
+        // DEAL004 is committed by another writer after the lookup, so the second batch fails as well.
+        doThrow(new DuplicateKeyException("Duplicate entry 'DEAL004'")).when(dealBatchRepository).insertAll(anyList());
+        when(dealBatchRepository.findExistingIds(anyCollection())).thenReturn(Set.of());
+        doAnswer(invocation -> {
+            if (invocation.getArgument(0) == concurrent) {
+                throw new DuplicateKeyException("Duplicate entry 'DEAL004'");
+            }
+            return null;
+        }).when(dealBatchRepository).insert(any());
+        
+        BatchImportResponse response = dealService.importDeals(List.of(dealRequest, concurrentRequest));
+        
+        assertEquals(1, response.getSuccessfulDeals());
+        assertEquals("Deal with ID DEAL004 already exists", response.getErrors().get(0).getErrorMessage());
+        verify(dealBatchRepository, times(2)).insertAll(anyList());
+        verify(dealBatchRepository, times(1)).findExistingIds(anyCollection());
+        verify(dealBatchRepository).insert(deal);
+    }
+    
+    @Test
+    void importDeals_Parallel_ShouldKeepOriginalOrder() {
+        List<DealRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            requests.add(DealRequest.builder()
+                    .dealUniqueId("DEAL" + i)
+                    .fromCurrencyIsoCode("USD")
+                    .toCurrencyIsoCode(i % 10 == 0 ? "USD" : "EUR")
+                    .dealTimestamp(LocalDateTime.now())
+                    .dealAmount(new BigDecimal("100.00"))
+                    .build());
+        }
+        importProperties.setBatchSize(3);
+        PartitionedImportExecutor parallelExecutor = new PartitionedImportExecutor(4, 10);
+        DealService parallelService = new DealService(dealRepository, dealBatchRepository, dealMapper,
+                currencyValidationService, importProperties, parallelExecutor, dealIdIndex, dealAggregates, importMetrics);
+        
+        doThrow(new InvalidCurrencyException("From and to currencies cannot be the same: USD"))
+            .when(currencyValidationService).validateCurrencies("USD", "USD");
+        when(dealBatchRepository.findExistingIds(anyCollection())).thenReturn(Set.of());
+        when(dealMapper.toEntity(any())).thenAnswer(invocation -> {
+            DealRequest request = invocation.getArgument(0);
+            return Deal.builder().dealUniqueId(request.getDealUniqueId()).build();
+        });
+        when(dealMapper.toResponse(any())).thenAnswer(invocation -> {
+            Deal mapped = invocation.getArgument(0);
+            return DealResponse.builder().dealUniqueId(mapped.getDealUniqueId()).build();
+        });
+        
+        try {
+            BatchImportResponse response = parallelService.importDeals(requests);
+            
+            assertEquals(4, parallelExecutor.getParallelism());
+            assertEquals(45, response.getSuccessfulDeals());
+            assertEquals(5, response.getFailedDeals());
+            List<String> expectedIds = requests.stream()
+                    .map(DealRequest::getDealUniqueId)
+                    .filter(id -> Integer.parseInt(id.substring(4)) % 10 != 0)
+                    .toList();
+            assertEquals(expectedIds, response.getSuccessfulImports().stream().map(DealResponse::getDealUniqueId).toList());
+            assertEquals(List.of("DEAL0", "DEAL10", "DEAL20", "DEAL30", "DEAL40"),
+                    response.getErrors().stream().map(BatchImportResponse.DealError::getDealUniqueId).toList());
+            verify(dealBatchRepository, times(15)).insertAll(anyList());
+        } finally {
+            ReflectionTestUtils.invokeMethod(parallelExecutor, "shutdown");
+        }
+    }
+    
+    @Test
+    void partitionedImportExecutor_ShouldCapParallelismToConnectionPool() {
+        PartitionedImportExecutor executor = new PartitionedImportExecutor(32, 10);
+        try {
+            assertEquals(9, executor.getParallelism());
+        } finally {
+            ReflectionTestUtils.invokeMethod(executor, "shutdown");
+        }
     }
     
     @Test
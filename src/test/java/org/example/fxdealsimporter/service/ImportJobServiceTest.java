@@ -0,0 +1,187 @@
+package org.example.fxdealsimporter.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.fxdealsimporter.dto.BatchImportResponse;
+import org.example.fxdealsimporter.dto.DealRequest;
+import org.example.fxdealsimporter.dto.DealResponse;
+import org.example.fxdealsimporter.dto.ImportJobResponse;
+import org.example.fxdealsimporter.entity.Deal;
+import org.example.fxdealsimporter.entity.ImportJob;
+import org.example.fxdealsimporter.entity.ImportJobChunk;
+import org.example.fxdealsimporter.entity.ImportJobStatus;
+import org.example.fxdealsimporter.exception.ImportJobNotFoundException;
+import org.example.fxdealsimporter.repository.DealBatchRepository;
+import org.example.fxdealsimporter.repository.ImportJobChunkRepository;
+import org.example.fxdealsimporter.repository.ImportJobRepository;
+import org.example.fxdealsimporter.service.Impl.ImportJobService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ImportJobServiceTest {
+
+    @Autowired
+    private ImportJobService importJobService;
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @Autowired
+    private ImportJobChunkRepository importJobChunkRepository;
+
+    @Autowired
+    private DealBatchRepository dealBatchRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void submit_ShouldRunJobInBackgroundAndPersistResult() throws Exception {
+        List<DealRequest> requests = List.of(
+            deal("JOB-A-001", "USD", "EUR"),
+            deal("JOB-A-002", "USD", "USD"),
+            deal("JOB-A-001", "USD", "EUR")
+        );
+
+        ImportJobResponse submitted = importJobService.submit(requests);
+
+        assertNotNull(submitted.getJobId());
+        assertEquals(3, submitted.getTotalDeals());
+
+        ImportJobResponse completed = awaitCompletion(submitted.getJobId());
+        assertEquals(ImportJobStatus.COMPLETED, completed.getStatus());
+        assertEquals(3, completed.getProcessedDeals());
+        assertEquals(1, completed.getSuccessfulDeals());
+        assertEquals(2, completed.getFailedDeals());
+        assertEquals(1, completed.getResult().getSuccessfulImports().size());
+        assertEquals(2, completed.getResult().getErrors().size());
+    }
+
+    @Test
+    void resumePendingJobs_ShouldContinueFromPersistedProgress() throws Exception {
+        List<DealRequest> requests = List.of(
+            deal("JOB-B-001", "USD", "EUR"),
+            deal("JOB-B-002", "GBP", "JPY")
+        );
+        importJobRepository.save(ImportJob.builder()
+            .jobId("00000000-0000-0000-0000-00000000000b")
+            .status(ImportJobStatus.RUNNING)
+            .totalDeals(2)
+            .processedDeals(1)
+            .successfulDeals(1)
+            .requestPayload(objectMapper.writeValueAsString(requests))
+            .build());
+        importJobChunkRepository.save(finishedChunk("00000000-0000-0000-0000-00000000000b", "JOB-B-001"));
+
+        importJobService.resumePendingJobs();
+
+        ImportJobResponse completed = awaitCompletion("00000000-0000-0000-0000-00000000000b");
+        assertEquals(ImportJobStatus.COMPLETED, completed.getStatus());
+        assertEquals(2, completed.getSuccessfulDeals());
+        assertEquals(0, completed.getFailedDeals());
+        assertEquals(List.of("JOB-B-001", "JOB-B-002"),
+            completed.getResult().getSuccessfulImports().stream().map(DealResponse::getDealUniqueId).toList());
+        assertTrue(dealBatchRepository.findExistingIds(List.of("JOB-B-001")).isEmpty());
+    }
+
+    @Test
+    void resumePendingJobs_InterruptedChunk_ShouldCountItsCommittedDealsOnce() throws Exception {
+        String jobId = "00000000-0000-0000-0000-00000000000c";
+        List<DealRequest> requests = List.of(
+            deal("JOB-C-001", "USD", "EUR"),
+            deal("JOB-C-002", "GBP", "JPY"),
+            deal("JOB-C-003", "EUR", "CHF")
+        );
+        importJobRepository.save(ImportJob.builder()
+            .jobId(jobId)
+            .status(ImportJobStatus.RUNNING)
+            .totalDeals(3)
+            .processedDeals(1)
+            .successfulDeals(1)
+            .requestPayload(objectMapper.writeValueAsString(requests))
+            .build());
+        importJobChunkRepository.save(finishedChunk(jobId, "JOB-C-001"));
+        // The second chunk was claimed and JOB-C-002 committed before the restart; JOB-C-003 was there before the job,
+        // stored in the same second so only the chunk's record of existing IDs tells the two apart.
+        importJobChunkRepository.save(ImportJobChunk.builder()
+            .jobId(jobId)
+            .firstDeal(1)
+            .dealCount(2)
+            .existingIds(objectMapper.writeValueAsString(List.of("JOB-C-003")))
+            .build());
+        LocalDateTime now = LocalDateTime.now();
+        dealBatchRepository.insert(stored(requests.get(2), now));
+        dealBatchRepository.insert(stored(requests.get(1), now));
+
+        importJobService.resumePendingJobs();
+
+        ImportJobResponse completed = awaitCompletion(jobId);
+        assertEquals(ImportJobStatus.COMPLETED, completed.getStatus());
+        assertEquals(2, completed.getSuccessfulDeals());
+        assertEquals(1, completed.getFailedDeals());
+        assertEquals(List.of("JOB-C-001", "JOB-C-002"),
+            completed.getResult().getSuccessfulImports().stream().map(DealResponse::getDealUniqueId).toList());
+        assertEquals("JOB-C-003", completed.getResult().getErrors().get(0).getDealUniqueId());
+        assertTrue(importJobChunkRepository.findByJobIdOrderByFirstDeal(jobId).isEmpty());
+    }
+
+    @Test
+    void getJob_UnknownId_ShouldThrowException() {
+        assertThrows(ImportJobNotFoundException.class, () -> importJobService.getJob("missing"));
+    }
+
+    /** A first chunk of one deal whose result was recorded before the restart; its deal was never actually stored. */
+    private ImportJobChunk finishedChunk(String jobId, String dealUniqueId) throws Exception {
+        return ImportJobChunk.builder()
+            .jobId(jobId)
+            .firstDeal(0)
+            .dealCount(1)
+            .existingIds("[]")
+            .resultPayload(objectMapper.writeValueAsString(BatchImportResponse.builder()
+                .totalDeals(1)
+                .successfulDeals(1)
+                .successfulImports(List.of(DealResponse.builder().dealUniqueId(dealUniqueId).build()))
+                .errors(List.of())
+                .build()))
+            .build();
+    }
+
+    private ImportJobResponse awaitCompletion(String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        ImportJobResponse job = importJobService.getJob(jobId);
+        while (job.getStatus() != ImportJobStatus.COMPLETED && job.getStatus() != ImportJobStatus.FAILED
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            job = importJobService.getJob(jobId);
+        }
+        return job;
+    }
+
+    private static Deal stored(DealRequest request, LocalDateTime createdAt) {
+        return Deal.builder()
+            .dealUniqueId(request.getDealUniqueId())
+            .fromCurrencyIsoCode(request.getFromCurrencyIsoCode())
+            .toCurrencyIsoCode(request.getToCurrencyIsoCode())
+            .dealTimestamp(request.getDealTimestamp())
+            .dealAmount(request.getDealAmount())
+            .createdAt(createdAt)
+            .build();
+    }
+
+    private DealRequest deal(String dealUniqueId, String from, String to) {
+        return DealRequest.builder()
+            .dealUniqueId(dealUniqueId)
+            .fromCurrencyIsoCode(from)
+            .toCurrencyIsoCode(to)
+            .dealTimestamp(LocalDateTime.of(2024, 1, 15, 10, 30))
+            .dealAmount(new BigDecimal("1000.50"))
+            .build();
+    }
+}
@@ -0,0 +1,137 @@
+package org.example.fxdealsimporter.service;
+
+import org.example.fxdealsimporter.config.DealImportProperties;
+import org.example.fxdealsimporter.dto.DealRequest;
+import org.example.fxdealsimporter.dto.DealResponse;
+import org.example.fxdealsimporter.exception.DuplicateDealException;
+import org.example.fxdealsimporter.exception.ImportCapacityExceededException;
+import org.example.fxdealsimporter.service.Impl.WriteBehindDealWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WriteBehindDealWriterTest {
+
+    @Mock
+    private IDealService dealService;
+
+    private DealImportProperties importProperties;
+    private WriteBehindDealWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        importProperties = new DealImportProperties();
+        importProperties.setIngestionMode(DealImportProperties.IngestionMode.WRITE_BEHIND);
+        importProperties.getWriteBehind().setMaxGroupDelay(Duration.ofMillis(500));
+        importProperties.getWriteBehind().setMaxGroupSize(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(writer, "stop");
+    }
+
+    @Test
+    void submit_ShouldCompleteEachCallerFromOneGroupCommit() {
+        doAnswer(invocation -> {
+            List<DealRequest> group = invocation.getArgument(0);
+            DealResponse[] imported = invocation.getArgument(1);
+            RuntimeException[] failures = invocation.getArgument(2);
+            for (int i = 0; i < group.size(); i++) {
+                if (i == 2) {
+                    failures[i] = new DuplicateDealException("Deal with ID DEAL001 already exists");
+                } else {
+                    imported[i] = DealResponse.builder().dealUniqueId(group.get(i).getDealUniqueId()).build();
+                }
+            }
+            return null;
+        }).when(dealService).importGroup(anyList(), any(), any());
+        startWriter();
+
+        CompletableFuture<DealResponse> first = writer.submit(deal("DEAL001"));
+        CompletableFuture<DealResponse> second = writer.submit(deal("DEAL002"));
+        CompletableFuture<DealResponse> duplicate = writer.submit(deal("DEAL001"));
+
+        assertEquals("DEAL001", first.join().getDealUniqueId());
+        assertEquals("DEAL002", second.join().getDealUniqueId());
+        CompletionException exception = assertThrows(CompletionException.class, duplicate::join);
+        assertInstanceOf(DuplicateDealException.class, exception.getCause());
+        verify(dealService, times(1)).importGroup(anyList(), any(), any());
+    }
+
+    @Test
+    void submit_FullQueue_ShouldRejectWithCapacityExceeded() throws Exception {
+        importProperties.getWriteBehind().setQueueCapacity(1);
+        importProperties.getWriteBehind().setMaxGroupSize(1);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            DealResponse[] imported = invocation.getArgument(1);
+            imported[0] = DealResponse.builder().build();
+            return null;
+        }).when(dealService).importGroup(anyList(), any(), any());
+        startWriter();
+
+        CompletableFuture<DealResponse> inFlight = writer.submit(deal("DEAL001"));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        CompletableFuture<DealResponse> queued = writer.submit(deal("DEAL002"));
+
+        assertThrows(ImportCapacityExceededException.class, () -> writer.submit(deal("DEAL003")));
+        release.countDown();
+        assertNotNull(inFlight.join());
+        assertNotNull(queued.join());
+    }
+
+    @Test
+    void writerDies_ShouldFailQueuedDealsAndRejectNewOnes() throws Exception {
+        importProperties.getWriteBehind().setMaxGroupSize(1);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            throw new OutOfMemoryError("Java heap space");
+        }).when(dealService).importGroup(anyList(), any(), any());
+        startWriter();
+
+        CompletableFuture<DealResponse> inFlight = writer.submit(deal("DEAL001"));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        CompletableFuture<DealResponse> queued = writer.submit(deal("DEAL002"));
+        release.countDown();
+
+        ExecutionException failed = assertThrows(ExecutionException.class, () -> inFlight.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(OutOfMemoryError.class, failed.getCause());
+        ExecutionException rejected = assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ImportCapacityExceededException.class, rejected.getCause());
+        assertThrows(IllegalStateException.class, () -> writer.submit(deal("DEAL003")));
+    }
+
+    private void startWriter() {
+        writer = new WriteBehindDealWriter(dealService, importProperties);
+        ReflectionTestUtils.invokeMethod(writer, "start");
+    }
+
+    private DealRequest deal(String dealUniqueId) {
+        return DealRequest.builder().dealUniqueId(dealUniqueId).build();
+    }
+}
@@ -0,0 +1,200 @@
+package org.example.fxdealsimporter.sharding;
+
+import org.example.fxdealsimporter.dedup.DealIdIndex;
+import org.example.fxdealsimporter.dto.BatchImportResponse;
+import org.example.fxdealsimporter.dto.DealRequest;
+import org.example.fxdealsimporter.dto.DealSearchCriteria;
+import org.example.fxdealsimporter.dto.DealSearchCursor;
+import org.example.fxdealsimporter.dto.ShardRebalanceReport;
+import org.example.fxdealsimporter.entity.Deal;
+import org.example.fxdealsimporter.exception.DuplicateDealException;
+import org.example.fxdealsimporter.repository.DealBatchRepository;
+import org.example.fxdealsimporter.repository.DealQueryRepository;
+import org.example.fxdealsimporter.service.IDealService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Three shards on separate in-memory H2 databases, laid out as if the third had just been added to two.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:deals-shard0;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "deals.sharding.enabled=true",
+    "deals.sharding.previous-shard-count=2",
+    "deals.sharding.rebalance-batch-size=7",
+    "deals.sharding.shards[0].url=jdbc:h2:mem:deals-shard1;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "deals.sharding.shards[0].username=sa",
+    "deals.sharding.shards[1].url=jdbc:h2:mem:deals-shard2;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "deals.sharding.shards[1].username=sa",
+    "deals.import.batch-size=50"
+})
+class DealShardingIntegrationTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 15, 10, 0);
+
+    @Autowired
+    private IDealService dealService;
+
+    @Autowired
+    private DealShards dealShards;
+
+    @Autowired
+    private DealBatchRepository dealBatchRepository;
+
+    @Autowired
+    private DealQueryRepository dealQueryRepository;
+
+    @Autowired
+    private DealShardRebalancer dealShardRebalancer;
+
+    @Autowired
+    private DealIdIndex dealIdIndex;
+
+    @Test
+    void importDeals_ShouldStoreEachDealOnItsOwnShard() {
+        List<DealRequest> requests = requests("PLACE-", 300);
+
+        BatchImportResponse response = dealService.importDeals(requests, false);
+
+        assertEquals(300, response.getSuccessfulDeals());
+        List<String> ids = requests.stream().map(DealRequest::getDealUniqueId).toList();
+        int stored = 0;
+        for (int shard = 0; shard < dealShards.count(); shard++) {
+            int owner = shard;
+            Set<String> onShard = dealBatchRepository.findExistingIds(shard, ids);
+            assertTrue(onShard.stream().allMatch(id -> dealShards.shardOf(id) == owner));
+            assertFalse(onShard.isEmpty(), "300 deals should reach every shard");
+            stored += onShard.size();
+        }
+        assertEquals(300, stored);
+    }
+
+    @Test
+    void importDeals_ShouldRejectDuplicatesOnEveryShard() {
+        List<DealRequest> requests = requests("DUP-", 60);
+        dealService.importDeals(requests, true);
+
+        BatchImportResponse again = dealService.importDeals(requests, true);
+
+        assertEquals(0, again.getSuccessfulDeals());
+        assertEquals(60, again.getFailedDeals());
+        assertThrows(DuplicateDealException.class, () -> dealService.importDeal(requests.get(0)));
+    }
+
+    @Test
+    void search_ShouldMergeShardsInTimestampOrder() {
+        List<DealRequest> requests = requests("SEARCH-", 40);
+        requests.forEach(request -> request.setDealTimestamp(request.getDealTimestamp().minusYears(10)));
+        dealService.importDeals(requests, false);
+        DealSearchCriteria criteria = new DealSearchCriteria();
+        criteria.setToTimestamp(T0.minusYears(5));
+
+        List<Deal> page = new ArrayList<>();
+        dealQueryRepository.search(criteria, null, 25, page::add);
+
+        List<String> expected = requests.stream()
+            .sorted(Comparator.comparing(DealRequest::getDealTimestamp).thenComparing(DealRequest::getDealUniqueId))
+            .limit(25)
+            .map(DealRequest::getDealUniqueId)
+            .toList();
+        assertEquals(expected, page.stream().map(Deal::getDealUniqueId).toList());
+    }
+
+    @Test
+    void search_WithCursor_ShouldPageThroughAllShardsInOrder() {
+        List<DealRequest> requests = requests("PAGE-", 40);
+        requests.forEach(request -> request.setDealTimestamp(request.getDealTimestamp().plusYears(20)));
+        dealService.importDeals(requests, false);
+        DealSearchCriteria criteria = new DealSearchCriteria();
+        criteria.setFromTimestamp(T0.plusYears(15));
+
+        List<Deal> all = new ArrayList<>();
+        DealSearchCursor after = null;
+        while (true) {
+            List<Deal> page = new ArrayList<>();
+            dealQueryRepository.search(criteria, after, 15, page::add);
+            all.addAll(page);
+            if (page.size() < 15) {
+                break;
+            }
+            Deal last = page.get(page.size() - 1);
+            after = new DealSearchCursor(last.getDealTimestamp(), last.getDealUniqueId());
+        }
+
+        List<String> expected = requests.stream()
+            .sorted(Comparator.comparing(DealRequest::getDealTimestamp).thenComparing(DealRequest::getDealUniqueId))
+            .map(DealRequest::getDealUniqueId)
+            .toList();
+        assertEquals(expected, all.stream().map(Deal::getDealUniqueId).toList());
+    }
+
+    @Test
+    void rebalance_ShouldMoveDealsAddedUnderThePreviousShardCount() {
+        // Deals that lived on shard 0 or 1 with two shards and belong on shard 2 now.
+        List<Deal> misplaced = IntStream.range(0, 1000)
+            .mapToObj(i -> "MOVE-" + i)
+            .filter(id -> dealShards.formerShardOf(id) >= 0)
+            .limit(20)
+            .map(id -> deal(id))
+            .toList();
+        for (Deal deal : misplaced) {
+            dealBatchRepository.insertAll(dealShards.formerShardOf(deal.getDealUniqueId()), List.of(deal));
+        }
+        dealIdIndex.build();
+        Deal first = misplaced.get(0);
+        DealRequest firstAgain = DealRequest.builder()
+            .dealUniqueId(first.getDealUniqueId())
+            .fromCurrencyIsoCode("USD")
+            .toCurrencyIsoCode("EUR")
+            .dealTimestamp(T0)
+            .dealAmount(new BigDecimal("10.00"))
+            .build();
+        assertThrows(DuplicateDealException.class, () -> dealService.importDeal(firstAgain),
+            "a deal not moved yet is still a duplicate");
+
+        ShardRebalanceReport report = dealShardRebalancer.rebalance();
+
+        assertEquals(3, report.getShardCount());
+        assertEquals(misplaced.size(), report.getMovedDeals());
+        assertEquals(dealBatchRepository.count(), report.getDealsPerShard().stream().mapToLong(Long::longValue).sum());
+        List<String> ids = misplaced.stream().map(Deal::getDealUniqueId).toList();
+        assertEquals(Set.copyOf(ids), dealBatchRepository.findExistingIds(2, ids));
+        assertTrue(dealBatchRepository.findExistingIds(0, ids).isEmpty());
+        assertTrue(dealBatchRepository.findExistingIds(1, ids).isEmpty());
+        assertEquals(0, dealShardRebalancer.rebalance().getMovedDeals());
+    }
+
+    private static List<DealRequest> requests(String prefix, int count) {
+        return IntStream.range(0, count)
+            .mapToObj(i -> DealRequest.builder()
+                .dealUniqueId(prefix + i)
+                .fromCurrencyIsoCode("USD")
+                .toCurrencyIsoCode("EUR")
+                .dealTimestamp(T0.plusSeconds(count - i))
+                .dealAmount(new BigDecimal("1000.50"))
+                .build())
+            .toList();
+    }
+
+    private static Deal deal(String id) {
+        return Deal.builder()
+            .dealUniqueId(id)
+            .fromCurrencyIsoCode("GBP")
+            .toCurrencyIsoCode("JPY")
+            .dealTimestamp(T0)
+            .dealAmount(new BigDecimal("250.00"))
+            .createdAt(T0)
+            .build();
+    }
+}
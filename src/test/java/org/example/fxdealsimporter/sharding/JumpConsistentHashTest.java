@@ -0,0 +1,55 @@
+package org.example.fxdealsimporter.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JumpConsistentHashTest {
+
+    @Test
+    void hash_ShouldStayStable() {
+        // Pinned: a different value here means existing deals would be looked up on the wrong shard.
+        assertEquals(-9036376647364069346L, JumpConsistentHash.hash("DEAL001"));
+        assertEquals(-738103580190434829L, JumpConsistentHash.hash("DEAL002"));
+        assertEquals(1, JumpConsistentHash.bucket("DEAL002", 4));
+        assertEquals(5, JumpConsistentHash.bucket("DEAL002", 10));
+        assertEquals(520, JumpConsistentHash.bucket(256L, 1024));
+    }
+
+    @Test
+    void bucket_ShouldSpreadIdsEvenly() {
+        int buckets = 4;
+        int ids = 100_000;
+        int[] counts = new int[buckets];
+        for (int i = 0; i < ids; i++) {
+            counts[JumpConsistentHash.bucket("FX-" + i, buckets)]++;
+        }
+        for (int count : counts) {
+            assertEquals(ids / buckets, count, ids / buckets * 0.03);
+        }
+    }
+
+    @Test
+    void bucket_WhenAddingABucket_ShouldOnlyMoveIdsIntoIt() {
+        int ids = 100_000;
+        for (int buckets = 1; buckets < 8; buckets++) {
+            int moved = 0;
+            for (int i = 0; i < ids; i++) {
+                String id = "FX-" + i;
+                int before = JumpConsistentHash.bucket(id, buckets);
+                int after = JumpConsistentHash.bucket(id, buckets + 1);
+                if (before != after) {
+                    assertEquals(buckets, after, "moved deals go to the new shard only");
+                    moved++;
+                }
+            }
+            double expected = (double) ids / (buckets + 1);
+            assertEquals(expected, moved, expected * 0.05);
+        }
+    }
+
+    @Test
+    void bucket_ShouldRejectNonPositiveBucketCount() {
+        assertThrows(IllegalArgumentException.class, () -> JumpConsistentHash.bucket("DEAL001", 0));
+    }
+}
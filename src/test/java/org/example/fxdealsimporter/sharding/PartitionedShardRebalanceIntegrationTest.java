@@ -0,0 +1,111 @@
+package org.example.fxdealsimporter.sharding;
+
+import org.example.fxdealsimporter.dto.ShardRebalanceReport;
+import org.example.fxdealsimporter.entity.Deal;
+import org.example.fxdealsimporter.partition.DealPartitionMaintenance;
+import org.example.fxdealsimporter.repository.DealBatchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Three H2 shards with partitioning enabled, laid out as if the third had just been added to two. H2 skips the
+ * MySQL-only changesets, so the deal_ids registry is created on connect and filled by {@link RegisterDealIdTrigger}.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:partitioned-shard0;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;"
+        + PartitionedShardRebalanceIntegrationTest.CREATE_REGISTRY,
+    "deals.partitioning.enabled=true",
+    "deals.sharding.enabled=true",
+    "deals.sharding.previous-shard-count=2",
+    "deals.sharding.rebalance-batch-size=3",
+    "deals.sharding.shards[0].url=jdbc:h2:mem:partitioned-shard1;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;"
+        + PartitionedShardRebalanceIntegrationTest.CREATE_REGISTRY,
+    "deals.sharding.shards[0].username=sa",
+    "deals.sharding.shards[1].url=jdbc:h2:mem:partitioned-shard2;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;"
+        + PartitionedShardRebalanceIntegrationTest.CREATE_REGISTRY,
+    "deals.sharding.shards[1].username=sa"
+})
+class PartitionedShardRebalanceIntegrationTest {
+
+    static final String CREATE_REGISTRY = "INIT=CREATE TABLE IF NOT EXISTS deal_ids "
+        + "(deal_unique_id VARCHAR(255) PRIMARY KEY, deal_timestamp DATETIME NOT NULL)";
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2023, 1, 15, 10, 0);
+
+    @MockitoBean
+    private DealPartitionMaintenance dealPartitionMaintenance;
+
+    @Autowired
+    private DealShards dealShards;
+
+    @Autowired
+    private DealBatchRepository dealBatchRepository;
+
+    @Autowired
+    private DealShardRebalancer dealShardRebalancer;
+
+    @BeforeEach
+    void createTrigger() {
+        for (DealShards.Shard shard : dealShards.all()) {
+            shard.getJdbcTemplate().execute("CREATE TRIGGER IF NOT EXISTS deals_register_id BEFORE INSERT ON deals "
+                + "FOR EACH ROW CALL '" + RegisterDealIdTrigger.class.getName() + "'");
+        }
+    }
+
+    @Test
+    void rebalance_ShouldMoveRegistryEntriesOfRetiredPartitions() {
+        List<String> ids = IntStream.range(0, 1000)
+            .mapToObj(i -> "RETIRE-" + i)
+            .filter(id -> dealShards.formerShardOf(id) >= 0)
+            .limit(8)
+            .toList();
+        for (String id : ids) {
+            dealBatchRepository.insertAll(dealShards.formerShardOf(id), List.of(deal(id)));
+        }
+        // Retiring a partition exchanges its rows out of deals; their deal_ids entries stay behind.
+        List<String> retired = ids.subList(0, 4);
+        List<String> live = ids.subList(4, ids.size());
+        for (String id : retired) {
+            dealShards.get(dealShards.formerShardOf(id)).getJdbcTemplate()
+                .update("DELETE FROM deals WHERE deal_unique_id = ?", id);
+        }
+
+        ShardRebalanceReport report = dealShardRebalancer.rebalance();
+
+        assertEquals(ids.size(), report.getMovedDeals());
+        assertEquals(Set.copyOf(ids), dealBatchRepository.findExistingIds(2, ids));
+        assertTrue(dealBatchRepository.findExistingIds(0, ids).isEmpty());
+        assertTrue(dealBatchRepository.findExistingIds(1, ids).isEmpty());
+        assertEquals(Set.copyOf(live), dealBatchRepository.findDeals(2, ids).stream()
+            .map(Deal::getDealUniqueId)
+            .collect(Collectors.toSet()));
+        Map<String, LocalDateTime> registered = dealBatchRepository.findRegisteredIds(2, retired);
+        assertEquals(Set.copyOf(retired), registered.keySet());
+        assertTrue(registered.values().stream().allMatch(T0::equals));
+        assertEquals(0, dealShardRebalancer.rebalance().getMovedDeals());
+    }
+
+    private static Deal deal(String id) {
+        return Deal.builder()
+            .dealUniqueId(id)
+            .fromCurrencyIsoCode("GBP")
+            .toCurrencyIsoCode("JPY")
+            .dealTimestamp(T0)
+            .dealAmount(new BigDecimal("250.00"))
+            .createdAt(T0)
+            .build();
+    }
+}
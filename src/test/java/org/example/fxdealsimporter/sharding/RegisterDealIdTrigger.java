@@ -0,0 +1,24 @@
+package org.example.fxdealsimporter.sharding;
+
+import org.h2.api.Trigger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * H2 stand-in for the MySQL {@code deals_register_id} trigger of changeset 004: every inserted deal is registered
+ * in {@code deal_ids}.
+ */
+public class RegisterDealIdTrigger implements Trigger {
+
+    @Override
+    public void fire(Connection connection, Object[] oldRow, Object[] newRow) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO deal_ids (deal_unique_id, deal_timestamp) VALUES (?, ?)")) {
+            insert.setObject(1, newRow[0]);
+            insert.setObject(2, newRow[3]);
+            insert.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.fxdealsimporter.wire;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.fxdealsimporter.dto.DealRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DealWireFormatsTest {
+
+    private static final TypeReference<List<DealRequest>> DEAL_LIST = new TypeReference<>() {};
+
+    private final DealWireFormats dealWireFormats = new DealWireFormats();
+
+    private final DealRequest deal = DealRequest.builder()
+        .dealUniqueId("DEAL001")
+        .fromCurrencyIsoCode("USD")
+        .toCurrencyIsoCode("EUR")
+        .dealTimestamp(LocalDateTime.of(2024, 1, 15, 10, 30, 0, 123_000_000))
+        .dealAmount(new BigDecimal("1000.50"))
+        .build();
+
+    @Test
+    void cborAndSmile_ShouldRoundTripDeals() throws Exception {
+        for (ObjectMapper mapper : List.of(dealWireFormats.getCborMapper(), dealWireFormats.getSmileMapper())) {
+            byte[] encoded = mapper.writeValueAsBytes(List.of(deal));
+
+            assertEquals(List.of(deal), mapper.readValue(encoded, DEAL_LIST));
+        }
+    }
+
+    @Test
+    void cbor_ShouldEncodeAmountsAsScaledIntegersAndTimestampsAsEpochMillis() throws Exception {
+        JsonNode node = dealWireFormats.getCborMapper().readTree(dealWireFormats.getCborMapper().writeValueAsBytes(deal));
+
+        assertTrue(node.get("dealAmount").isIntegralNumber());
+        assertEquals(100050, node.get("dealAmount").longValue());
+        assertEquals(1705314600123L, node.get("dealTimestamp").longValue());
+    }
+
+    @Test
+    void binaryFormats_ShouldBeSmallerThanJson() throws Exception {
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+        List<DealRequest> deals = List.of(deal, deal, deal);
+
+        int jsonSize = json.writeValueAsBytes(deals).length;
+
+        assertTrue(dealWireFormats.getCborMapper().writeValueAsBytes(deals).length < jsonSize);
+        assertTrue(dealWireFormats.getSmileMapper().writeValueAsBytes(deals).length < jsonSize);
+    }
+
+    @Test
+    void write_WhenAmountHasMoreThanTwoDecimals_ShouldFail() {
+        deal.setDealAmount(new BigDecimal("1.005"));
+
+        assertThrows(JsonMappingException.class, () -> dealWireFormats.getCborMapper().writeValueAsBytes(deal));
+    }
+
+    @Test
+    void read_WhenAmountIsNotAnInteger_ShouldFail() throws Exception {
+        byte[] encoded = dealWireFormats.getCborMapper().writeValueAsBytes(Map.of("dealAmount", "1000.50"));
+
+        assertThrows(JsonMappingException.class,
+            () -> dealWireFormats.getCborMapper().readValue(encoded, DealRequest.class));
+    }
+
+    @Test
+    void negotiate_ShouldPickTheFirstSupportedFormat() {
+        assertEquals(DealWireFormats.CBOR, dealWireFormats.negotiate("application/cbor"));
+        assertEquals(DealWireFormats.SMILE, dealWireFormats.negotiate("application/x-jackson-smile, application/json"));
+        assertNull(dealWireFormats.negotiate("application/json, application/cbor"));
+        assertNull(dealWireFormats.negotiate("*/*"));
+        assertNull(dealWireFormats.negotiate(null));
+        assertNull(dealWireFormats.negotiate("not a media type"));
+    }
+}